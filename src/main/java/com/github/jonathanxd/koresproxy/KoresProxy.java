@@ -31,6 +31,7 @@ import com.github.jonathanxd.koresproxy.gen.Custom;
 import com.github.jonathanxd.koresproxy.gen.CustomGen;
 import com.github.jonathanxd.koresproxy.gen.CustomHandlerGenerator;
 import com.github.jonathanxd.koresproxy.handler.InvocationHandler;
+import com.github.jonathanxd.koresproxy.info.MethodInfo;
 import com.github.jonathanxd.koresproxy.internals.ProxyGenerator;
 
 import java.util.ArrayList;
@@ -180,6 +181,19 @@ public class KoresProxy {
                                            invocationHandler);
     }
 
+    /**
+     * Creates a route table builder of proxies of {@code type}. If {@code type} is an interface,
+     * the proxy implements it, otherwise the proxy extends it.
+     *
+     * @param type Type of proxy.
+     * @param <T>  Type of proxy.
+     * @return Route table builder.
+     * @see Routes
+     */
+    public static <T> Routes<T> routes(Class<T> type) {
+        return new Routes<>(type);
+    }
+
     /**
      * Returns true if {@code cl} is a {@link KoresProxy} generated class.
      *
@@ -210,6 +224,44 @@ public class KoresProxy {
         return ProxyGenerator.getInvocationHandler(o);
     }
 
+    /**
+     * Replaces the {@link InvocationHandler} of a {@link KoresProxy} created with {@link
+     * ProxyData#isMutableHandler() mutable handler}.
+     *
+     * @param o       Proxy to replace the handler.
+     * @param handler New handler.
+     */
+    public static void setHandler(Object o, InvocationHandler handler) {
+        ProxyGenerator.setInvocationHandler(o, handler);
+    }
+
+    /**
+     * Creates a pool of proxies with {@link ProxyData#isMutableHandler() mutable handler} created
+     * from {@code operator}.
+     *
+     * @param operator Operator which defines proxy data of pooled proxies.
+     * @param maxSize  Max amount of idle proxies held by the pool.
+     * @param <T>      Type of proxy.
+     * @return Pool of proxies.
+     * @see ProxyPool
+     */
+    public static <T> ProxyPool<T> pool(UnaryOperator<ProxyData.Builder> operator, int maxSize) {
+        return new ProxyPool<>(operator, maxSize);
+    }
+
+    /**
+     * Gets a copy of the {@code method table} of a {@link KoresProxy} generated class. The element
+     * at position {@code i} is the {@link MethodInfo} which {@link MethodInfo#getIndex() index} is
+     * {@code i}, handlers may use this table to map indexes to methods once and then dispatch
+     * invocations with a {@code switch} over {@link MethodInfo#getIndex()}.
+     *
+     * @param cl Proxy class to get the table.
+     * @return Copy of the {@code method table} of {@code cl}.
+     */
+    public static MethodInfo[] getMethodTable(Class<?> cl) {
+        return ProxyGenerator.getMethodTable(cl);
+    }
+
     /**
      * Gets the {@link ProxyData} of a {@link KoresProxy}.
      *
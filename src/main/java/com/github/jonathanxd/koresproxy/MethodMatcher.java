@@ -0,0 +1,178 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy;
+
+import com.github.jonathanxd.iutils.collection.Collections3;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Declarative matcher of methods. Matchers built from the same factory methods with same arguments
+ * are equal, so proxy classes generated with equal matchers are reused.
+ *
+ * Example:
+ *
+ * <pre>{@code
+ * MethodMatcher.named("get", "put").or(MethodMatcher.annotatedWith(Intercept.class))
+ * }</pre>
+ *
+ * @see ProxyData.Builder#intercept(MethodMatcher)
+ */
+public final class MethodMatcher implements Predicate<Method> {
+
+    private static final MethodMatcher ANY = new MethodMatcher(Collections.singletonList("any"), m -> true);
+    private static final MethodMatcher ABSTRACT = new MethodMatcher(Collections.singletonList("abstract"),
+            m -> Modifier.isAbstract(m.getModifiers()));
+
+    /**
+     * Key of matcher, used to compare matchers.
+     */
+    private final List<Object> key;
+    private final Predicate<Method> predicate;
+
+    private MethodMatcher(List<Object> key, Predicate<Method> predicate) {
+        this.key = key;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Matches all methods.
+     *
+     * @return Matcher of all methods.
+     */
+    public static MethodMatcher any() {
+        return MethodMatcher.ANY;
+    }
+
+    /**
+     * Matches abstract methods.
+     *
+     * @return Matcher of abstract methods.
+     */
+    public static MethodMatcher abstractMethods() {
+        return MethodMatcher.ABSTRACT;
+    }
+
+    /**
+     * Matches methods with any of {@code names}.
+     *
+     * @param names Names of methods.
+     * @return Matcher of methods with any of {@code names}.
+     */
+    public static MethodMatcher named(String... names) {
+        Set<String> set = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(names)));
+        return new MethodMatcher(Collections3.listOf("named", set), m -> set.contains(m.getName()));
+    }
+
+    /**
+     * Matches methods annotated with {@code annotation}.
+     *
+     * @param annotation Annotation type.
+     * @return Matcher of methods annotated with {@code annotation}.
+     */
+    public static MethodMatcher annotatedWith(Class<? extends Annotation> annotation) {
+        Objects.requireNonNull(annotation);
+        return new MethodMatcher(Collections3.listOf("annotatedWith", annotation), m -> m.isAnnotationPresent(annotation));
+    }
+
+    /**
+     * Matches methods declared by {@code type}.
+     *
+     * @param type Declaring type.
+     * @return Matcher of methods declared by {@code type}.
+     */
+    public static MethodMatcher declaredBy(Class<?> type) {
+        Objects.requireNonNull(type);
+        return new MethodMatcher(Collections3.listOf("declaredBy", type), m -> m.getDeclaringClass() == type);
+    }
+
+    /**
+     * Matches methods accepted by {@code predicate}. Matchers created by this method are only equal
+     * if {@code predicate} is the same instance.
+     *
+     * @param predicate Predicate to test methods.
+     * @return Matcher of methods accepted by {@code predicate}.
+     */
+    public static MethodMatcher of(Predicate<? super Method> predicate) {
+        Objects.requireNonNull(predicate);
+
+        if (predicate instanceof MethodMatcher)
+            return (MethodMatcher) predicate;
+
+        return new MethodMatcher(Collections3.listOf("of", predicate), predicate::test);
+    }
+
+    @Override
+    public boolean test(Method method) {
+        return this.predicate.test(method);
+    }
+
+    @Override
+    public MethodMatcher and(Predicate<? super Method> other) {
+        Predicate<Method> first = this.predicate;
+        MethodMatcher second = MethodMatcher.of(other);
+        return new MethodMatcher(Collections3.listOf("and", this, second), m -> first.test(m) && second.test(m));
+    }
+
+    @Override
+    public MethodMatcher or(Predicate<? super Method> other) {
+        Predicate<Method> first = this.predicate;
+        MethodMatcher second = MethodMatcher.of(other);
+        return new MethodMatcher(Collections3.listOf("or", this, second), m -> first.test(m) || second.test(m));
+    }
+
+    @Override
+    public MethodMatcher negate() {
+        Predicate<Method> predicate = this.predicate;
+        return new MethodMatcher(Collections3.listOf("not", this), m -> !predicate.test(m));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof MethodMatcher && ((MethodMatcher) obj).key.equals(this.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "MethodMatcher" + this.key;
+    }
+}
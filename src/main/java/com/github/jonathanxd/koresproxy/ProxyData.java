@@ -31,6 +31,7 @@ import com.github.jonathanxd.iutils.collection.Collections3;
 import com.github.jonathanxd.koresproxy.gen.Custom;
 import com.github.jonathanxd.koresproxy.gen.CustomGen;
 import com.github.jonathanxd.koresproxy.gen.CustomHandlerGenerator;
+import com.github.jonathanxd.koresproxy.gen.direct.SelectiveInterception;
 import com.github.jonathanxd.koresproxy.handler.InvocationHandler;
 import com.github.jonathanxd.koresproxy.internals.Util;
 import com.github.jonathanxd.iutils.string.ToStringHelper;
@@ -96,11 +97,49 @@ public class ProxyData {
      */
     private final List<Custom> customView;
 
+    /**
+     * True if {@link #handler} is bound to the proxy class instead of to the proxy instance. When
+     * this is enabled the handler is stored in a {@code static final} field of the proxy class,
+     * which allows the JIT to treat the handler as a constant and inline it into proxy methods, and
+     * the proxy class is only reused for the same handler instance.
+     */
+    private final boolean constantHandler;
+
+    /**
+     * True if the {@link #handler} of proxy instances may be replaced after construction through
+     * {@link SwappableProxy#setInvocationHandler$KoresProxy(InvocationHandler)}. The handler is
+     * stored in a {@code volatile} field, so a replaced handler is safely published to all threads.
+     * This cannot be used together with {@link #constantHandler}.
+     */
+    private final boolean mutableHandler;
+
     public ProxyData(ClassLoader classLoader, List<? extends Class<?>> interfaces, Class<?> superClass,
                      InvocationHandler handler,
                      List<Class<? extends CustomHandlerGenerator>> customHandlerGenerators,
                      List<Class<? extends CustomGen>> customGenerators,
                      List<Custom> customList) {
+        this(classLoader, interfaces, superClass, handler, customHandlerGenerators, customGenerators, customList, false);
+    }
+
+    public ProxyData(ClassLoader classLoader, List<? extends Class<?>> interfaces, Class<?> superClass,
+                     InvocationHandler handler,
+                     List<Class<? extends CustomHandlerGenerator>> customHandlerGenerators,
+                     List<Class<? extends CustomGen>> customGenerators,
+                     List<Custom> customList,
+                     boolean constantHandler) {
+        this(classLoader, interfaces, superClass, handler, customHandlerGenerators, customGenerators, customList, constantHandler, false);
+    }
+
+    public ProxyData(ClassLoader classLoader, List<? extends Class<?>> interfaces, Class<?> superClass,
+                     InvocationHandler handler,
+                     List<Class<? extends CustomHandlerGenerator>> customHandlerGenerators,
+                     List<Class<? extends CustomGen>> customGenerators,
+                     List<Custom> customList,
+                     boolean constantHandler,
+                     boolean mutableHandler) {
+        if (constantHandler && mutableHandler)
+            throw new IllegalArgumentException("A proxy handler cannot be both constant and mutable.");
+
         this.classLoader = classLoader;
         this.interfaces = Collections.unmodifiableList(interfaces);
         this.superClass = superClass;
@@ -108,6 +147,8 @@ public class ProxyData {
         this.customHandlerGeneratorsView = Collections.unmodifiableList(customHandlerGenerators);
         this.customGeneratorsView = Collections.unmodifiableList(customGenerators);
         this.customView = Collections.unmodifiableList(customList);
+        this.constantHandler = constantHandler;
+        this.mutableHandler = mutableHandler;
     }
 
     public ProxyData(ClassLoader classLoader, Class<?>[] interfaces, Class<?> superClass,
@@ -118,6 +159,25 @@ public class ProxyData {
         this(classLoader, Collections3.listOf(interfaces), superClass, handler, customHandlerGenerators, customGenerators, customList);
     }
 
+    public ProxyData(ClassLoader classLoader, Class<?>[] interfaces, Class<?> superClass,
+                     InvocationHandler handler,
+                     List<Class<? extends CustomHandlerGenerator>> customHandlerGenerators,
+                     List<Class<? extends CustomGen>> customGenerators,
+                     List<Custom> customList,
+                     boolean constantHandler) {
+        this(classLoader, Collections3.listOf(interfaces), superClass, handler, customHandlerGenerators, customGenerators, customList, constantHandler);
+    }
+
+    public ProxyData(ClassLoader classLoader, Class<?>[] interfaces, Class<?> superClass,
+                     InvocationHandler handler,
+                     List<Class<? extends CustomHandlerGenerator>> customHandlerGenerators,
+                     List<Class<? extends CustomGen>> customGenerators,
+                     List<Custom> customList,
+                     boolean constantHandler,
+                     boolean mutableHandler) {
+        this(classLoader, Collections3.listOf(interfaces), superClass, handler, customHandlerGenerators, customGenerators, customList, constantHandler, mutableHandler);
+    }
+
     /**
      * Gets the class loader of proxy class.
      */
@@ -153,6 +213,24 @@ public class ProxyData {
         return this.handler;
     }
 
+    /**
+     * Returns true if the handler is bound to the proxy class.
+     *
+     * @see #constantHandler
+     */
+    public boolean isConstantHandler() {
+        return this.constantHandler;
+    }
+
+    /**
+     * Returns true if the handler of proxy instances may be replaced.
+     *
+     * @see #mutableHandler
+     */
+    public boolean isMutableHandler() {
+        return this.mutableHandler;
+    }
+
     /**
      * Gets the view with custom handlers generators.
      */
@@ -207,6 +285,9 @@ public class ProxyData {
             ProxyData proxyData = (ProxyData) obj;
             return this.getClassLoader().equals(proxyData.getClassLoader())
                     //&& this.getHandler().equals(proxyData.getHandler())
+                    && this.isConstantHandler() == proxyData.isConstantHandler()
+                    && this.isMutableHandler() == proxyData.isMutableHandler()
+                    && (!this.isConstantHandler() || this.getHandler() == proxyData.getHandler())
                     && Arrays.equals(this.getInterfaces(), proxyData.getInterfaces())
                     && this.getSuperClass().equals(proxyData.getSuperClass())
                     && this.getCustomHandlerGeneratorsView().equals(proxyData.getCustomHandlerGeneratorsView())
@@ -222,7 +303,7 @@ public class ProxyData {
     public int hashCode() {
         return Objects.hash(this.getClassLoader(), this.getSuperClass(), Arrays.hashCode(this.getInterfaces()),
                 this.getCustomHandlerGeneratorsView().hashCode(), this.getCustomGeneratorsView().hashCode(),
-                this.getCustomView().hashCode());
+                this.getCustomView().hashCode(), this.isConstantHandler(), this.isMutableHandler());
     }
 
     @Override
@@ -235,6 +316,8 @@ public class ProxyData {
                 .add("customHandlerGenerators", this.getCustomHandlerGeneratorsView().toString())
                 .add("customGenerators", this.getCustomGeneratorsView().toString())
                 .add("customs", this.getCustomView().toString())
+                .add("constantHandler", String.valueOf(this.isConstantHandler()))
+                .add("mutableHandler", String.valueOf(this.isMutableHandler()))
                 .toString();
     }
 
@@ -257,6 +340,8 @@ public class ProxyData {
         private List<Class<? extends CustomHandlerGenerator>> customHandlerGenerators = new ArrayList<>();
         private List<Class<? extends CustomGen>> customGens = new ArrayList<>();
         private List<Custom> customs = new ArrayList<>();
+        private boolean constantHandler = false;
+        private boolean mutableHandler = false;
 
         Builder() {
         }
@@ -271,6 +356,8 @@ public class ProxyData {
             this.customHandlerGenerators = new ArrayList<>(defaults.getCustomHandlerGeneratorsView());
             this.customGens = new ArrayList<>(defaults.getCustomGeneratorsView());
             this.customs = new ArrayList<>(defaults.getCustomView());
+            this.constantHandler = defaults.isConstantHandler();
+            this.mutableHandler = defaults.isMutableHandler();
         }
 
         /**
@@ -383,6 +470,14 @@ public class ProxyData {
             return this;
         }
 
+        /**
+         * Adds a {@link SelectiveInterception} custom which only overrides methods matched by {@code
+         * matcher} (and abstract methods), all other methods are not intercepted.
+         */
+        public Builder intercept(MethodMatcher matcher) {
+            return this.addCustom(new SelectiveInterception(matcher));
+        }
+
         /**
          * Sets {@link ProxyData#handler}
          */
@@ -391,6 +486,22 @@ public class ProxyData {
             return this;
         }
 
+        /**
+         * Sets {@link ProxyData#constantHandler}
+         */
+        public Builder constantHandler(boolean constantHandler) {
+            this.constantHandler = constantHandler;
+            return this;
+        }
+
+        /**
+         * Sets {@link ProxyData#mutableHandler}
+         */
+        public Builder mutableHandler(boolean mutableHandler) {
+            this.mutableHandler = mutableHandler;
+            return this;
+        }
+
         /**
          * Gets {@link ProxyData#classLoader}
          */
@@ -433,6 +544,20 @@ public class ProxyData {
             return this.customGens;
         }
 
+        /**
+         * Gets {@link ProxyData#constantHandler}
+         */
+        public boolean isConstantHandler() {
+            return this.constantHandler;
+        }
+
+        /**
+         * Gets {@link ProxyData#mutableHandler}
+         */
+        public boolean isMutableHandler() {
+            return this.mutableHandler;
+        }
+
         @Override
         public ProxyData build() {
             Objects.requireNonNull(this.classLoader);
@@ -444,7 +569,9 @@ public class ProxyData {
                     this.invocationHandler,
                     new ArrayList<>(this.customHandlerGenerators),
                     new ArrayList<>(this.customGens),
-                    new ArrayList<>(this.customs));
+                    new ArrayList<>(this.customs),
+                    this.constantHandler,
+                    this.mutableHandler);
         }
 
     }
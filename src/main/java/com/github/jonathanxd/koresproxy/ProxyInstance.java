@@ -0,0 +1,66 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy;
+
+import com.github.jonathanxd.koresproxy.handler.InvocationHandler;
+
+/**
+ * Interface implemented by all generated proxy classes, provides direct access to {@code common
+ * fields} and additional properties of the proxy instance without reflection.
+ *
+ * Method names are suffixed with {@code $KoresProxy} to avoid conflicts with methods of proxied
+ * types.
+ *
+ * @since 2.6.1
+ */
+public interface ProxyInstance {
+
+    /**
+     * Gets the {@link InvocationHandler} of the proxy.
+     *
+     * @return {@link InvocationHandler} of the proxy.
+     */
+    InvocationHandler getInvocationHandler$KoresProxy();
+
+    /**
+     * Gets the {@link ProxyData} of the proxy.
+     *
+     * @return {@link ProxyData} of the proxy.
+     */
+    ProxyData getProxyData$KoresProxy();
+
+    /**
+     * Gets the value of the {@link com.github.jonathanxd.koresproxy.gen.Custom.Property additional
+     * property} with name {@code name}. Primitive values are boxed.
+     *
+     * @param name Name of the property.
+     * @return Value of the property, or {@code null} if there is no property with name {@code
+     * name}.
+     */
+    Object getProperty$KoresProxy(String name);
+}
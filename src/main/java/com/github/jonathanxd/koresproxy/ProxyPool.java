@@ -0,0 +1,165 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy;
+
+import com.github.jonathanxd.koresproxy.handler.InvocationHandler;
+import com.github.jonathanxd.koresproxy.internals.ProxyGenerator;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.UnaryOperator;
+
+/**
+ * Pool of proxy instances with {@link ProxyData#isMutableHandler() mutable handler}. {@link
+ * #acquire(InvocationHandler) Acquired} proxies are bound to the requested handler, {@link
+ * #release(Object) released} proxies are bound to {@link InvocationHandler#NULL} (so the previous
+ * handler is not retained) and kept for the next acquisition, up to {@link #getMaxSize() max size}.
+ *
+ * All proxies of the pool share the same proxy class, which is resolved once, when the first proxy
+ * is created. Only proxies of this class are accepted by {@link #release(Object)}, and releasing an
+ * idle proxy again has no effect. A released proxy must not be used by the releaser anymore.
+ *
+ * Example:
+ *
+ * <pre>{@code
+ * ProxyPool<Service> pool = KoresProxy.pool(builder -> builder
+ *         .classLoader(Service.class.getClassLoader())
+ *         .addInterface(Service.class), 64);
+ *
+ * Service service = pool.acquire(requestHandler);
+ * try {
+ *     service.call();
+ * } finally {
+ *     pool.release(service);
+ * }
+ * }</pre>
+ *
+ * @param <T> Type of proxy.
+ * @since 2.6.1
+ */
+public final class ProxyPool<T> {
+
+    private final ProxyData proxyData;
+    private final ArrayBlockingQueue<SwappableProxy> idle;
+    private final int maxSize;
+    private volatile Class<?> proxyClass;
+
+    ProxyPool(UnaryOperator<ProxyData.Builder> operator, int maxSize) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("Max size must be positive: " + maxSize);
+
+        this.proxyData = operator.apply(ProxyData.Builder.builder())
+                .mutableHandler(true)
+                .invocationHandler(InvocationHandler.NULL)
+                .build();
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the proxy class of this pool, resolving it on first call.
+     */
+    private Class<?> proxyClass() {
+        Class<?> proxyClass = this.proxyClass;
+
+        if (proxyClass == null)
+            this.proxyClass = proxyClass = ProxyGenerator.getProxyClass(this.proxyData);
+
+        return proxyClass;
+    }
+
+    /**
+     * Gets a proxy bound to {@code handler}, reusing an idle proxy if available.
+     *
+     * @param handler Handler of proxy.
+     * @return Proxy bound to {@code handler}.
+     * @throws IllegalStateException If an idle proxy was bound to a handler without being acquired.
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire(InvocationHandler handler) {
+        Objects.requireNonNull(handler, "Handler cannot be null!");
+
+        if (handler == InvocationHandler.NULL)
+            throw new IllegalArgumentException("Handler cannot be InvocationHandler.NULL!");
+
+        SwappableProxy proxy = this.idle.poll();
+
+        if (proxy == null) {
+            proxy = (SwappableProxy) ProxyGenerator.create(this.proxyClass(), this.proxyData,
+                    new Class[0], new Object[0]);
+        }
+
+        if (!proxy.compareAndSetInvocationHandler$KoresProxy(InvocationHandler.NULL, handler))
+            throw new IllegalStateException("Idle proxy of '" + proxy.getClass() + "' was bound to a handler outside of the pool!");
+
+        return (T) proxy;
+    }
+
+    /**
+     * Returns {@code proxy} to the pool. If the pool is full, the proxy is discarded. Releasing a
+     * proxy which is already released has no effect.
+     *
+     * @param proxy Proxy acquired from this pool.
+     * @throws IllegalArgumentException If {@code proxy} was not created by this pool.
+     */
+    public void release(T proxy) {
+        Objects.requireNonNull(proxy, "Proxy cannot be null!");
+
+        if (proxy.getClass() != this.proxyClass)
+            throw new IllegalArgumentException("Object '" + proxy + "' was not created by this proxy pool!");
+
+        SwappableProxy swappableProxy = (SwappableProxy) proxy;
+
+        InvocationHandler handler = swappableProxy.getInvocationHandler$KoresProxy();
+
+        // Only the release which unbinds the handler returns the proxy to the pool.
+        if (handler == InvocationHandler.NULL
+                || !swappableProxy.compareAndSetInvocationHandler$KoresProxy(handler, InvocationHandler.NULL))
+            return;
+
+        this.idle.offer(swappableProxy);
+    }
+
+    /**
+     * Gets the amount of idle proxies.
+     *
+     * @return Amount of idle proxies.
+     */
+    public int getIdleCount() {
+        return this.idle.size();
+    }
+
+    /**
+     * Gets the max amount of idle proxies held by the pool.
+     *
+     * @return Max amount of idle proxies held by the pool.
+     */
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy;
+
+import com.github.jonathanxd.koresproxy.gen.direct.DirectToRoute;
+import com.github.jonathanxd.koresproxy.handler.InvocationHandler;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Route table builder, each route delegates invocations of a method directly to a functional
+ * object (such as a lambda), the generated code invokes the functional method of the route without
+ * creating argument arrays or going through the {@link InvocationHandler}.
+ *
+ * Methods without a route are delegated to the {@link #fallback(InvocationHandler) fallback
+ * handler}, which defaults to {@link InvocationHandler#NULL}.
+ *
+ * Example:
+ *
+ * <pre>{@code
+ * Calc calc = KoresProxy.routes(Calc.class)
+ *         .on("sum", (IntBinaryOperator) (a, b) -> a + b)
+ *         .on("neg", (IntUnaryOperator) a -> -a)
+ *         .newInstance();
+ * }</pre>
+ *
+ * @param <T> Type of proxy.
+ * @see DirectToRoute
+ */
+public final class Routes<T> {
+
+    private final Class<T> type;
+    private final List<Method> methods = new ArrayList<>();
+    private final List<Object> routes = new ArrayList<>();
+    private InvocationHandler fallback = InvocationHandler.NULL;
+    private ClassLoader classLoader;
+
+    Routes(Class<T> type) {
+        this.type = Objects.requireNonNull(type);
+        this.classLoader = type.getClassLoader() != null ? type.getClassLoader() : Routes.class.getClassLoader();
+    }
+
+    /**
+     * Routes invocations of {@code method} to {@code route}. If there is already a route to {@code
+     * method}, it is replaced.
+     *
+     * @param method Method to route.
+     * @param route  Functional object to delegate invocations.
+     * @return This.
+     * @throws IllegalArgumentException If {@code route} is not compatible with {@code method}.
+     */
+    public Routes<T> on(Method method, Object route) {
+        Objects.requireNonNull(method);
+        Objects.requireNonNull(route, "Route of method '" + method + "' cannot be null!");
+
+        if (!method.getDeclaringClass().isAssignableFrom(this.type))
+            throw new IllegalArgumentException("Method '" + method + "' is not a member of '" + this.type + "'.");
+
+        DirectToRoute.checkRoute(method, route);
+
+        for (int i = 0; i < this.methods.size(); i++) {
+            Method m = this.methods.get(i);
+
+            if (m.getName().equals(method.getName())
+                    && Arrays.equals(m.getParameterTypes(), method.getParameterTypes())) {
+                this.methods.set(i, method);
+                this.routes.set(i, route);
+                return this;
+            }
+        }
+
+        this.methods.add(method);
+        this.routes.add(route);
+        return this;
+    }
+
+    /**
+     * Routes invocations of method {@code name} with {@code parameterTypes} to {@code route}.
+     *
+     * @param name           Name of method to route.
+     * @param parameterTypes Parameter types of method to route.
+     * @param route          Functional object to delegate invocations.
+     * @return This.
+     */
+    public Routes<T> on(String name, Class<?>[] parameterTypes, Object route) {
+        for (Method method : this.type.getMethods()) {
+            if (method.getName().equals(name) && Arrays.equals(method.getParameterTypes(), parameterTypes))
+                return this.on(method, route);
+        }
+
+        throw new IllegalArgumentException("Cannot find method '" + name + Arrays.toString(parameterTypes) + "' in '" + this.type + "'.");
+    }
+
+    /**
+     * Routes invocations of method {@code name} to {@code route}, the method must not be
+     * overloaded.
+     *
+     * @param name  Name of method to route.
+     * @param route Functional object to delegate invocations.
+     * @return This.
+     */
+    public Routes<T> on(String name, Object route) {
+        Method found = null;
+
+        for (Method method : this.type.getMethods()) {
+            if (method.getName().equals(name)) {
+                if (found != null && !Arrays.equals(found.getParameterTypes(), method.getParameterTypes()))
+                    throw new IllegalArgumentException("Method '" + name + "' of '" + this.type + "' is overloaded, specify parameter types.");
+
+                found = method;
+            }
+        }
+
+        if (found == null)
+            throw new IllegalArgumentException("Cannot find method '" + name + "' in '" + this.type + "'.");
+
+        return this.on(found, route);
+    }
+
+    /**
+     * Sets the handler of invocations of methods without a route.
+     *
+     * @param fallback Handler of methods without a route.
+     * @return This.
+     */
+    public Routes<T> fallback(InvocationHandler fallback) {
+        this.fallback = Objects.requireNonNull(fallback);
+        return this;
+    }
+
+    /**
+     * Sets the class loader to inject proxy class.
+     *
+     * @param classLoader Class loader to inject proxy class.
+     * @return This.
+     */
+    public Routes<T> classLoader(ClassLoader classLoader) {
+        this.classLoader = Objects.requireNonNull(classLoader);
+        return this;
+    }
+
+    /**
+     * Creates the {@link DirectToRoute} custom of current routes.
+     *
+     * @return {@link DirectToRoute} custom of current routes.
+     */
+    public DirectToRoute toCustom() {
+        return new DirectToRoute(this.methods, this.routes);
+    }
+
+    /**
+     * Applies routes, fallback handler, class loader and proxy type to {@code builder}.
+     *
+     * @param builder Builder to apply definitions.
+     * @return {@code builder}.
+     */
+    public ProxyData.Builder apply(ProxyData.Builder builder) {
+        if (this.type.isInterface())
+            builder.addInterface(this.type);
+        else
+            builder.superClass(this.type);
+
+        return builder.classLoader(this.classLoader)
+                .invocationHandler(this.fallback)
+                .addCustom(this.toCustom());
+    }
+
+    /**
+     * Creates a new proxy instance of current routes.
+     *
+     * @return New proxy instance of current routes.
+     */
+    public T newInstance() {
+        return this.type.cast(KoresProxy.newProxyInstance(this::apply));
+    }
+}
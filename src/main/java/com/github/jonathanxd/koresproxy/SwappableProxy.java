@@ -0,0 +1,59 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy;
+
+import com.github.jonathanxd.koresproxy.handler.InvocationHandler;
+
+/**
+ * Interface implemented by generated proxy classes with {@link ProxyData#isMutableHandler()
+ * mutable handler}, allows the handler of the proxy instance to be replaced.
+ *
+ * @since 2.6.1
+ */
+public interface SwappableProxy extends ProxyInstance {
+
+    /**
+     * Replaces the {@link InvocationHandler} of the proxy. Invocations started after this method
+     * returns are delegated to {@code handler}, invocations already in progress complete with the
+     * previous handler.
+     *
+     * @param handler New handler.
+     */
+    void setInvocationHandler$KoresProxy(InvocationHandler handler);
+
+    /**
+     * Atomically replaces the {@link InvocationHandler} of the proxy with {@code handler} if the
+     * current handler is {@code expected}.
+     *
+     * @param expected Expected current handler.
+     * @param handler  New handler.
+     * @return True if the handler was replaced, false if the current handler is not {@code
+     * expected}.
+     */
+    boolean compareAndSetInvocationHandler$KoresProxy(InvocationHandler expected, InvocationHandler handler);
+}
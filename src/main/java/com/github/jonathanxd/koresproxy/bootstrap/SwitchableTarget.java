@@ -0,0 +1,189 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.bootstrap;
+
+import com.github.jonathanxd.kores.base.InvokeType;
+import com.github.jonathanxd.kores.common.MethodInvokeSpec;
+import com.github.jonathanxd.kores.common.MethodTypeSpec;
+import com.github.jonathanxd.kores.factory.Factories;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds a target instance in a {@link MutableCallSite} which every {@code invokedynamic}
+ * instruction linked through {@link #bootstrap(MethodHandles.Lookup, String, MethodType, String)}
+ * is bound to. The JIT treats the target as a constant, and {@link #set(Object) changing the
+ * target} invalidates and relinks all dependent compiled code at once. Invocations that already
+ * read the old target finish with it.
+ *
+ * Changing the target is expensive (it deoptimizes dependent code), so this is meant for targets
+ * that rarely change, such as configuration reloads.
+ */
+public final class SwitchableTarget {
+    public static final MethodTypeSpec BOOTSTRAP_SPEC = new MethodTypeSpec(
+            SwitchableTarget.class,
+            "bootstrap",
+            Factories.typeSpec(CallSite.class,
+                    MethodHandles.Lookup.class,
+                    String.class,
+                    MethodType.class,
+                    String.class
+            )
+    );
+    public static final MethodInvokeSpec BOOTSTRAP_IVK_SPEC = new MethodInvokeSpec(
+            InvokeType.INVOKE_STATIC,
+            BOOTSTRAP_SPEC
+    );
+
+    /**
+     * Type of target call site.
+     */
+    public static final MethodType TARGET_TYPE = MethodType.methodType(Object.class);
+
+    private static final Map<String, Registration> TARGETS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<SwitchableTarget> COLLECTED = new ReferenceQueue<>();
+    private static final AtomicLong NEXT_KEY = new AtomicLong();
+
+    private final String key;
+    private final MutableCallSite callSite;
+    private volatile Object target;
+
+    /**
+     * Creates switchable target.
+     *
+     * @param target Initial target.
+     */
+    public SwitchableTarget(Object target) {
+        this.key = "switchable$" + NEXT_KEY.getAndIncrement();
+        this.target = Objects.requireNonNull(target);
+        this.callSite = new MutableCallSite(MethodHandles.constant(Object.class, target));
+
+        SwitchableTarget.expunge();
+        TARGETS.put(this.key, new Registration(this));
+    }
+
+    /**
+     * Links {@code invokedynamic} instructions to the call site of target registered with {@code
+     * key}.
+     *
+     * @param caller Caller lookup.
+     * @param name   Name of the method (ignored).
+     * @param type   Type of the call site, must be {@link #TARGET_TYPE}.
+     * @param key    {@link #getKey() Key} of the target.
+     * @return Call site of target.
+     */
+    public static CallSite bootstrap(MethodHandles.Lookup caller,
+                                     String name,
+                                     MethodType type,
+                                     String key) {
+        Registration reference = TARGETS.get(key);
+        SwitchableTarget target = reference != null ? reference.get() : null;
+
+        if (target == null)
+            throw new IllegalStateException("Switchable target '" + key + "' is not registered.");
+
+        if (!type.equals(TARGET_TYPE))
+            throw new IllegalArgumentException("Expected call site type '" + TARGET_TYPE + "' but found '" + type + "'.");
+
+        return target.callSite;
+    }
+
+    /**
+     * Gets the key used to link call sites to this target.
+     *
+     * @return Key used to link call sites to this target.
+     */
+    public String getKey() {
+        return this.key;
+    }
+
+    /**
+     * Gets current target.
+     *
+     * @return Current target.
+     */
+    public Object get() {
+        return this.target;
+    }
+
+    /**
+     * Changes the target. After this method returns, all new invocations are dispatched to the new
+     * target.
+     *
+     * @param target New target.
+     */
+    public synchronized void set(Object target) {
+        Objects.requireNonNull(target);
+
+        this.target = target;
+        this.callSite.setTarget(MethodHandles.constant(Object.class, target));
+        MutableCallSite.syncAll(new MutableCallSite[]{this.callSite});
+    }
+
+    /**
+     * Removes the registration of this target. Proxies that were already linked keep working,
+     * proxies that were not linked yet fail to link.
+     */
+    public void unregister() {
+        TARGETS.remove(this.key);
+    }
+
+    /**
+     * Removes registrations of collected targets.
+     */
+    private static void expunge() {
+        Reference<? extends SwitchableTarget> reference;
+
+        while ((reference = COLLECTED.poll()) != null) {
+            Registration registration = (Registration) reference;
+            TARGETS.remove(registration.key, registration);
+        }
+    }
+
+    /**
+     * Weak registration of a target, enqueued in {@link #COLLECTED} when the target is collected.
+     */
+    private static final class Registration extends WeakReference<SwitchableTarget> {
+        private final String key;
+
+        Registration(SwitchableTarget target) {
+            super(target, COLLECTED);
+            this.key = target.key;
+        }
+    }
+}
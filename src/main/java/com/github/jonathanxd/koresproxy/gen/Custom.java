@@ -28,12 +28,16 @@
 package com.github.jonathanxd.koresproxy.gen;
 
 import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.base.FieldAccess;
+import com.github.jonathanxd.kores.common.Nothing;
 import com.github.jonathanxd.kores.common.VariableRef;
+import com.github.jonathanxd.kores.factory.Factories;
 import com.github.jonathanxd.koresproxy.internals.Util;
 
 import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -115,9 +119,72 @@ public interface Custom {
          */
         private final Instruction initialize;
 
+        /**
+         * True to generate a {@code volatile} field that can be reassigned by generated code,
+         * {@code false} to generate a {@code final} field.
+         *
+         * @since 2.6.1
+         */
+        private final boolean mutable;
+
+        /**
+         * True to generate a {@code static final} field, which is shared by all instances of the
+         * proxy class instead of being stored in each instance. Static properties must have an
+         * {@link #initialize} value which does not depend on the instance and must be accessed
+         * through {@link #getAccess()} (or a static field access).
+         *
+         * @since 2.6.1
+         */
+        private final boolean isStatic;
+
+        /**
+         * True to generate a {@code public volatile} field, which can be accessed with field
+         * updaters (such as {@link java.util.concurrent.atomic.AtomicIntegerFieldUpdater}) from
+         * outside of the proxy class.
+         *
+         * @since 2.6.1
+         */
+        private final boolean exposed;
+
         public Property(VariableRef spec, Instruction initialize) {
+            this(spec, initialize, false);
+        }
+
+        public Property(VariableRef spec, Instruction initialize, boolean mutable) {
+            this(spec, initialize, mutable, false, false);
+        }
+
+        private Property(VariableRef spec, Instruction initialize, boolean mutable, boolean isStatic, boolean exposed) {
             this.spec = spec;
             this.initialize = initialize;
+            this.mutable = mutable;
+            this.isStatic = isStatic;
+            this.exposed = exposed;
+        }
+
+        /**
+         * Creates a {@link #isStatic() static} property initialized with {@code value}. The value
+         * is evaluated once, in the static initializer of the proxy class.
+         *
+         * @param spec  Specification of property.
+         * @param value Value of property.
+         * @return Static property.
+         * @since 2.6.1
+         */
+        public static Property constant(VariableRef spec, Instruction value) {
+            return new Property(spec, Objects.requireNonNull(value), false, true, false);
+        }
+
+        /**
+         * Creates a {@link #isExposed() exposed} {@link #isMutable() mutable} property, which starts
+         * with the default value of its type.
+         *
+         * @param spec Specification of property.
+         * @return Exposed mutable property.
+         * @since 2.6.1
+         */
+        public static Property slot(VariableRef spec) {
+            return new Property(spec, Nothing.INSTANCE, true, false, true);
         }
 
         /**
@@ -144,6 +211,39 @@ public interface Custom {
             return Optional.ofNullable(this.initialize);
         }
 
+        /**
+         * @see #mutable
+         */
+        public boolean isMutable() {
+            return this.mutable;
+        }
+
+        /**
+         * @see #exposed
+         */
+        public boolean isExposed() {
+            return this.exposed;
+        }
+
+        /**
+         * @see #isStatic
+         */
+        public boolean isStatic() {
+            return this.isStatic;
+        }
+
+        /**
+         * Gets the access to the field of {@code this} property, from proxy class methods.
+         *
+         * @return Access to the field of {@code this} property.
+         * @since 2.6.1
+         */
+        public FieldAccess getAccess() {
+            return this.isStatic
+                    ? Factories.accessStaticField(this.spec.getType(), this.getFieldName())
+                    : Factories.accessThisField(this.spec.getType(), this.getFieldName());
+        }
+
         /**
          * Gets field name of {@code this} property.
          *
@@ -32,11 +32,9 @@ import com.github.jonathanxd.kores.Instructions;
 import com.github.jonathanxd.kores.base.Access;
 import com.github.jonathanxd.kores.base.InvokeType;
 import com.github.jonathanxd.kores.base.MethodDeclaration;
-import com.github.jonathanxd.kores.base.VariableDeclaration;
 import com.github.jonathanxd.kores.common.VariableRef;
 import com.github.jonathanxd.kores.factory.Factories;
 import com.github.jonathanxd.kores.factory.InvocationFactory;
-import com.github.jonathanxd.kores.factory.VariableFactory;
 import com.github.jonathanxd.kores.literal.Literals;
 import com.github.jonathanxd.kores.type.ImplicitKoresType;
 import com.github.jonathanxd.kores.util.conversion.ConversionsKt;
@@ -84,7 +82,7 @@ public interface DirectInvocationCustom extends Custom {
         @Override
         public List<Property> getAdditionalProperties() {
             return Collections3.listOf(
-                    new Property(new VariableRef(Class.class, "target"), Literals.TYPE(this.getTarget()))
+                    Property.constant(new VariableRef(Class.class, "target"), Literals.TYPE(this.getTarget()))
             );
         }
 
@@ -264,6 +262,10 @@ public interface DirectInvocationCustom extends Custom {
     /**
      * Delegates to a {@code target} of {@link #getTargets() targets} resolved by {@link
      * #getTargetResolver() target resolver}.
+     *
+     * Each target is stored in its own field, typed to the type resolved by {@link
+     * #getTypeResolver() type resolver} (when the type is public and the target is an instance of
+     * it), so the delegation is a single field read followed by the invocation.
      */
     class MultiInstanceResolved implements DirectInvocationCustom {
 
@@ -281,6 +283,11 @@ public interface DirectInvocationCustom extends Custom {
          * Resolver of the base type of a instance to invoke.
          */
         private final IntFunction<Class<?>> typeResolver;
+
+        /**
+         * Types of the fields of targets.
+         */
+        private final List<Class<?>> fieldTypes;
         private final Gen gen = new Gen();
 
         public MultiInstanceResolved(List<Object> targets,
@@ -289,6 +296,14 @@ public interface DirectInvocationCustom extends Custom {
             this.targets = Collections.unmodifiableList(new ArrayList<>(targets));
             this.targetResolver = targetResolver;
             this.typeResolver = typeResolver;
+
+            List<Class<?>> fieldTypes = new ArrayList<>(this.targets.size());
+
+            for (int i = 0; i < this.targets.size(); i++) {
+                fieldTypes.add(Util.getFieldType(typeResolver.apply(i), this.targets.get(i)));
+            }
+
+            this.fieldTypes = Collections.unmodifiableList(fieldTypes);
         }
 
         public List<Object> getTargets() {
@@ -305,20 +320,27 @@ public interface DirectInvocationCustom extends Custom {
 
         @Override
         public List<Property> getAdditionalProperties() {
-            return Collections3.listOf(
-                    new Property(new VariableRef(List.class, "targets"), null),
-                    new Property(new VariableRef(ToIntFunction.class, "targetResolver"), null),
-                    new Property(new VariableRef(IntFunction.class, "typeResolver"), null)
-            );
+            List<Property> properties = new ArrayList<>(this.fieldTypes.size() + 2);
+
+            properties.add(new Property(new VariableRef(ToIntFunction.class, "targetResolver"), null));
+            properties.add(new Property(new VariableRef(IntFunction.class, "typeResolver"), null));
+
+            for (int i = 0; i < this.fieldTypes.size(); i++) {
+                properties.add(new Property(new VariableRef(this.fieldTypes.get(i), "target$" + i), null));
+            }
+
+            return properties;
         }
 
         @Override
         public List<Object> getValueForConstructorProperties() {
-            return Collections3.listOf(
-                    this.getTargets(),
-                    this.getTargetResolver(),
-                    this.getTypeResolver()
-            );
+            List<Object> values = new ArrayList<>(this.targets.size() + 2);
+
+            values.add(this.getTargetResolver());
+            values.add(this.getTypeResolver());
+            values.addAll(this.getTargets());
+
+            return values;
         }
 
         @Override
@@ -373,41 +395,39 @@ public interface DirectInvocationCustom extends Custom {
 
                     int i = targetResolver.applyAsInt(target);
 
-                    if (i < 0 || i > targets.size()) {
+                    if (i < 0 || i >= targets.size()) {
                         return Instructions.empty();
                     }
 
                     Class<?> typeCl = MultiInstanceResolved.this.getTypeResolver().apply(i);
+                    Class<?> fieldType = MultiInstanceResolved.this.fieldTypes.get(i);
 
                     Object targetObj = targets.get(i);
 
-                    Method method = Util.getMethod(targetObj.getClass(),
+                    Method method = Util.getMethod(fieldType != Object.class ? fieldType : targetObj.getClass(),
                             target.getName(), target.getParameterTypes());
 
-                    VariableRef fprop1 = MultiInstanceResolved.this.getAdditionalProperties().get(0).getSpec();
-
-                    Instruction access = InvocationFactory.invokeInterface(List.class,
-                            Factories.accessThisField(fprop1.getType(), Util.getAdditionalPropertyFieldName(fprop1)),
-                            "get",
-                            Factories.typeSpec(Object.class, Integer.TYPE),
-                            Collections.singletonList(Literals.INT(i)));
-
-                    VariableDeclaration varDec = VariableFactory.variable(Object.class, "target$f", access);
+                    VariableRef fprop = MultiInstanceResolved.this.getAdditionalProperties().get(i + 2).getSpec();
 
                     env.setMayProceed(false);
                     env.setInvokeHandler(false);
 
-                    Type type = typeCl; //targetObj.getClass();//fprop1.getType();
+                    Type type = fieldType;
                     InvokeType invokeType;
 
-                    if (!targetObj.getClass().isSynthetic())
-                        type = targetObj.getClass();
+                    if (fieldType == Object.class) {
+                        type = typeCl;
+
+                        if (!targetObj.getClass().isSynthetic())
+                            type = targetObj.getClass();
+                    }
 
                     if (Modifier.isStatic(method.getModifiers())) {
                         invokeType = InvokeType.INVOKE_STATIC;
+                        type = method.getDeclaringClass();
                     } else if (method.getDeclaringClass().isInterface()) {
                         invokeType = InvokeType.INVOKE_INTERFACE;
-                        if (!method.getDeclaringClass().isSynthetic())
+                        if (fieldType == Object.class && !method.getDeclaringClass().isSynthetic())
                             type = method.getDeclaringClass();
                     } else if (Modifier.isPrivate(method.getModifiers())) {
                         invokeType = InvokeType.INVOKE_SPECIAL;
@@ -421,13 +441,16 @@ public interface DirectInvocationCustom extends Custom {
                         invokeType = InvokeType.INVOKE_INTERFACE;
                     }
 
-                    return Instructions.fromVarArgs(
-                            varDec,
+                    Instruction access = Factories.accessThisField(fprop.getType(), Util.getAdditionalPropertyFieldName(fprop));
+
+                    if (!invokeType.isStatic() && !fieldType.equals(type))
+                        access = Factories.cast(fprop.getType(), type, access);
+
+                    return Instructions.fromPart(
                             Factories.returnValue(target.getReturnType(),
                                     InvocationFactory.invoke(invokeType,
                                             type,
-                                            invokeType.isStatic() ? Access.STATIC
-                                                    : Factories.accessVariable(varDec),
+                                            invokeType.isStatic() ? Access.STATIC : access,
                                             method.getName(),
                                             ConversionsKt.getTypeSpec(method),
                                             ConversionsKt.getAccess(methodDeclaration.getParameters())
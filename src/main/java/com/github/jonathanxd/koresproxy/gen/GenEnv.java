@@ -148,6 +148,47 @@ public abstract class GenEnv {
      */
     public abstract void callCustomGenerators(@Nullable VariableDeclaration returnVariable, MutableInstructions instructions);
 
+    /**
+     * Defines a {@code private static final} field of {@code type} in the proxy class, initialized
+     * with {@code value} when the proxy class is initialized. The JIT treats {@code static final}
+     * fields as constants, which is useful to embed objects such as {@link java.lang.invoke.MethodHandle
+     * method handles} in the generated code. Defining the same {@code value} (by identity) twice
+     * returns the same field.
+     *
+     * Constants belong to the proxy class, which is shared by all proxy instances created with an
+     * equal {@link ProxyData}.
+     *
+     * @param type  Type of the field, must be accessible from the proxy class.
+     * @param value Value of the constant.
+     * @return Access to the constant field.
+     * @since 2.6.1
+     */
+    public FieldAccess defineConstant(Class<?> type, Object value) {
+        throw new UnsupportedOperationException("This environment does not support constants.");
+    }
+
+    /**
+     * Adds a field to the proxy class. This is useful to hold per-method state which cannot be
+     * expressed as a {@link #defineConstant(Class, Object) constant}, such as values which can only
+     * be computed in the static initializer of the proxy class.
+     *
+     * @param field Field to add, the name must be unique in the proxy class.
+     * @since 2.6.1
+     */
+    public void addField(FieldDeclaration field) {
+        throw new UnsupportedOperationException("This environment does not support additional fields.");
+    }
+
+    /**
+     * Adds a helper method to the proxy class, which can be invoked by the generated method body.
+     *
+     * @param method Method to add, the name and signature must be unique in the proxy class.
+     * @since 2.6.1
+     */
+    public void addMethod(MethodDeclaration method) {
+        throw new UnsupportedOperationException("This environment does not support additional methods.");
+    }
+
     /**
      * Returns whether the {@code generator} should append {@link com.github.jonathanxd.koresproxy.handler.InvocationHandler#invoke(Object,
      * MethodInfo, Object[], ProxyData)} after source generated by {@link CustomHandlerGenerator}.
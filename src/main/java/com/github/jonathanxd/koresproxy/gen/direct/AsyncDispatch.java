@@ -0,0 +1,321 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.gen.direct;
+
+import com.github.jonathanxd.iutils.collection.Collections3;
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.Instructions;
+import com.github.jonathanxd.kores.base.Access;
+import com.github.jonathanxd.kores.base.MethodDeclaration;
+import com.github.jonathanxd.kores.common.VariableRef;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.factory.InvocationFactory;
+import com.github.jonathanxd.koresproxy.ProxyData;
+import com.github.jonathanxd.koresproxy.gen.CustomHandlerGenerator;
+import com.github.jonathanxd.koresproxy.gen.DirectInvocationCustom;
+import com.github.jonathanxd.koresproxy.gen.GenEnv;
+import com.github.jonathanxd.koresproxy.handler.InvocationHandler;
+import com.github.jonathanxd.koresproxy.info.MethodInfo;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+/**
+ * Offloads the {@link InvocationHandler} invocation of asynchronous proxy methods to an {@link
+ * Executor}.
+ *
+ * Methods that returns {@link CompletableFuture}, {@link CompletionStage} or {@link Future} returns
+ * a {@link CompletableFuture} immediately, which is completed with the value returned by the
+ * handler (if the handler returns a {@link CompletionStage}, the future is completed with the
+ * result of the stage, and if the handler returns another {@link Future}, the executor thread waits
+ * for its result), or completed exceptionally with the exception thrown by the handler. The
+ * {@code void} methods which matches {@link #getFireAndForget() fire-and-forget filter} also
+ * returns immediately, and the exceptions thrown by the handler are reported to the {@link
+ * Thread.UncaughtExceptionHandler} of the thread that runs the handler.
+ *
+ * The {@link #defaultExecutor() default executor} runs each task in a new virtual thread when the
+ * runtime supports it, otherwise uses the {@link ForkJoinPool#commonPool() common pool}.
+ *
+ * Two instances with same fire-and-forget filter are equal, this means that the same proxy class is
+ * reused for different executors.
+ *
+ * @since 2.6.1
+ */
+public class AsyncDispatch implements DirectInvocationCustom {
+
+    /**
+     * Filter which accepts no methods.
+     */
+    public static final Predicate<Method> NONE = m -> false;
+
+    /**
+     * Executor which runs handler invocations.
+     */
+    private final Executor executor;
+
+    /**
+     * Filter of {@code void} methods which returns without waiting the handler.
+     */
+    private final Predicate<Method> fireAndForget;
+
+    private final Gen gen = new Gen();
+
+    /**
+     * Creates async dispatch which runs handler invocations of asynchronous methods in {@link
+     * #defaultExecutor() default executor}.
+     */
+    public AsyncDispatch() {
+        this(AsyncDispatch.defaultExecutor(), NONE);
+    }
+
+    /**
+     * Creates async dispatch.
+     *
+     * @param executor      Executor which runs handler invocations.
+     * @param fireAndForget Filter of {@code void} methods which returns without waiting the
+     *                      handler.
+     */
+    public AsyncDispatch(Executor executor, Predicate<Method> fireAndForget) {
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null!");
+        this.fireAndForget = Objects.requireNonNull(fireAndForget);
+    }
+
+    /**
+     * Gets the default executor, which runs each task in a new virtual thread when the runtime
+     * supports virtual threads, or the {@link ForkJoinPool#commonPool() common pool} otherwise.
+     *
+     * @return Default executor.
+     */
+    public static Executor defaultExecutor() {
+        return DefaultExecutor.EXECUTOR;
+    }
+
+    /**
+     * Gets the executor which runs handler invocations.
+     *
+     * @return Executor which runs handler invocations.
+     */
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Gets the filter of {@code void} methods which returns without waiting the handler.
+     *
+     * @return Filter of {@code void} methods which returns without waiting the handler.
+     */
+    public Predicate<Method> getFireAndForget() {
+        return this.fireAndForget;
+    }
+
+    /**
+     * Returns whether {@code m} is dispatched asynchronously.
+     *
+     * @param m Method to check.
+     * @return Whether {@code m} is dispatched asynchronously.
+     */
+    public boolean isAsync(Method m) {
+        return AsyncDispatch.isFutureType(m.getReturnType())
+                || (m.getReturnType() == Void.TYPE && this.getFireAndForget().test(m));
+    }
+
+    @Override
+    public List<Property> getAdditionalProperties() {
+        return Collections3.listOf(
+                new Property(new VariableRef(Executor.class, "executor"), null)
+        );
+    }
+
+    @Override
+    public List<Object> getValueForConstructorProperties() {
+        return Collections.singletonList(this.executor);
+    }
+
+    @Override
+    public List<CustomHandlerGenerator> getCustomHandlerGenerators() {
+        return Collections.singletonList(this.gen);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getFireAndForget());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof AsyncDispatch))
+            return super.equals(obj);
+
+        return Objects.equals(this.getFireAndForget(), ((AsyncDispatch) obj).getFireAndForget());
+    }
+
+    /**
+     * Submits the invocation of {@code handler} to {@code executor}.
+     *
+     * @param executor   Executor which runs the invocation.
+     * @param instance   Proxy instance.
+     * @param methodInfo Information of called method.
+     * @param args       Arguments passed to method.
+     * @param proxyData  Information about proxy.
+     * @param handler    Handler to invoke.
+     * @return Future completed with the result of the invocation.
+     */
+    public static CompletableFuture<Object> submit(Executor executor,
+                                                   Object instance,
+                                                   MethodInfo methodInfo,
+                                                   Object[] args,
+                                                   ProxyData proxyData,
+                                                   InvocationHandler handler) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+
+        executor.execute(() -> {
+            try {
+                Object result = handler.invoke(instance, methodInfo, args, proxyData);
+
+                if (result instanceof CompletionStage<?>) {
+                    ((CompletionStage<?>) result).whenComplete((value, throwable) -> {
+                        if (throwable != null)
+                            future.completeExceptionally(throwable);
+                        else
+                            future.complete(value);
+                    });
+                } else if (result instanceof Future<?>) {
+                    try {
+                        future.complete(((Future<?>) result).get());
+                    } catch (ExecutionException e) {
+                        future.completeExceptionally(e.getCause());
+                    }
+                } else {
+                    future.complete(result);
+                }
+            } catch (Throwable t) {
+                if (t instanceof InterruptedException)
+                    Thread.currentThread().interrupt();
+
+                future.completeExceptionally(t);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Submits the invocation of {@code handler} to {@code executor} without tracking the result.
+     *
+     * @param executor   Executor which runs the invocation.
+     * @param instance   Proxy instance.
+     * @param methodInfo Information of called method.
+     * @param args       Arguments passed to method.
+     * @param proxyData  Information about proxy.
+     * @param handler    Handler to invoke.
+     */
+    public static void fire(Executor executor,
+                            Object instance,
+                            MethodInfo methodInfo,
+                            Object[] args,
+                            ProxyData proxyData,
+                            InvocationHandler handler) {
+        executor.execute(() -> {
+            try {
+                handler.invoke(instance, methodInfo, args, proxyData);
+            } catch (Throwable t) {
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, t);
+            }
+        });
+    }
+
+    private static boolean isFutureType(Class<?> type) {
+        return type == CompletableFuture.class || type == CompletionStage.class || type == Future.class;
+    }
+
+    public class Gen implements CustomHandlerGenerator {
+
+        @NotNull
+        @Override
+        public Instructions handle(@NotNull Method target, @NotNull MethodDeclaration methodDeclaration, @NotNull GenEnv env) {
+            if (!AsyncDispatch.this.isAsync(target)
+                    || !HandlerSupport.hasMethodInfo(env))
+                return Instructions.empty();
+
+            Property executorProperty = AsyncDispatch.this.getAdditionalProperties().get(0);
+
+            Instruction arguments = HandlerSupport.argumentsArray(methodDeclaration);
+
+            env.setMayProceed(false);
+            env.setInvokeHandler(false);
+
+            boolean isVoid = target.getReturnType() == Void.TYPE;
+
+            Instruction dispatch = InvocationFactory.invokeStatic(AsyncDispatch.class,
+                    isVoid ? "fire" : "submit",
+                    Factories.typeSpec(isVoid ? Void.TYPE : CompletableFuture.class,
+                            Executor.class, Object.class, MethodInfo.class, Object[].class,
+                            ProxyData.class, InvocationHandler.class),
+                    Collections3.listOf(
+                            executorProperty.getAccess(),
+                            Access.THIS,
+                            env.getMethodInfoAccess(),
+                            arguments,
+                            env.getProxyDataAccess(),
+                            env.getInvocationHandlerAccess()
+                    ));
+
+            if (isVoid)
+                return Instructions.fromVarArgs(dispatch, Factories.returnVoid());
+
+            return Instructions.fromPart(Factories.returnValue(target.getReturnType(), dispatch));
+        }
+    }
+
+    static final class DefaultExecutor {
+        static final Executor EXECUTOR = DefaultExecutor.create();
+
+        private static Executor create() {
+            try {
+                Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) method.invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException ignored) {
+                return ForkJoinPool.commonPool();
+            }
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.gen.direct;
+
+import com.github.jonathanxd.iutils.collection.Collections3;
+import com.github.jonathanxd.iutils.exception.RethrowException;
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.Instructions;
+import com.github.jonathanxd.kores.base.MethodDeclaration;
+import com.github.jonathanxd.kores.common.VariableRef;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.factory.InvocationFactory;
+import com.github.jonathanxd.koresproxy.gen.CustomHandlerGenerator;
+import com.github.jonathanxd.koresproxy.gen.DirectInvocationCustom;
+import com.github.jonathanxd.koresproxy.gen.GenEnv;
+import com.github.jonathanxd.koresproxy.handler.BatchHandler;
+import com.github.jonathanxd.koresproxy.handler.BatchedCall;
+import com.github.jonathanxd.koresproxy.info.MethodInfo;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Buffers calls to {@code void} proxy methods and delivers them in batches to a {@link
+ * BatchHandler} (or to a delegate, with {@link BatchHandler#toDelegate(Object)}).
+ *
+ * Calls are appended without locking to one of the stripes of the buffer, selected by the caller
+ * thread, so the calls of a same thread are always delivered in invocation order. A stripe is
+ * delivered when it reaches {@link #getBatchSize() batch size}, when {@link #flush()} is called or
+ * periodically with {@link #scheduleFlush(ScheduledExecutorService, long, TimeUnit)}. Deliveries
+ * of a stripe are serialized, so callers that fill a stripe while a batch of that stripe is being
+ * delivered wait for the delivery to complete (backpressure). Exceptions thrown by the batch
+ * handler are rethrown to the thread that triggered the delivery, and the calls of the failed batch
+ * are discarded.
+ *
+ * The buffer is owned by the custom instance and shared by all proxies created with it. Two
+ * instances with same method filter are equal, this means that the same proxy class is reused for
+ * different buffers.
+ *
+ * @since 2.6.1
+ */
+public class CallBatching implements DirectInvocationCustom {
+
+    private final BatchHandler handler;
+    private final Predicate<Method> filter;
+    private final int batchSize;
+    private final Stripe[] stripes;
+    private final Gen gen = new Gen();
+
+    /**
+     * Creates call batching for all {@code void} methods.
+     *
+     * @param handler   Handler which receives batches.
+     * @param batchSize Amount of buffered calls of a stripe which triggers delivery.
+     */
+    public CallBatching(BatchHandler handler, int batchSize) {
+        this(handler, InterceptorChain.ALL, batchSize);
+    }
+
+    /**
+     * Creates call batching.
+     *
+     * @param handler   Handler which receives batches.
+     * @param filter    Filter of {@code void} methods to buffer.
+     * @param batchSize Amount of buffered calls of a stripe which triggers delivery.
+     */
+    public CallBatching(BatchHandler handler, Predicate<Method> filter, int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+
+        this.handler = Objects.requireNonNull(handler, "Batch handler cannot be null!");
+        this.filter = Objects.requireNonNull(filter);
+        this.batchSize = batchSize;
+
+        int stripeCount = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+        this.stripes = new Stripe[stripeCount];
+
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Gets the handler which receives batches.
+     *
+     * @return Handler which receives batches.
+     */
+    public BatchHandler getHandler() {
+        return this.handler;
+    }
+
+    /**
+     * Gets the filter of {@code void} methods to buffer.
+     *
+     * @return Filter of {@code void} methods to buffer.
+     */
+    public Predicate<Method> getFilter() {
+        return this.filter;
+    }
+
+    /**
+     * Gets the amount of buffered calls of a stripe which triggers delivery.
+     *
+     * @return Amount of buffered calls of a stripe which triggers delivery.
+     */
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * Gets the amount of buffered calls which were not delivered yet.
+     *
+     * @return Amount of buffered calls which were not delivered yet.
+     */
+    public int getPendingCount() {
+        int pending = 0;
+
+        for (Stripe stripe : this.stripes) {
+            pending += stripe.size.get();
+        }
+
+        return pending;
+    }
+
+    /**
+     * Buffers a call, delivering the stripe of the caller thread if it reached {@link
+     * #getBatchSize() batch size}. Called by generated proxy methods.
+     *
+     * @param methodInfo Information of called method.
+     * @param args       Arguments passed to method.
+     */
+    public void enqueue(MethodInfo methodInfo, Object[] args) {
+        Stripe stripe = this.stripes[(int) Thread.currentThread().getId() & (this.stripes.length - 1)];
+
+        stripe.calls.add(new BatchedCall(methodInfo, args));
+
+        if (stripe.size.incrementAndGet() >= this.batchSize)
+            this.deliver(stripe);
+    }
+
+    /**
+     * Delivers all buffered calls.
+     */
+    public void flush() {
+        for (Stripe stripe : this.stripes) {
+            this.deliver(stripe);
+        }
+    }
+
+    /**
+     * Schedules a periodic {@link #flush()} in {@code executor}. Exceptions thrown by the batch
+     * handler during scheduled flushes are reported to the {@link Thread.UncaughtExceptionHandler}
+     * of the thread that runs the flush.
+     *
+     * @param executor Executor which runs the flushes.
+     * @param period   Period between flushes.
+     * @param unit     Unit of {@code period}.
+     * @return Future of the scheduled task, which can be used to cancel the periodic flush.
+     */
+    public ScheduledFuture<?> scheduleFlush(ScheduledExecutorService executor, long period, TimeUnit unit) {
+        return executor.scheduleAtFixedRate(() -> {
+            try {
+                this.flush();
+            } catch (Throwable t) {
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, t);
+            }
+        }, period, period, unit);
+    }
+
+    private void deliver(Stripe stripe) {
+        synchronized (stripe) {
+            int size = stripe.size.get();
+
+            if (size == 0)
+                return;
+
+            List<BatchedCall> batch = new ArrayList<>(size);
+
+            for (int i = 0; i < size; i++) {
+                batch.add(stripe.calls.poll());
+            }
+
+            stripe.size.addAndGet(-size);
+
+            try {
+                this.handler.handle(Collections.unmodifiableList(batch));
+            } catch (Throwable t) {
+                throw RethrowException.rethrow(t);
+            }
+        }
+    }
+
+    @Override
+    public List<Property> getAdditionalProperties() {
+        return Collections3.listOf(
+                new Property(new VariableRef(CallBatching.class, "batching"), null)
+        );
+    }
+
+    @Override
+    public List<Object> getValueForConstructorProperties() {
+        return Collections.singletonList(this);
+    }
+
+    @Override
+    public List<CustomHandlerGenerator> getCustomHandlerGenerators() {
+        return Collections.singletonList(this.gen);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getFilter());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof CallBatching))
+            return super.equals(obj);
+
+        return Objects.equals(this.getFilter(), ((CallBatching) obj).getFilter());
+    }
+
+    static final class Stripe {
+        final ConcurrentLinkedQueue<BatchedCall> calls = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+    }
+
+    public class Gen implements CustomHandlerGenerator {
+
+        @NotNull
+        @Override
+        public Instructions handle(@NotNull Method target, @NotNull MethodDeclaration methodDeclaration, @NotNull GenEnv env) {
+            if (target.getReturnType() != Void.TYPE
+                    || !CallBatching.this.getFilter().test(target)
+                    || !HandlerSupport.hasMethodInfo(env))
+                return Instructions.empty();
+
+            Instruction arguments = HandlerSupport.argumentsArray(methodDeclaration);
+
+            env.setMayProceed(false);
+            env.setInvokeHandler(false);
+
+            return Instructions.fromVarArgs(
+                    InvocationFactory.invokeVirtual(CallBatching.class,
+                            CallBatching.this.getAdditionalProperties().get(0).getAccess(),
+                            "enqueue",
+                            Factories.typeSpec(Void.TYPE, MethodInfo.class, Object[].class),
+                            Collections3.listOf(env.getMethodInfoAccess(), arguments)),
+                    Factories.returnVoid()
+            );
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.gen.direct;
+
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.Instructions;
+import com.github.jonathanxd.kores.base.Access;
+import com.github.jonathanxd.kores.base.MethodDeclaration;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.factory.InvocationFactory;
+import com.github.jonathanxd.kores.util.conversion.ConversionsKt;
+import com.github.jonathanxd.koresproxy.gen.CustomHandlerGenerator;
+import com.github.jonathanxd.koresproxy.gen.DirectInvocationCustom;
+import com.github.jonathanxd.koresproxy.gen.GenEnv;
+import com.github.jonathanxd.koresproxy.handler.ClaimingHandler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Compiles default interface methods directly to an {@code invokespecial} of the default
+ * implementation, instead of delegating to the {@link com.github.jonathanxd.koresproxy.handler.InvocationHandler}
+ * (which would need to call {@link com.github.jonathanxd.koresproxy.info.MethodInfo#invokeSuper(Object,
+ * Object...)} to reach the default implementation).
+ *
+ * Only default methods accepted by the {@link #getFilter() filter} and not {@link
+ * #getClaimed() claimed} are compiled directly, other methods are handled as usual. Default
+ * methods are invoked through the first interface of the proxy that inherits it, because {@code
+ * invokespecial} only accepts direct super interfaces, methods that are only inherited through
+ * the super class are not handled.
+ */
+public class DirectToDefault implements DirectInvocationCustom {
+
+    /**
+     * Filter which accepts all default methods.
+     */
+    public static final Predicate<Method> ALL = m -> true;
+
+    private static final DirectToDefault INSTANCE = new DirectToDefault(ALL, Collections.emptySet());
+
+    /**
+     * Filter of default methods to compile directly.
+     */
+    private final Predicate<Method> filter;
+
+    /**
+     * Methods which must be delegated to the handler.
+     */
+    private final Set<Method> claimed;
+
+    private final Gen gen = new Gen();
+
+    private DirectToDefault(Predicate<Method> filter, Set<Method> claimed) {
+        this.filter = filter;
+        this.claimed = claimed;
+    }
+
+    /**
+     * Gets a custom that compiles all default methods directly.
+     *
+     * @return Custom that compiles all default methods directly.
+     */
+    public static DirectToDefault all() {
+        return DirectToDefault.INSTANCE;
+    }
+
+    /**
+     * Creates a custom that compiles default methods accepted by {@code filter} directly.
+     *
+     * @param filter Filter of default methods.
+     * @return Custom that compiles default methods accepted by {@code filter} directly.
+     */
+    public static DirectToDefault create(Predicate<Method> filter) {
+        return new DirectToDefault(filter, Collections.emptySet());
+    }
+
+    /**
+     * Creates a custom that compiles default methods which are not {@link
+     * ClaimingHandler#getClaimedMethods() claimed} by {@code handler} directly. The claimed methods
+     * are read once, when this method is called.
+     *
+     * @param handler Handler which claims methods.
+     * @return Custom that compiles default methods which are not claimed by {@code handler}
+     * directly.
+     */
+    public static DirectToDefault unclaimedBy(ClaimingHandler handler) {
+        return new DirectToDefault(ALL, Collections.unmodifiableSet(new HashSet<>(handler.getClaimedMethods())));
+    }
+
+    /**
+     * Gets the filter of default methods to compile directly.
+     *
+     * @return Filter of default methods to compile directly.
+     */
+    public Predicate<Method> getFilter() {
+        return this.filter;
+    }
+
+    /**
+     * Gets the methods which must be delegated to the handler.
+     *
+     * @return Methods which must be delegated to the handler.
+     */
+    public Set<Method> getClaimed() {
+        return this.claimed;
+    }
+
+    /**
+     * Returns whether {@code m} is compiled directly to default implementation.
+     *
+     * @param m Method to check.
+     * @return Whether {@code m} is compiled directly to default implementation.
+     */
+    public boolean isDirect(Method m) {
+        return m.isDefault() && this.filter.test(m) && !this.isClaimed(m);
+    }
+
+    private boolean isClaimed(Method m) {
+        for (Method method : this.claimed) {
+            if (method.getName().equals(m.getName())
+                    && Arrays.equals(method.getParameterTypes(), m.getParameterTypes()))
+                return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean generateSpecCache(Method m) {
+        return !this.isDirect(m);
+    }
+
+    @Override
+    public List<CustomHandlerGenerator> getCustomHandlerGenerators() {
+        return Collections.singletonList(this.gen);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof DirectToDefault
+                && ((DirectToDefault) obj).filter == this.filter
+                && ((DirectToDefault) obj).claimed.equals(this.claimed);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.filter, this.claimed);
+    }
+
+    class Gen implements CustomHandlerGenerator {
+
+        @NotNull
+        @Override
+        public Instructions handle(@NotNull Method target, @NotNull MethodDeclaration methodDeclaration, @NotNull GenEnv env) {
+            if (!DirectToDefault.this.isDirect(target))
+                return Instructions.empty();
+
+            Class<?> owner = null;
+
+            for (Class<?> itf : env.getProxyData().getInterfaceList()) {
+                if (target.getDeclaringClass().isAssignableFrom(itf)) {
+                    owner = itf;
+                    break;
+                }
+            }
+
+            if (owner == null)
+                return Instructions.empty();
+
+            env.setMayProceed(false);
+            env.setInvokeHandler(false);
+
+            Instruction invoke = InvocationFactory.invokeSpecial(
+                    owner, Access.SUPER, target.getName(),
+                    methodDeclaration.getTypeSpec(),
+                    ConversionsKt.getAccess(methodDeclaration.getParameters())
+            );
+
+            if (target.getReturnType() == Void.TYPE)
+                return Instructions.fromVarArgs(invoke, Factories.returnVoid());
+
+            return Instructions.fromPart(Factories.returnValue(target.getReturnType(), invoke));
+        }
+    }
+}
@@ -48,6 +48,7 @@ import com.github.jonathanxd.iutils.collection.Collections3;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -56,6 +57,13 @@ import java.util.function.ToIntFunction;
 
 /**
  * Delegates invocations to Java 8 {@link Function Functions}.
+ *
+ * {@link #typed(List, ToIntFunction) Typed} instances delegates to any functional object: JDK
+ * functional interfaces (such as {@link java.util.function.IntBinaryOperator} or {@link
+ * java.util.function.ToLongFunction}), user defined functional interfaces or {@link
+ * java.lang.invoke.MethodHandle MethodHandles}. Each functional object is stored in a field of its
+ * own type and invoked with the arguments of the proxy method, without argument array and without
+ * boxing when the types match.
  */
 public class DirectToFunction implements DirectInvocationCustom {
     public static final Object[] EMPTY_ARRAY = new Object[0];
@@ -70,17 +78,101 @@ public class DirectToFunction implements DirectInvocationCustom {
      */
     private final ToIntFunction<Method> functionResolver;
 
+    /**
+     * Functional objects of {@link #typed(List, ToIntFunction) typed} instance, or {@code null}.
+     */
+    private final List<Object> targets;
+
+    /**
+     * Field types of {@link #targets}.
+     */
+    private final List<Class<?>> targetTypes;
+
+    /**
+     * Shapes of {@link #targets}.
+     */
+    private final List<Object> targetShapes;
+
     private final Gen gen = new Gen();
 
     public DirectToFunction(List<Function<Object[], Object>> functions,
                             ToIntFunction<Method> functionResolver) {
         this.functions = functions;
         this.functionResolver = functionResolver;
+        this.targets = null;
+        this.targetTypes = null;
+        this.targetShapes = null;
+    }
+
+    private DirectToFunction(ToIntFunction<Method> functionResolver,
+                             List<Object> targets) {
+        this.functions = Collections.emptyList();
+        this.functionResolver = functionResolver;
+
+        List<Class<?>> targetTypes = new ArrayList<>(targets.size());
+        List<Object> targetShapes = new ArrayList<>(targets.size());
+
+        for (Object target : targets) {
+            Class<?> type = Functionals.resolveType(target);
+
+            targetTypes.add(type);
+            targetShapes.add(Functionals.shapeOf(type, target));
+        }
+
+        this.targets = Collections.unmodifiableList(new ArrayList<>(targets));
+        this.targetTypes = Collections.unmodifiableList(targetTypes);
+        this.targetShapes = Collections.unmodifiableList(targetShapes);
+    }
+
+    /**
+     * Creates a typed function direct invocation. Each element of {@code targets} must be a {@link
+     * java.lang.invoke.MethodHandle} or implement a public functional interface, and is invoked
+     * with the arguments of the proxy method (optionally preceded by the proxy instance).
+     *
+     * @param targets          Functional objects to invoke.
+     * @param functionResolver Resolver of the position of the functional object to invoke based
+     *                         on a method, or {@code -1} to use default behavior.
+     * @return Typed function direct invocation.
+     * @since 2.6.1
+     */
+    public static DirectToFunction typed(List<?> targets,
+                                         ToIntFunction<Method> functionResolver) {
+        return new DirectToFunction(functionResolver, new ArrayList<>(targets));
+    }
+
+    /**
+     * Returns whether this instance was created by {@link #typed(List, ToIntFunction)}.
+     *
+     * @return Whether this instance was created by {@link #typed(List, ToIntFunction)}.
+     * @since 2.6.1
+     */
+    public boolean isTyped() {
+        return this.targets != null;
+    }
+
+    /**
+     * Gets the functional objects of {@link #typed(List, ToIntFunction) typed} instance.
+     *
+     * @return Functional objects of typed instance, or empty list if this instance is not typed.
+     * @since 2.6.1
+     */
+    public List<Object> getTargets() {
+        return this.isTyped() ? this.targets : Collections.emptyList();
     }
 
 
     @Override
     public List<Property> getAdditionalProperties() {
+        if (this.isTyped()) {
+            List<Property> properties = new ArrayList<>(this.targetTypes.size());
+
+            for (int i = 0; i < this.targetTypes.size(); i++) {
+                properties.add(new Property(new VariableRef(this.targetTypes.get(i), "function$" + i), null));
+            }
+
+            return properties;
+        }
+
         return Collections3.listOf(
                 new Property(new VariableRef(List.class, "functions"), null),
                 new Property(new VariableRef(ToIntFunction.class, "functionResolver"), null)
@@ -97,6 +189,9 @@ public class DirectToFunction implements DirectInvocationCustom {
 
     @Override
     public List<Object> getValueForConstructorProperties() {
+        if (this.isTyped())
+            return this.getTargets();
+
         return Collections3.listOf(
                 this.getFunctions(),
                 this.getFunctionResolver()
@@ -115,6 +210,9 @@ public class DirectToFunction implements DirectInvocationCustom {
 
     @Override
     public int hashCode() {
+        if (this.isTyped())
+            return Objects.hash(this.targetShapes, this.getFunctionResolver());
+
         return Objects.hash(this.getFunctions(), this.getFunctionResolver());
     }
 
@@ -123,6 +221,10 @@ public class DirectToFunction implements DirectInvocationCustom {
         if (!(obj instanceof DirectToFunction))
             return super.equals(obj);
 
+        if (this.isTyped() || ((DirectToFunction) obj).isTyped())
+            return Objects.equals(this.targetShapes, ((DirectToFunction) obj).targetShapes)
+                    && Objects.equals(this.getFunctionResolver(), ((DirectToFunction) obj).getFunctionResolver());
+
         return Objects.equals(this.getFunctions(), ((DirectToFunction) obj).getFunctions())
                 && Objects.equals(this.getFunctionResolver(), ((DirectToFunction) obj).getFunctionResolver());
     }
@@ -137,7 +239,24 @@ public class DirectToFunction implements DirectInvocationCustom {
 
             int i = targetResolver.applyAsInt(target);
 
-            if (i < 0 || i > functions.size()) {
+            if (DirectToFunction.this.isTyped()) {
+                if (i < 0 || i >= DirectToFunction.this.targets.size())
+                    return Instructions.empty();
+
+                Class<?> type = DirectToFunction.this.targetTypes.get(i);
+                Property property = DirectToFunction.this.getAdditionalProperties().get(i);
+
+                env.setMayProceed(false);
+                env.setInvokeHandler(false);
+
+                return Functionals.invoke(target,
+                        methodDeclaration,
+                        type,
+                        DirectToFunction.this.targets.get(i),
+                        Factories.accessThisField(type, property.getFieldName()));
+            }
+
+            if (i < 0 || i >= functions.size()) {
                 return Instructions.empty();
             }
 
@@ -39,7 +39,6 @@ import com.github.jonathanxd.kores.common.VariableRef;
 import com.github.jonathanxd.kores.factory.Factories;
 import com.github.jonathanxd.kores.factory.InvocationFactory;
 import com.github.jonathanxd.kores.factory.VariableFactory;
-import com.github.jonathanxd.kores.literal.Literals;
 import com.github.jonathanxd.kores.type.ImplicitKoresType;
 import com.github.jonathanxd.kores.util.ArgumentsKt;
 import com.github.jonathanxd.kores.util.conversion.ConversionsKt;
@@ -47,11 +46,11 @@ import com.github.jonathanxd.koresproxy.gen.CustomHandlerGenerator;
 import com.github.jonathanxd.koresproxy.gen.DirectInvocationCustom;
 import com.github.jonathanxd.koresproxy.gen.GenEnv;
 import com.github.jonathanxd.koresproxy.internals.Util;
-import com.github.jonathanxd.iutils.collection.Collections3;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
@@ -66,6 +65,17 @@ import java.util.function.IntFunction;
 /**
  * Resolves the target invocation instance for every method with support to {@link ArgsResolver} and
  * {@link InvokeValidator}.
+ *
+ * Each instance is stored in its own field, typed to the type resolved by {@link #typeResolver}
+ * (when the type is public and the instance is an instance of it), so the delegation is a single
+ * field read followed by the invocation.
+ *
+ * {@link Target#HANDLE Method handle targets} are adapted to the type of the proxy method, stored
+ * in {@code static final} constants of the proxy class and invoked with {@link
+ * MethodHandle#invokeExact(Object...)}, so the JIT can inline the whole handle tree. Adapt
+ * arguments with handle combinators ({@link java.lang.invoke.MethodHandles#filterArguments},
+ * {@link java.lang.invoke.MethodHandles#insertArguments}, ...) instead of {@link ArgsResolver},
+ * {@link ArgsResolver} and {@link InvokeValidator} are not applied to method handle targets.
  */
 public class DirectToResolveMethod implements DirectInvocationCustom {
     /**
@@ -93,6 +103,12 @@ public class DirectToResolveMethod implements DirectInvocationCustom {
     @Nullable
     private final InvokeValidator invokeValidator;
 
+    /**
+     * Types of the fields of instances.
+     */
+    @NotNull
+    private final List<Class<?>> fieldTypes;
+
     @NotNull
     private final Gen gen = new Gen();
 
@@ -112,16 +128,25 @@ public class DirectToResolveMethod implements DirectInvocationCustom {
         this.typeResolver = typeResolver;
         this.argsResolver = argsResolver;
         this.invokeValidator = invokeValidator;
+
+        List<Class<?>> fieldTypes = new ArrayList<>(instances.size());
+
+        for (int i = 0; i < instances.size(); i++) {
+            fieldTypes.add(Util.getFieldType(typeResolver.apply(i), instances.get(i)));
+        }
+
+        this.fieldTypes = Collections.unmodifiableList(fieldTypes);
     }
 
     @Override
     public List<Property> getAdditionalProperties() {
-        return Collections3.listOf(
-                new Property(new VariableRef(List.class, "instances"), null)/*,
-                new Property(new VariableRef(Function.class, "targetResolver"), null),
-                new Property(new VariableRef(IntFunction.class, "typeResolver"), null),
-                new Property(new VariableRef(ArgsResolver.class, "argsResolver"), null)*/
-        );
+        List<Property> properties = new ArrayList<>(this.fieldTypes.size());
+
+        for (int i = 0; i < this.fieldTypes.size(); i++) {
+            properties.add(new Property(new VariableRef(this.fieldTypes.get(i), "instance$" + i), null));
+        }
+
+        return properties;
     }
 
     @NotNull
@@ -151,12 +176,7 @@ public class DirectToResolveMethod implements DirectInvocationCustom {
 
     @Override
     public List<Object> getValueForConstructorProperties() {
-        return Collections3.listOf(
-                this.getInstances()/*,
-                this.getTargetResolver(),
-                this.getTypeResolver(),
-                this.getArgsResolver()*/
-        );
+        return new ArrayList<>(this.getInstances());
     }
 
     @Override
@@ -205,7 +225,22 @@ public class DirectToResolveMethod implements DirectInvocationCustom {
             if (instanceIndex == Target.DEFAULT_BEHAVIOR)
                 return Instructions.empty();
 
-            if ((instanceIndex < 0 && instanceIndex != Target.SELF) || instanceIndex > instances.size()) {
+            if (instanceIndex == Target.HANDLE) {
+                MethodHandle handle = invokeTarget.getHandle();
+                boolean withInstance = Functionals.checkCompatible(target, MethodHandle.class, handle);
+                MethodHandle adapted = handle.asType(Functionals.callType(target, withInstance));
+
+                env.setMayProceed(false);
+                env.setInvokeHandler(false);
+
+                return Functionals.invoke(target,
+                        methodDeclaration,
+                        MethodHandle.class,
+                        adapted,
+                        env.defineConstant(MethodHandle.class, adapted));
+            }
+
+            if ((instanceIndex < 0 && instanceIndex != Target.SELF) || instanceIndex >= instances.size()) {
                 return Instructions.empty();
             }
 
@@ -213,22 +248,25 @@ public class DirectToResolveMethod implements DirectInvocationCustom {
 
             List<Type> parametersTypes = Arrays.asList(method.getParameterTypes());
 
-            VariableRef fprop1 = DirectToResolveMethod.this.getAdditionalProperties().get(0).getSpec();
+            Type type = instanceIndex == Target.SELF ? Alias.THIS.INSTANCE : typeResolver.apply(instanceIndex);
 
-            Instruction access =
-                    instanceIndex == Target.SELF ? Access.THIS
-                            : Modifier.isStatic(method.getModifiers()) ? Access.STATIC
-                            :
-                            InvocationFactory.invokeInterface(List.class,
-                                    Factories.accessThisField(fprop1.getType(), Util.getAdditionalPropertyFieldName(fprop1)),
-                                    "get",
-                                    Factories.typeSpec(Object.class, Integer.TYPE),
-                                    Collections.singletonList(Literals.INT(instanceIndex)));
+            Instruction access;
 
-            Type type = instanceIndex == Target.SELF ? Alias.THIS.INSTANCE : typeResolver.apply(instanceIndex);
+            if (instanceIndex == Target.SELF) {
+                access = Factories.cast(Object.class, type, Access.THIS);
+            } else if (Modifier.isStatic(method.getModifiers())) {
+                access = Factories.cast(Object.class, type, Access.STATIC);
+            } else {
+                Class<?> fieldType = DirectToResolveMethod.this.fieldTypes.get(instanceIndex);
+                VariableRef fprop = DirectToResolveMethod.this.getAdditionalProperties().get(instanceIndex).getSpec();
+
+                access = Factories.accessThisField(fprop.getType(), Util.getAdditionalPropertyFieldName(fprop));
+
+                if (!fieldType.equals(type))
+                    access = Factories.cast(fieldType, type, access);
+            }
 
-            VariableDeclaration varDec = VariableFactory.variable(type, "target$f",
-                    Factories.cast(Object.class, type, access));
+            VariableDeclaration varDec = VariableFactory.variable(type, "target$f", access);
 
             env.setMayProceed(false);
             env.setInvokeHandler(false);
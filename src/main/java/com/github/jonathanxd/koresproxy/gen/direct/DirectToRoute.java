@@ -0,0 +1,247 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.gen.direct;
+
+import com.github.jonathanxd.kores.Instructions;
+import com.github.jonathanxd.kores.base.MethodDeclaration;
+import com.github.jonathanxd.kores.common.VariableRef;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.koresproxy.gen.CustomHandlerGenerator;
+import com.github.jonathanxd.koresproxy.gen.DirectInvocationCustom;
+import com.github.jonathanxd.koresproxy.gen.GenEnv;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Delegates invocations of routed methods directly to the functional object of the route.
+ *
+ * Each route is stored in a field typed to the functional interface implemented by the route (or
+ * to {@link java.lang.invoke.MethodHandle}), and invoked through the functional method of the
+ * interface, without going through the {@link com.github.jonathanxd.koresproxy.handler.InvocationHandler}.
+ * Methods without a route uses the default behavior.
+ *
+ * The functional method of a route must receive the same amount of arguments as the routed
+ * method, or one more argument, in this case the proxy instance is passed as first argument.
+ *
+ * Two route tables with same routed methods and same functional interfaces (or method handle
+ * types) are equal, this means that the same proxy class is reused for different route instances.
+ *
+ * @see com.github.jonathanxd.koresproxy.Routes
+ */
+public class DirectToRoute implements DirectInvocationCustom {
+
+    /**
+     * Routed methods.
+     */
+    private final List<Method> methods;
+
+    /**
+     * Functional objects of the routes, the route at position {@code i} handles method at position
+     * {@code i} of {@link #methods}.
+     */
+    private final List<Object> routes;
+
+    /**
+     * Functional interfaces of the routes.
+     */
+    private final List<Class<?>> routeTypes;
+
+    /**
+     * Shapes of the routes.
+     */
+    private final List<Object> routeShapes;
+
+    private final Gen gen = new Gen();
+
+    /**
+     * Creates route table direct invocation.
+     *
+     * @param methods Routed methods.
+     * @param routes  Functional objects to delegate invocations of methods at same position in
+     *                {@code methods}.
+     */
+    public DirectToRoute(List<Method> methods, List<Object> routes) {
+        if (methods.size() != routes.size())
+            throw new IllegalArgumentException("Methods size (" + methods.size() + ") does not match routes size (" + routes.size() + ").");
+
+        List<Class<?>> routeTypes = new ArrayList<>(routes.size());
+        List<Object> routeShapes = new ArrayList<>(routes.size());
+
+        for (int i = 0; i < methods.size(); i++) {
+            Class<?> routeType = DirectToRoute.resolveRouteType(methods.get(i), routes.get(i));
+
+            routeTypes.add(routeType);
+            routeShapes.add(Functionals.shapeOf(routeType, routes.get(i)));
+        }
+
+        this.methods = Collections.unmodifiableList(new ArrayList<>(methods));
+        this.routes = Collections.unmodifiableList(new ArrayList<>(routes));
+        this.routeTypes = Collections.unmodifiableList(routeTypes);
+        this.routeShapes = Collections.unmodifiableList(routeShapes);
+    }
+
+    /**
+     * Checks whether {@code route} can be used as route of {@code method}.
+     *
+     * @param method Method to route.
+     * @param route  Functional object to delegate invocations.
+     * @throws IllegalArgumentException If {@code route} is not a functional object, or if it
+     *                                  cannot be invoked with the arguments of {@code method} or
+     *                                  its return value cannot be returned by {@code method}.
+     * @since 2.6.1
+     */
+    public static void checkRoute(Method method, Object route) {
+        DirectToRoute.resolveRouteType(method, route);
+    }
+
+    private static Class<?> resolveRouteType(Method method, Object route) {
+        Objects.requireNonNull(route, "Route of method '" + method + "' cannot be null!");
+
+        Class<?> routeType = Functionals.resolveType(route);
+        Functionals.checkCompatible(method, routeType, route);
+
+        return routeType;
+    }
+
+    /**
+     * Gets routed methods.
+     *
+     * @return Routed methods.
+     */
+    public List<Method> getMethods() {
+        return this.methods;
+    }
+
+    /**
+     * Gets functional objects of the routes.
+     *
+     * @return Functional objects of the routes.
+     */
+    public List<Object> getRoutes() {
+        return this.routes;
+    }
+
+    /**
+     * Gets functional interfaces of the routes ({@link java.lang.invoke.MethodHandle} for method
+     * handle routes).
+     *
+     * @return Functional interfaces of the routes.
+     */
+    public List<Class<?>> getRouteTypes() {
+        return this.routeTypes;
+    }
+
+    /**
+     * Gets the position of the route of {@code m}.
+     *
+     * @param m Method to find route.
+     * @return Position of the route of {@code m}, or {@code -1} if {@code m} is not routed.
+     */
+    public int getRouteIndex(Method m) {
+        for (int i = 0; i < this.methods.size(); i++) {
+            Method method = this.methods.get(i);
+
+            if (method.getName().equals(m.getName())
+                    && Arrays.equals(method.getParameterTypes(), m.getParameterTypes()))
+                return i;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public List<Property> getAdditionalProperties() {
+        List<Property> properties = new ArrayList<>(this.routeTypes.size());
+
+        for (int i = 0; i < this.routeTypes.size(); i++) {
+            properties.add(new Property(new VariableRef(this.routeTypes.get(i), "route$" + i), null));
+        }
+
+        return properties;
+    }
+
+    @Override
+    public List<Object> getValueForConstructorProperties() {
+        return this.getRoutes();
+    }
+
+    @Override
+    public boolean generateSpecCache(Method m) {
+        return this.getRouteIndex(m) == -1;
+    }
+
+    @Override
+    public List<CustomHandlerGenerator> getCustomHandlerGenerators() {
+        return Collections.singletonList(this.gen);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getMethods(), this.routeShapes);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof DirectToRoute))
+            return super.equals(obj);
+
+        return Objects.equals(this.getMethods(), ((DirectToRoute) obj).getMethods())
+                && Objects.equals(this.routeShapes, ((DirectToRoute) obj).routeShapes);
+    }
+
+    public class Gen implements CustomHandlerGenerator {
+
+        @NotNull
+        @Override
+        public Instructions handle(@NotNull Method target, @NotNull MethodDeclaration methodDeclaration, @NotNull GenEnv env) {
+            int i = DirectToRoute.this.getRouteIndex(target);
+
+            if (i == -1)
+                return Instructions.empty();
+
+            Class<?> routeType = DirectToRoute.this.getRouteTypes().get(i);
+            Property property = DirectToRoute.this.getAdditionalProperties().get(i);
+
+            env.setMayProceed(false);
+            env.setInvokeHandler(false);
+
+            return Functionals.invoke(target,
+                    methodDeclaration,
+                    routeType,
+                    DirectToRoute.this.getRoutes().get(i),
+                    Factories.accessThisField(routeType, property.getFieldName()));
+        }
+    }
+}
@@ -28,19 +28,24 @@
 package com.github.jonathanxd.koresproxy.gen.direct;
 
 import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.MutableInstructions;
 import com.github.jonathanxd.kores.factory.Factories;
 import com.github.jonathanxd.kores.factory.InvocationFactory;
+import com.github.jonathanxd.iutils.collection.Collections3;
 import com.github.jonathanxd.iutils.function.Predicates;
 import com.github.jonathanxd.iutils.object.Lazy;
 
 import java.lang.reflect.Method;
 import java.util.Collections;
+import java.util.List;
 import java.util.function.Predicate;
 
 /**
  * Delegates to {@link Lazy lazy evaluated instance}.
  *
  * Uses a dynamic bootstrap to resolve the type of {@link Lazy lazy evaluated instance}.
+ *
+ * Supports the same {@link #isSelfReplacing() self replacing} mode of {@link LazyInstance}.
  */
 public class DynamicLazyInstance extends DynamicWrappedInstance {
 
@@ -49,6 +54,11 @@ public class DynamicLazyInstance extends DynamicWrappedInstance {
      */
     private final Lazy<?> targetLazy;
 
+    /**
+     * Whether the evaluated instance replaces the {@link Lazy} in proxy method invocations.
+     */
+    private final boolean selfReplacing;
+
     /**
      * Creates lazy instance direct invocation.
      *
@@ -58,8 +68,25 @@ public class DynamicLazyInstance extends DynamicWrappedInstance {
      */
     public DynamicLazyInstance(Lazy<?> targetLazy,
                                Predicate<Method> delegatePredicate) {
+        this(targetLazy, delegatePredicate, false);
+    }
+
+    /**
+     * Creates lazy instance direct invocation.
+     *
+     * @param targetLazy        Lazy instance.
+     * @param delegatePredicate Predicate that returns whether {@link Method} should be delegated to
+     *                          {@code targetLazy}.
+     * @param selfReplacing     Whether the evaluated instance replaces the {@link Lazy} in proxy
+     *                          method invocations after first evaluation.
+     * @since 2.6.1
+     */
+    public DynamicLazyInstance(Lazy<?> targetLazy,
+                               Predicate<Method> delegatePredicate,
+                               boolean selfReplacing) {
         super(delegatePredicate);
         this.targetLazy = targetLazy;
+        this.selfReplacing = selfReplacing;
     }
 
     /**
@@ -73,6 +100,37 @@ public class DynamicLazyInstance extends DynamicWrappedInstance {
         this(targetLazy, Predicates.acceptAll());
     }
 
+    /**
+     * Returns whether the evaluated instance replaces the {@link Lazy} in proxy method invocations
+     * after first evaluation.
+     *
+     * @return Whether the evaluated instance replaces the {@link Lazy} in proxy method invocations
+     * after first evaluation.
+     * @since 2.6.1
+     */
+    public boolean isSelfReplacing() {
+        return this.selfReplacing;
+    }
+
+    @Override
+    public List<Property> getAdditionalProperties() {
+        if (!this.isSelfReplacing())
+            return super.getAdditionalProperties();
+
+        return Collections3.listOf(
+                super.getAdditionalProperties().get(0),
+                LazyInstance.resolvedProperty()
+        );
+    }
+
+    @Override
+    protected Instruction resolve(Instruction wrapper, MutableInstructions source) {
+        if (!this.isSelfReplacing())
+            return super.resolve(wrapper, source);
+
+        return LazyInstance.resolveOnce(this.evaluate(wrapper), source);
+    }
+
     @Override
     protected Instruction evaluate(Instruction lazy) {
         return InvocationFactory.invokeVirtual(Lazy.class,
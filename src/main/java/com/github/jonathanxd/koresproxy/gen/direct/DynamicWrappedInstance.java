@@ -29,6 +29,7 @@ package com.github.jonathanxd.koresproxy.gen.direct;
 
 import com.github.jonathanxd.kores.Instruction;
 import com.github.jonathanxd.kores.Instructions;
+import com.github.jonathanxd.kores.MutableInstructions;
 import com.github.jonathanxd.kores.base.MethodDeclaration;
 import com.github.jonathanxd.kores.common.DynamicMethodSpec;
 import com.github.jonathanxd.kores.common.VariableRef;
@@ -118,10 +119,12 @@ public abstract class DynamicWrappedInstance extends SimpleWrappedInstance {
             env.setMayProceed(false);
             env.setInvokeHandler(false);
 
-            Instruction evaluate = DynamicWrappedInstance.this.evaluate(Factories.accessThisField(fprop1.getType(),
-                    Util.getAdditionalPropertyFieldName(fprop1)));
+            MutableInstructions source = MutableInstructions.create();
 
-            return Instructions.fromPart(Factories.returnValue(target.getReturnType(), DynamicInvocationFactory.invokeDynamic(
+            Instruction evaluate = DynamicWrappedInstance.this.resolve(Factories.accessThisField(fprop1.getType(),
+                    Util.getAdditionalPropertyFieldName(fprop1)), source);
+
+            source.add(Factories.returnValue(target.getReturnType(), DynamicInvocationFactory.invokeDynamic(
                     ProxyBootstrap.BOOTSTRAP_IVK_SPEC,
                     new DynamicMethodSpec(
                             target.getName(),
@@ -132,6 +135,8 @@ public abstract class DynamicWrappedInstance extends SimpleWrappedInstance {
                     ),
                     Collections.emptyList()
             )));
+
+            return source;
         }
     }
 }
\ No newline at end of file
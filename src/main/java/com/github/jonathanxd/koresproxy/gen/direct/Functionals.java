@@ -0,0 +1,299 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.gen.direct;
+
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.Instructions;
+import com.github.jonathanxd.kores.base.Access;
+import com.github.jonathanxd.kores.base.Alias;
+import com.github.jonathanxd.kores.base.MethodDeclaration;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.factory.InvocationFactory;
+import com.github.jonathanxd.kores.util.conversion.ConversionsKt;
+import com.github.jonathanxd.koresproxy.internals.Util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Generates direct invocations of functional objects: instances of functional interfaces (JDK or
+ * user defined) are invoked through their functional method, and {@link MethodHandle method
+ * handles} are invoked through {@link MethodHandle#invokeExact(Object...)} (when the handle type
+ * matches the proxy method) or {@link MethodHandle#invoke(Object...)}. Arguments are passed
+ * without array and without boxing when the types match.
+ *
+ * A functional object may receive the same amount of arguments as the proxy method, or one more
+ * argument, in this case the proxy instance is passed as first argument.
+ */
+final class Functionals {
+
+    private Functionals() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Resolves the type of the field which holds {@code function}.
+     *
+     * @param function Functional object.
+     * @return {@link MethodHandle} class if {@code function} is a method handle, or the functional
+     * interface implemented by {@code function}.
+     * @throws IllegalArgumentException If {@code function} is neither a {@link MethodHandle} nor
+     *                                  an instance of a public functional interface.
+     */
+    static Class<?> resolveType(Object function) {
+        Objects.requireNonNull(function, "Functional object cannot be null!");
+
+        if (function instanceof MethodHandle)
+            return MethodHandle.class;
+
+        Class<?> type = Util.getFunctionalInterface(function.getClass());
+
+        if (type == null)
+            throw new IllegalArgumentException("'" + function + "' is not a MethodHandle and does not implement a public functional interface.");
+
+        return type;
+    }
+
+    /**
+     * Gets the shape of {@code function}, two functional objects with same shape generates the
+     * same invocation code. The shape is the {@link MethodType} of method handles, or the
+     * functional interface of other functional objects.
+     *
+     * @param type     Type resolved by {@link #resolveType(Object)}.
+     * @param function Functional object.
+     * @return Shape of {@code function}.
+     */
+    static Object shapeOf(Class<?> type, Object function) {
+        return type == MethodHandle.class ? ((MethodHandle) function).type() : type;
+    }
+
+    /**
+     * Checks whether {@code function} can be invoked with arguments of {@code method}.
+     *
+     * @param method   Proxy method.
+     * @param type     Type resolved by {@link #resolveType(Object)}.
+     * @param function Functional object.
+     * @return True if the proxy instance must be passed as first argument.
+     * @throws IllegalArgumentException If {@code function} does not receive the same amount of
+     *                                  arguments of {@code method} (or one more), if a parameter of
+     *                                  {@code method} cannot be converted to the respective
+     *                                  parameter of {@code function}, or if the value returned by
+     *                                  {@code function} cannot be converted to the return type of
+     *                                  {@code method}.
+     */
+    static boolean checkCompatible(Method method, Class<?> type, Object function) {
+        Class<?>[] parameterTypes;
+        Class<?> returnType;
+
+        if (type == MethodHandle.class) {
+            MethodType handleType = ((MethodHandle) function).type();
+            parameterTypes = handleType.parameterArray();
+            returnType = handleType.returnType();
+        } else {
+            Method functional = Util.getFunctionalMethod(type);
+            parameterTypes = functional.getParameterTypes();
+            returnType = functional.getReturnType();
+        }
+
+        int count = parameterTypes.length;
+
+        if (count != method.getParameterCount() && count != method.getParameterCount() + 1)
+            throw new IllegalArgumentException("Functional object '" + function + "' of method '" + method + "' must receive "
+                    + method.getParameterCount() + " or " + (method.getParameterCount() + 1) + " arguments.");
+
+        boolean withInstance = count != method.getParameterCount();
+        int offset = withInstance ? 1 : 0;
+
+        if (withInstance && parameterTypes[0].isPrimitive())
+            throw new IllegalArgumentException("Functional object '" + function + "' of method '" + method + "' must receive the "
+                    + "proxy instance as first argument, but it receives '" + parameterTypes[0] + "'.");
+
+        Class<?>[] methodParameterTypes = method.getParameterTypes();
+
+        for (int i = 0; i < methodParameterTypes.length; i++) {
+            if (!Functionals.isConvertible(methodParameterTypes[i], parameterTypes[i + offset]))
+                throw new IllegalArgumentException("Functional object '" + function + "' of method '" + method + "' receives '"
+                        + parameterTypes[i + offset] + "' at position " + (i + offset) + ", which is not compatible with parameter '"
+                        + methodParameterTypes[i] + "'.");
+        }
+
+        if (method.getReturnType() != Void.TYPE) {
+            if (returnType == Void.TYPE)
+                throw new IllegalArgumentException("Functional object '" + function + "' of method '" + method + "' must return a value.");
+
+            if (!Functionals.isConvertible(returnType, method.getReturnType()))
+                throw new IllegalArgumentException("Functional object '" + function + "' of method '" + method + "' returns '"
+                        + returnType + "', which is not compatible with return type '" + method.getReturnType() + "'.");
+        }
+
+        return withInstance;
+    }
+
+    /**
+     * Returns whether a value of type {@code from} can be cast to {@code to} by generated code:
+     * identity, primitive widening, boxing to a supertype of the wrapper, unboxing from a supertype
+     * of the wrapper, and reference casts between related types (or to/from interfaces).
+     *
+     * @param from Type of value.
+     * @param to   Target type.
+     * @return Whether a value of type {@code from} can be cast to {@code to}.
+     */
+    static boolean isConvertible(Class<?> from, Class<?> to) {
+        if (from == to)
+            return true;
+
+        if (from.isPrimitive() && to.isPrimitive())
+            return Functionals.isWidening(from, to);
+
+        if (from.isPrimitive())
+            return from != Void.TYPE && to.isAssignableFrom(Functionals.box(from));
+
+        if (to.isPrimitive())
+            return to != Void.TYPE && from.isAssignableFrom(Functionals.box(to));
+
+        return to.isAssignableFrom(from) || from.isAssignableFrom(to) || to.isInterface() || from.isInterface();
+    }
+
+    private static boolean isWidening(Class<?> from, Class<?> to) {
+        String widening;
+
+        if (from == Byte.TYPE)
+            widening = "short int long float double";
+        else if (from == Short.TYPE || from == Character.TYPE)
+            widening = "int long float double";
+        else if (from == Integer.TYPE)
+            widening = "long float double";
+        else if (from == Long.TYPE)
+            widening = "float double";
+        else if (from == Float.TYPE)
+            widening = "double";
+        else
+            return false;
+
+        return Arrays.asList(widening.split(" ")).contains(to.getName());
+    }
+
+    private static Class<?> box(Class<?> primitive) {
+        return MethodType.methodType(primitive).wrap().returnType();
+    }
+
+    /**
+     * Gets the type used to invoke method handles from {@code method}.
+     *
+     * @param method       Proxy method.
+     * @param withInstance Whether the proxy instance is passed as first argument.
+     * @return Type used to invoke method handles from {@code method}.
+     */
+    static MethodType callType(Method method, boolean withInstance) {
+        MethodType type = MethodType.methodType(method.getReturnType(), method.getParameterTypes());
+
+        return withInstance ? type.insertParameterTypes(0, Object.class) : type;
+    }
+
+    /**
+     * Generates the invocation of {@code function} with arguments of {@code methodDeclaration} and
+     * the return of the result.
+     *
+     * @param target            Proxy method.
+     * @param methodDeclaration Declaration of proxy method.
+     * @param type              Type resolved by {@link #resolveType(Object)}.
+     * @param function          Functional object.
+     * @param receiver          Access to the field which holds {@code function}.
+     * @return Instructions which invokes {@code function} and returns the result.
+     */
+    static Instructions invoke(Method target,
+                               MethodDeclaration methodDeclaration,
+                               Class<?> type,
+                               Object function,
+                               Instruction receiver) {
+        boolean withInstance = Functionals.checkCompatible(target, type, function);
+        List<Instruction> parameters = ConversionsKt.getAccess(methodDeclaration.getParameters());
+        Class<?>[] parameterTypes = target.getParameterTypes();
+        List<Instruction> arguments = new ArrayList<>(parameterTypes.length + 1);
+
+        Class<?>[] callTypes;
+        Class<?> callReturnType;
+        Instruction invocation;
+
+        if (type == MethodHandle.class) {
+            MethodType callType = Functionals.callType(target, withInstance);
+            callTypes = callType.parameterArray();
+            callReturnType = callType.returnType();
+
+            if (withInstance)
+                arguments.add(Access.THIS);
+
+            arguments.addAll(parameters);
+
+            invocation = InvocationFactory.invokeVirtual(MethodHandle.class,
+                    receiver,
+                    ((MethodHandle) function).type().equals(callType) ? "invokeExact" : "invoke",
+                    Factories.typeSpec(callReturnType, callTypes),
+                    arguments);
+        } else {
+            Method functional = Util.getFunctionalMethod(type);
+            callTypes = functional.getParameterTypes();
+            callReturnType = functional.getReturnType();
+            int offset = withInstance ? 1 : 0;
+
+            if (withInstance) {
+                arguments.add(callTypes[0] == Object.class
+                        ? Access.THIS
+                        : Factories.cast(Alias.THIS.INSTANCE, callTypes[0], Access.THIS));
+            }
+
+            for (int i = 0; i < parameterTypes.length; i++) {
+                Instruction access = parameters.get(i);
+
+                if (parameterTypes[i] != callTypes[i + offset])
+                    access = Factories.cast(parameterTypes[i], callTypes[i + offset], access);
+
+                arguments.add(access);
+            }
+
+            invocation = InvocationFactory.invokeInterface(type,
+                    receiver,
+                    functional.getName(),
+                    Factories.typeSpec(callReturnType, callTypes),
+                    arguments);
+        }
+
+        if (target.getReturnType() == Void.TYPE)
+            return Instructions.fromVarArgs(invocation, Factories.returnVoid());
+
+        if (callReturnType != target.getReturnType())
+            invocation = Factories.cast(callReturnType, target.getReturnType(), invocation);
+
+        return Instructions.fromPart(Factories.returnValue(target.getReturnType(), invocation));
+    }
+}
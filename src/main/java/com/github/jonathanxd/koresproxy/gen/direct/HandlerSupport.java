@@ -0,0 +1,107 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.gen.direct;
+
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.Types;
+import com.github.jonathanxd.kores.base.KoresParameter;
+import com.github.jonathanxd.kores.base.MethodDeclaration;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.literal.Literals;
+import com.github.jonathanxd.kores.util.conversion.ConversionsKt;
+import com.github.jonathanxd.koresproxy.gen.GenEnv;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pieces shared by handler generators which hand the invocation to a runtime object with the
+ * {@link com.github.jonathanxd.koresproxy.info.MethodInfo} and the arguments array of the proxy
+ * method.
+ */
+final class HandlerSupport {
+
+    private HandlerSupport() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns whether the proxy method has a cached {@link com.github.jonathanxd.koresproxy.info.MethodInfo}
+     * constant, which is required to hand the invocation to a runtime object.
+     *
+     * @param env Generation environment.
+     * @return Whether the proxy method has a cached {@code MethodInfo} constant.
+     */
+    static boolean hasMethodInfo(GenEnv env) {
+        return !env.getCacheField().getValue().equals(Literals.NULL);
+    }
+
+    /**
+     * Gets the accesses to parameters of {@code methodDeclaration}, boxed to {@link Object}.
+     *
+     * @param methodDeclaration Proxy method declaration.
+     * @return Accesses to parameters boxed to {@link Object}.
+     */
+    static List<Instruction> boxedArguments(MethodDeclaration methodDeclaration) {
+        List<KoresParameter> parameters = methodDeclaration.getParameters();
+        List<Instruction> arguments = new ArrayList<>(parameters.size());
+
+        for (KoresParameter parameter : parameters) {
+            arguments.add(Factories.cast(parameter.getType(), Types.OBJECT, ConversionsKt.toVariableAccess(parameter)));
+        }
+
+        return arguments;
+    }
+
+    /**
+     * Creates the arguments array of {@code methodDeclaration}.
+     *
+     * @param methodDeclaration Proxy method declaration.
+     * @return Arguments array, shared empty array if the method has no parameters.
+     */
+    static Instruction argumentsArray(MethodDeclaration methodDeclaration) {
+        return HandlerSupport.argumentsArray(HandlerSupport.boxedArguments(methodDeclaration));
+    }
+
+    /**
+     * Creates an arguments array with {@code boxedArguments}.
+     *
+     * @param boxedArguments Arguments {@link #boxedArguments(MethodDeclaration) boxed} to {@link
+     *                       Object}.
+     * @return Arguments array, shared empty array if there are no arguments.
+     */
+    static Instruction argumentsArray(List<Instruction> boxedArguments) {
+        if (boxedArguments.isEmpty())
+            return Factories.accessStaticField(DirectToFunction.class, Object[].class, "EMPTY_ARRAY");
+
+        return Factories.createArray(Object[].class,
+                Collections.singletonList(Literals.INT(boxedArguments.size())),
+                boxedArguments);
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.gen.direct;
+
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.Instructions;
+import com.github.jonathanxd.kores.Types;
+import com.github.jonathanxd.kores.base.Access;
+import com.github.jonathanxd.kores.base.FieldDeclaration;
+import com.github.jonathanxd.kores.base.InvokeType;
+import com.github.jonathanxd.kores.base.KoresModifier;
+import com.github.jonathanxd.kores.base.KoresParameter;
+import com.github.jonathanxd.kores.base.MethodDeclaration;
+import com.github.jonathanxd.kores.base.VariableDeclaration;
+import com.github.jonathanxd.kores.common.VariableRef;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.factory.InvocationFactory;
+import com.github.jonathanxd.kores.factory.VariableFactory;
+import com.github.jonathanxd.kores.literal.Literals;
+import com.github.jonathanxd.kores.type.ImplicitKoresType;
+import com.github.jonathanxd.kores.util.conversion.ConversionsKt;
+import com.github.jonathanxd.koresproxy.ProxyData;
+import com.github.jonathanxd.koresproxy.gen.CustomHandlerGenerator;
+import com.github.jonathanxd.koresproxy.gen.DirectInvocationCustom;
+import com.github.jonathanxd.koresproxy.gen.GenEnv;
+import com.github.jonathanxd.koresproxy.handler.Interceptor;
+import com.github.jonathanxd.koresproxy.handler.Invocation;
+import com.github.jonathanxd.koresproxy.handler.InvocationHandler;
+import com.github.jonathanxd.koresproxy.info.MethodInfo;
+import com.github.jonathanxd.iutils.collection.Collections3;
+import com.github.jonathanxd.iutils.exception.RethrowException;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Compiles an ordered chain of {@link Interceptor interceptors} into proxy methods.
+ *
+ * Each interceptor is stored in its own final field of the proxy and every position of the chain
+ * of an intercepted method is compiled to a method of the proxy class, so each interceptor is
+ * invoked from its own call site. The proxy method invokes the first interceptor directly, and
+ * {@link Invocation#proceed()} reaches the next position through a {@link Invocation.Continuation
+ * continuation} stored in a {@code static final} field of the proxy class (created once, when the
+ * proxy class is initialized). The {@link Invocation} context and the argument array are the only
+ * allocations per invocation, and both can be eliminated by the JIT when the chain is inlined.
+ *
+ * The end of the chain is compiled to an {@code invokespecial} of the super implementation of the
+ * method if the method is not abstract and {@link #isProceedToSuper()} is {@code true}, otherwise
+ * to a direct invocation of the {@link InvocationHandler} of the proxy.
+ *
+ * Two chains with same method filter, same terminal mode and same amount of interceptors are
+ * equal, this means that the same proxy class is reused for different interceptor instances.
+ */
+public class InterceptorChain implements DirectInvocationCustom {
+
+    /**
+     * Filter which accepts all methods.
+     */
+    public static final Predicate<Method> ALL = m -> true;
+
+    private static final MethodType CONTINUATION_TYPE =
+            MethodType.methodType(Object.class, Object.class, Invocation.class);
+
+    /**
+     * Interceptors in invocation order.
+     */
+    private final Interceptor[] interceptors;
+
+    /**
+     * Filter of methods to intercept.
+     */
+    private final Predicate<Method> filter;
+
+    /**
+     * Whether the end of the chain invokes super implementation when available.
+     */
+    private final boolean proceedToSuper;
+
+    /**
+     * Properties which holds the interceptors, one per position.
+     */
+    private final List<Property> properties;
+
+    private final Gen gen = new Gen();
+
+    /**
+     * Creates a chain which intercepts all methods and proceeds to super implementation when
+     * available.
+     *
+     * @param interceptors Interceptors in invocation order.
+     * @throws IllegalArgumentException If {@code interceptors} is empty.
+     */
+    public InterceptorChain(List<Interceptor> interceptors) {
+        this(interceptors, ALL, true);
+    }
+
+    /**
+     * Creates a chain.
+     *
+     * @param interceptors   Interceptors in invocation order.
+     * @param filter         Filter of methods to intercept.
+     * @param proceedToSuper Whether the end of the chain invokes super implementation when
+     *                       available, instead of {@link InvocationHandler}.
+     * @throws IllegalArgumentException If {@code interceptors} is empty.
+     */
+    public InterceptorChain(List<Interceptor> interceptors,
+                            Predicate<Method> filter,
+                            boolean proceedToSuper) {
+        if (interceptors.isEmpty())
+            throw new IllegalArgumentException("At least one interceptor is required!");
+
+        this.interceptors = interceptors.toArray(new Interceptor[interceptors.size()]);
+        this.filter = Objects.requireNonNull(filter);
+        this.proceedToSuper = proceedToSuper;
+        this.properties = new ArrayList<>(this.interceptors.length);
+
+        for (int i = 0; i < this.interceptors.length; i++) {
+            Objects.requireNonNull(this.interceptors[i], "Interceptor cannot be null!");
+            this.properties.add(new Property(new VariableRef(Interceptor.class, "interceptor$" + i), null));
+        }
+    }
+
+    /**
+     * Creates the continuation of a position of a chain, which invokes the private chain method
+     * {@code name} of the proxy class. This method is called by the static initializer of proxy
+     * classes.
+     *
+     * @param lookup Lookup of the proxy class, with private access.
+     * @param name   Name of the chain method.
+     * @return Continuation which invokes the chain method.
+     */
+    public static Invocation.Continuation continuation(MethodHandles.Lookup lookup, String name) {
+        try {
+            MethodHandle target = lookup.findVirtual(lookup.lookupClass(), name,
+                    MethodType.methodType(Object.class, Invocation.class));
+
+            return (Invocation.Continuation) LambdaMetafactory.metafactory(lookup,
+                    "proceed",
+                    MethodType.methodType(Invocation.Continuation.class),
+                    CONTINUATION_TYPE,
+                    target,
+                    target.type())
+                    .getTarget()
+                    .invokeExact();
+        } catch (Throwable t) {
+            throw RethrowException.rethrow(t);
+        }
+    }
+
+    /**
+     * Gets the interceptors in invocation order.
+     *
+     * @return Interceptors in invocation order.
+     */
+    public List<Interceptor> getInterceptors() {
+        return Collections.unmodifiableList(Arrays.asList(this.interceptors));
+    }
+
+    /**
+     * Gets the filter of methods to intercept.
+     *
+     * @return Filter of methods to intercept.
+     */
+    public Predicate<Method> getFilter() {
+        return this.filter;
+    }
+
+    /**
+     * Returns whether the end of the chain invokes super implementation when available.
+     *
+     * @return Whether the end of the chain invokes super implementation when available.
+     */
+    public boolean isProceedToSuper() {
+        return this.proceedToSuper;
+    }
+
+    @Override
+    public List<Property> getAdditionalProperties() {
+        return Collections.unmodifiableList(this.properties);
+    }
+
+    @Override
+    public List<Object> getValueForConstructorProperties() {
+        return Arrays.asList((Object[]) this.interceptors.clone());
+    }
+
+    @Override
+    public List<CustomHandlerGenerator> getCustomHandlerGenerators() {
+        return Collections.singletonList(this.gen);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getFilter(), this.isProceedToSuper(), this.interceptors.length);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof InterceptorChain))
+            return super.equals(obj);
+
+        InterceptorChain other = (InterceptorChain) obj;
+
+        return Objects.equals(this.getFilter(), other.getFilter())
+                && this.isProceedToSuper() == other.isProceedToSuper()
+                && this.interceptors.length == other.interceptors.length;
+    }
+
+    public class Gen implements CustomHandlerGenerator {
+
+        @NotNull
+        @Override
+        public Instructions handle(@NotNull Method target, @NotNull MethodDeclaration methodDeclaration, @NotNull GenEnv env) {
+            if (!InterceptorChain.this.getFilter().test(target)
+                    || !HandlerSupport.hasMethodInfo(env))
+                return Instructions.empty();
+
+            int size = InterceptorChain.this.interceptors.length;
+            String prefix = env.getMethodInfoAccess().getName() + "$Chain$";
+
+            // Continuations of positions 1..size, position 0 is invoked by the proxy method.
+            for (int position = 1; position <= size; position++) {
+                env.addField(FieldDeclaration.Builder.builder()
+                        .modifiers(KoresModifier.PRIVATE, KoresModifier.STATIC, KoresModifier.FINAL)
+                        .type(Invocation.Continuation.class)
+                        .name(prefix + position)
+                        .value(InvocationFactory.invokeStatic(InterceptorChain.class,
+                                "continuation",
+                                Factories.typeSpec(Invocation.Continuation.class, MethodHandles.Lookup.class, String.class),
+                                Collections3.listOf(env.getLookupAccess(), Literals.STRING(prefix + position))))
+                        .build());
+
+                KoresParameter parameter = Factories.parameter(Invocation.class, "invocation");
+
+                Instructions body = position == size
+                        ? this.terminal(target, methodDeclaration, env, ConversionsKt.toVariableAccess(parameter))
+                        : Instructions.fromPart(Factories.returnValue(Object.class,
+                        this.intercept(position, InvocationFactory.invokeVirtual(Invocation.class,
+                                ConversionsKt.toVariableAccess(parameter),
+                                "enter",
+                                Factories.typeSpec(Invocation.class, Integer.TYPE, Invocation.Continuation.class),
+                                Collections3.listOf(Literals.INT(position), this.next(prefix, position))))));
+
+                env.addMethod(MethodDeclaration.Builder.builder()
+                        .modifiers(KoresModifier.PRIVATE, KoresModifier.SYNTHETIC)
+                        .name(prefix + position)
+                        .returnType(Object.class)
+                        .parameters(Collections.singletonList(parameter))
+                        .body(body)
+                        .build());
+            }
+
+            List<KoresParameter> parameters = methodDeclaration.getParameters();
+            Instruction arguments = HandlerSupport.argumentsArray(methodDeclaration);
+
+            Instruction invocation = InvocationFactory.invokeConstructor(Invocation.class,
+                    Factories.constructorTypeSpec(Object.class, MethodInfo.class, Object[].class,
+                            ProxyData.class, Invocation.Continuation.class),
+                    Collections3.listOf(
+                            Access.THIS,
+                            env.getMethodInfoAccess(),
+                            arguments,
+                            env.getProxyDataAccess(),
+                            this.next(prefix, 0)
+                    ));
+
+            Instruction invoke = this.intercept(0, invocation);
+
+            env.setMayProceed(false);
+            env.setInvokeHandler(false);
+
+            if (target.getReturnType() == Void.TYPE)
+                return Instructions.fromVarArgs(invoke, Factories.returnVoid());
+
+            return Instructions.fromPart(Factories.returnValue(target.getReturnType(),
+                    Factories.cast(Object.class, target.getReturnType(), invoke)));
+        }
+
+        /**
+         * Access to continuation of position after {@code position}.
+         */
+        private Instruction next(String prefix, int position) {
+            return Factories.accessStaticField(Invocation.Continuation.class, prefix + (position + 1));
+        }
+
+        /**
+         * Invocation of interceptor of {@code position}.
+         */
+        private Instruction intercept(int position, Instruction invocation) {
+            return InvocationFactory.invokeInterface(Interceptor.class,
+                    InterceptorChain.this.properties.get(position).getAccess(),
+                    "intercept",
+                    Factories.typeSpec(Object.class, Invocation.class),
+                    Collections.singletonList(invocation));
+        }
+
+        /**
+         * End of the chain, invokes super implementation or the invocation handler.
+         */
+        private Instructions terminal(Method target, MethodDeclaration methodDeclaration, GenEnv env, Instruction invocation) {
+            VariableDeclaration arguments = VariableFactory.variable(Object[].class, "arguments",
+                    InvocationFactory.invokeVirtual(Invocation.class, invocation, "getArguments",
+                            Factories.typeSpec(Object[].class), Collections.emptyList()));
+
+            Class<?> owner = null;
+
+            if (InterceptorChain.this.isProceedToSuper() && !Modifier.isAbstract(target.getModifiers())) {
+                if (!target.getDeclaringClass().isInterface()) {
+                    owner = env.getProxyData().getSuperClass();
+                } else {
+                    for (Class<?> itf : env.getProxyData().getInterfaceList()) {
+                        if (target.getDeclaringClass().isAssignableFrom(itf)) {
+                            owner = itf;
+                            break;
+                        }
+                    }
+                }
+            }
+
+            Instruction result;
+
+            if (owner != null) {
+                List<KoresParameter> parameters = methodDeclaration.getParameters();
+                List<Instruction> castArguments = new ArrayList<>(parameters.size());
+
+                for (int i = 0; i < parameters.size(); i++) {
+                    castArguments.add(Factories.cast(Types.OBJECT, parameters.get(i).getType(),
+                            Factories.accessArrayValue(Object[].class, Factories.accessVariable(arguments),
+                                    Literals.INT(i), Types.OBJECT)));
+                }
+
+                Instruction invokeSuper = InvocationFactory.invokeSpecial(owner, Access.SUPER, target.getName(),
+                        methodDeclaration.getTypeSpec(), castArguments);
+
+                if (target.getReturnType() == Void.TYPE)
+                    return Instructions.fromVarArgs(arguments, invokeSuper, Factories.returnValue(Object.class, Literals.NULL));
+
+                result = Factories.cast(target.getReturnType(), Types.OBJECT, invokeSuper);
+            } else if (InterceptorChain.this.isProceedToSuper() && !Modifier.isAbstract(target.getModifiers())) {
+                // Default method only inherited through super class, invokespecial cannot reach it
+                result = InvocationFactory.invokeVirtual(MethodInfo.class, env.getMethodInfoAccess(), "invokeSuper",
+                        Factories.typeSpec(Object.class, Object.class, Object[].class),
+                        Collections3.listOf(Access.THIS, Factories.accessVariable(arguments)));
+            } else {
+                List<Instruction> handlerArguments = Collections3.listOf(
+                        Access.THIS,
+                        env.getMethodInfoAccess(),
+                        Factories.accessVariable(arguments),
+                        env.getProxyDataAccess()
+                );
+
+                result = InvocationFactory.invoke(
+                        ImplicitKoresType.isInterface(env.getInvocationHandlerAccess().getType())
+                                ? InvokeType.INVOKE_INTERFACE
+                                : InvokeType.INVOKE_VIRTUAL,
+                        env.getInvocationHandlerAccess().getType(),
+                        env.getInvocationHandlerAccess(),
+                        InvocationHandler.Info.METHOD_NAME,
+                        InvocationHandler.Info.SPEC,
+                        handlerArguments);
+            }
+
+            return Instructions.fromVarArgs(arguments, Factories.returnValue(Object.class, result));
+        }
+    }
+}
@@ -28,15 +28,28 @@
 package com.github.jonathanxd.koresproxy.gen.direct;
 
 import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.Instructions;
+import com.github.jonathanxd.kores.MutableInstructions;
+import com.github.jonathanxd.kores.base.VariableDeclaration;
+import com.github.jonathanxd.kores.common.Nothing;
+import com.github.jonathanxd.kores.common.VariableRef;
 import com.github.jonathanxd.kores.factory.Factories;
 import com.github.jonathanxd.kores.factory.InvocationFactory;
+import com.github.jonathanxd.kores.factory.VariableFactory;
+import com.github.jonathanxd.iutils.collection.Collections3;
 import com.github.jonathanxd.iutils.object.Lazy;
 
 import java.util.Collections;
+import java.util.List;
 
 /**
  * Delegates all methods that are present {@link #getTargetClass() target class} to a {@link Lazy
  * lazy evaluated instance}.
+ *
+ * In {@link #isSelfReplacing() self replacing} mode, the instance evaluated by the first delegated
+ * invocation is stored in a {@code volatile} field of the proxy, and next invocations only read
+ * this field instead of calling {@link Lazy#get()}, so after the initialization the cost of the
+ * delegation is the same as the cost of a plain field read, and no lock is acquired.
  */
 public class LazyInstance extends WrappedInstance {
 
@@ -45,6 +58,11 @@ public class LazyInstance extends WrappedInstance {
      */
     private final Lazy<?> targetLazy;
 
+    /**
+     * Whether the evaluated instance replaces the {@link Lazy} in proxy method invocations.
+     */
+    private final boolean selfReplacing;
+
     /**
      * Creates lazy instance direct invocation.
      *
@@ -53,8 +71,55 @@ public class LazyInstance extends WrappedInstance {
      */
     public LazyInstance(Lazy<?> targetLazy,
                         Class<?> targetClass) {
+        this(targetLazy, targetClass, false);
+    }
+
+    /**
+     * Creates lazy instance direct invocation.
+     *
+     * @param targetLazy    Lazy that resolves the instance to use to delegate methods.
+     * @param targetClass   Type of object that will be evaluated by {@code targetLazy}
+     * @param selfReplacing Whether the evaluated instance replaces the {@link Lazy} in proxy method
+     *                      invocations after first evaluation.
+     * @since 2.6.1
+     */
+    public LazyInstance(Lazy<?> targetLazy,
+                        Class<?> targetClass,
+                        boolean selfReplacing) {
         super(targetClass);
         this.targetLazy = targetLazy;
+        this.selfReplacing = selfReplacing;
+    }
+
+    /**
+     * Returns whether the evaluated instance replaces the {@link Lazy} in proxy method invocations
+     * after first evaluation.
+     *
+     * @return Whether the evaluated instance replaces the {@link Lazy} in proxy method invocations
+     * after first evaluation.
+     * @since 2.6.1
+     */
+    public boolean isSelfReplacing() {
+        return this.selfReplacing;
+    }
+
+    @Override
+    public List<Property> getAdditionalProperties() {
+        if (!this.isSelfReplacing())
+            return super.getAdditionalProperties();
+
+        return Collections3.listOf(
+                super.getAdditionalProperties().get(0),
+                LazyInstance.resolvedProperty()
+        );
+    }
+
+    @Override
+    protected Instruction resolve(Instruction wrapper, MutableInstructions source) {
+        if (!this.isSelfReplacing())
+            return super.resolve(wrapper, source);
+
+        return LazyInstance.resolveOnce(this.evaluate(wrapper), source);
     }
 
     @Override
@@ -75,4 +140,36 @@ public class LazyInstance extends WrappedInstance {
     protected Object getWrapper() {
         return this.targetLazy;
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates the property that holds the evaluated instance.
+     */
+    static Property resolvedProperty() {
+        return new Property(new VariableRef(Object.class, "resolved"), Nothing.INSTANCE, true);
+    }
+
+    /**
+     * Adds to {@code source} the instructions that reads the evaluated instance from {@link
+     * #resolvedProperty()}, or calls {@code evaluate} and stores the result in the property if
+     * there is no evaluated instance yet.
+     *
+     * @param evaluate Instruction which evaluates the instance.
+     * @param source   Source of proxy method.
+     * @return Access to the evaluated instance.
+     */
+    static Instruction resolveOnce(Instruction evaluate, MutableInstructions source) {
+        String resolvedName = LazyInstance.resolvedProperty().getFieldName();
+
+        VariableDeclaration resolved = VariableFactory.variable(Object.class, "resolved$l",
+                Factories.accessThisField(Object.class, resolvedName));
+
+        source.add(resolved);
+        source.add(Factories.ifStatement(Factories.checkNull(Factories.accessVariable(resolved)),
+                Instructions.fromVarArgs(
+                        Factories.setVariableValue(Object.class, resolved.getName(), evaluate),
+                        Factories.setThisFieldValue(Object.class, resolvedName, Factories.accessVariable(resolved))
+                )));
+
+        return Factories.accessVariable(resolved);
+    }
+}
@@ -0,0 +1,707 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.gen.direct;
+
+import com.github.jonathanxd.iutils.collection.Collections3;
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.Instructions;
+import com.github.jonathanxd.kores.MutableInstructions;
+import com.github.jonathanxd.kores.base.Access;
+import com.github.jonathanxd.kores.base.KoresParameter;
+import com.github.jonathanxd.kores.base.MethodDeclaration;
+import com.github.jonathanxd.kores.base.VariableDeclaration;
+import com.github.jonathanxd.kores.common.VariableRef;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.factory.InvocationFactory;
+import com.github.jonathanxd.kores.factory.VariableFactory;
+import com.github.jonathanxd.kores.operator.Operators;
+import com.github.jonathanxd.koresproxy.ProxyData;
+import com.github.jonathanxd.koresproxy.gen.CustomHandlerGenerator;
+import com.github.jonathanxd.koresproxy.gen.DirectInvocationCustom;
+import com.github.jonathanxd.koresproxy.gen.GenEnv;
+import com.github.jonathanxd.koresproxy.handler.InvocationHandler;
+import com.github.jonathanxd.koresproxy.info.MethodInfo;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Caches the values returned by the {@link InvocationHandler} for methods that matches the {@link
+ * #getFilter() filter}, by method and arguments.
+ *
+ * The generated method builds the cache key directly from its parameters (methods with up to 3
+ * parameters use fixed-size keys), and only creates the argument array when the value is not
+ * cached. The cache is bounded to {@link #getMaxSize() max size} entries, when it overflows, the
+ * oldest entry is evicted unless it was read since its last inspection, in which case its read
+ * count is halved and it is given another chance (frequency-aware second chance), so frequently
+ * read entries survive bursts of one-time calls.
+ *
+ * Entries can expire a fixed time after they were computed, and can be refreshed ahead of
+ * expiration: a read of an entry older than the refresh time returns the cached value and
+ * recomputes the value in the refresh executor (the {@link AsyncDispatch#defaultExecutor() default
+ * async executor} unless specified). Entries only hold the proxy instance weakly, values of
+ * collected proxies are not refreshed. Concurrent misses of a same key may compute the value more
+ * than once, the last computed value is kept. Exceptions thrown by the handler are not cached.
+ *
+ * The cache is owned by the custom instance and shared by all proxies created with it, so a
+ * different instance should be used for each proxy when the values depends on the proxy instance.
+ * Two instances with same filter are equal, this means that the same proxy class is reused for
+ * different caches.
+ *
+ * @since 2.6.1
+ */
+public class Memoization implements DirectInvocationCustom {
+
+    /**
+     * Value returned by {@link #lookup(Object)} when the key is not cached.
+     */
+    public static final Object MISS = new Object();
+
+    private static final int MAX_FREQUENCY = 15;
+    private static final int MAX_SECOND_CHANCES = 8;
+
+    private final Predicate<Method> filter;
+    private final int maxSize;
+    private final long expireAfterWriteNanos;
+    private final long refreshAfterWriteNanos;
+    private final Executor refreshExecutor;
+
+    private final ConcurrentHashMap<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Approximate amount of entries in {@link #order}, including removed entries which were not
+     * polled yet. When it exceeds twice the {@link #maxSize} the queue is compacted.
+     */
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReentrantLock compaction = new ReentrantLock();
+    private final Gen gen = new Gen();
+
+    /**
+     * Creates memoization without expiration.
+     *
+     * @param filter  Filter of methods to memoize.
+     * @param maxSize Max amount of cached values.
+     */
+    public Memoization(Predicate<Method> filter, int maxSize) {
+        this(filter, maxSize, 0L, 0L, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates memoization.
+     *
+     * @param filter            Filter of methods to memoize.
+     * @param maxSize           Max amount of cached values.
+     * @param expireAfterWrite  Time after computation which the value expires, or {@code 0} to
+     *                          never expire.
+     * @param refreshAfterWrite Time after computation which a read triggers a refresh of the value,
+     *                          or {@code 0} to never refresh.
+     * @param unit              Unit of {@code expireAfterWrite} and {@code refreshAfterWrite}.
+     */
+    public Memoization(Predicate<Method> filter,
+                       int maxSize,
+                       long expireAfterWrite,
+                       long refreshAfterWrite,
+                       TimeUnit unit) {
+        this(filter, maxSize, expireAfterWrite, refreshAfterWrite, unit, AsyncDispatch.defaultExecutor());
+    }
+
+    /**
+     * Creates memoization.
+     *
+     * @param filter            Filter of methods to memoize.
+     * @param maxSize           Max amount of cached values.
+     * @param expireAfterWrite  Time after computation which the value expires, or {@code 0} to
+     *                          never expire.
+     * @param refreshAfterWrite Time after computation which a read triggers a refresh of the value,
+     *                          or {@code 0} to never refresh.
+     * @param unit              Unit of {@code expireAfterWrite} and {@code refreshAfterWrite}.
+     * @param refreshExecutor   Executor which recomputes values to refresh.
+     */
+    public Memoization(Predicate<Method> filter,
+                       int maxSize,
+                       long expireAfterWrite,
+                       long refreshAfterWrite,
+                       TimeUnit unit,
+                       Executor refreshExecutor) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("Max size must be positive: " + maxSize);
+
+        if (expireAfterWrite < 0L || refreshAfterWrite < 0L)
+            throw new IllegalArgumentException("Expiration and refresh times cannot be negative!");
+
+        this.filter = Objects.requireNonNull(filter);
+        this.maxSize = maxSize;
+        this.expireAfterWriteNanos = unit.toNanos(expireAfterWrite);
+        this.refreshAfterWriteNanos = unit.toNanos(refreshAfterWrite);
+        this.refreshExecutor = Objects.requireNonNull(refreshExecutor);
+    }
+
+    /**
+     * Creates the key of a call with no arguments.
+     *
+     * @param method Called method.
+     * @return Key of call.
+     */
+    public static Object key(MethodInfo method) {
+        return method;
+    }
+
+    /**
+     * Creates the key of a call with one argument.
+     *
+     * @param method Called method.
+     * @param arg0   Argument.
+     * @return Key of call.
+     */
+    public static Object key(MethodInfo method, Object arg0) {
+        return new Key1(method, arg0);
+    }
+
+    /**
+     * Creates the key of a call with two arguments.
+     *
+     * @param method Called method.
+     * @param arg0   First argument.
+     * @param arg1   Second argument.
+     * @return Key of call.
+     */
+    public static Object key(MethodInfo method, Object arg0, Object arg1) {
+        return new Key2(method, arg0, arg1);
+    }
+
+    /**
+     * Creates the key of a call with three arguments.
+     *
+     * @param method Called method.
+     * @param arg0   First argument.
+     * @param arg1   Second argument.
+     * @param arg2   Third argument.
+     * @return Key of call.
+     */
+    public static Object key(MethodInfo method, Object arg0, Object arg1, Object arg2) {
+        return new Key3(method, arg0, arg1, arg2);
+    }
+
+    /**
+     * Creates the key of a call with more than three arguments.
+     *
+     * @param method Called method.
+     * @param args   Arguments.
+     * @return Key of call.
+     */
+    public static Object key(MethodInfo method, Object[] args) {
+        return new KeyN(method, args);
+    }
+
+    /**
+     * Gets the arguments of a key created with {@link #key(MethodInfo, Object[])}.
+     *
+     * @param key Key of call.
+     * @return Arguments of key.
+     */
+    public static Object[] args(Object key) {
+        return ((KeyN) key).args;
+    }
+
+    /**
+     * Gets the filter of methods to memoize.
+     *
+     * @return Filter of methods to memoize.
+     */
+    public Predicate<Method> getFilter() {
+        return this.filter;
+    }
+
+    /**
+     * Gets the max amount of cached values.
+     *
+     * @return Max amount of cached values.
+     */
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * Gets the amount of cached values.
+     *
+     * @return Amount of cached values.
+     */
+    public int getSize() {
+        return this.size.get();
+    }
+
+    /**
+     * Removes all cached values.
+     */
+    public void invalidateAll() {
+        for (Entry entry : this.entries.values()) {
+            this.remove(entry);
+        }
+
+        this.compact();
+    }
+
+    /**
+     * Returns whether {@code m} is memoized.
+     *
+     * @param m Method to check.
+     * @return Whether {@code m} is memoized.
+     */
+    public boolean isMemoized(Method m) {
+        return m.getReturnType() != Void.TYPE && this.getFilter().test(m);
+    }
+
+    /**
+     * Gets the cached value of {@code key}. Called by generated proxy methods.
+     *
+     * @param key Key of call.
+     * @return Cached value, or {@link #MISS} if there is no value cached.
+     */
+    public Object lookup(Object key) {
+        Entry entry = this.entries.get(key);
+
+        if (entry == null)
+            return MISS;
+
+        long age = System.nanoTime() - entry.writeTime;
+
+        if (this.expireAfterWriteNanos != 0L && age >= this.expireAfterWriteNanos) {
+            this.remove(entry);
+            return MISS;
+        }
+
+        if (entry.frequency < MAX_FREQUENCY)
+            entry.frequency++;
+
+        if (this.refreshAfterWriteNanos != 0L
+                && age >= this.refreshAfterWriteNanos
+                && entry.refreshing.compareAndSet(false, true)) {
+            this.refresh(entry);
+        }
+
+        return entry.value;
+    }
+
+    /**
+     * Computes the value of {@code key} through {@code handler} and caches it. Called by generated
+     * proxy methods when {@link #lookup(Object)} misses.
+     *
+     * @param key        Key of call.
+     * @param instance   Proxy instance.
+     * @param methodInfo Information of called method.
+     * @param args       Arguments passed to method.
+     * @param proxyData  Information about proxy.
+     * @param handler    Handler which computes the value.
+     * @return Computed value.
+     * @throws Throwable Exception thrown by {@code handler}.
+     */
+    public Object compute(Object key,
+                          Object instance,
+                          MethodInfo methodInfo,
+                          Object[] args,
+                          ProxyData proxyData,
+                          InvocationHandler handler) throws Throwable {
+        Object value = handler.invoke(instance, methodInfo, args, proxyData);
+
+        this.store(new Entry(key, value, new WeakReference<>(instance), methodInfo, args, proxyData, handler));
+
+        return value;
+    }
+
+    private void refresh(Entry entry) {
+        this.refreshExecutor.execute(() -> {
+            try {
+                Object instance = entry.instance.get();
+
+                // Proxy was collected, the value is served until it expires or is evicted
+                if (instance == null)
+                    return;
+
+                Object value = entry.handler.invoke(instance, entry.methodInfo, entry.args, entry.proxyData);
+
+                if (!entry.removed)
+                    this.store(new Entry(entry.key, value, entry.instance, entry.methodInfo, entry.args,
+                            entry.proxyData, entry.handler));
+            } catch (Throwable ignored) {
+                // Keeps serving the current value until it expires
+            } finally {
+                entry.refreshing.set(false);
+            }
+        });
+    }
+
+    private void store(Entry entry) {
+        Entry previous = this.entries.put(entry.key, entry);
+
+        this.enqueue(entry);
+
+        if (previous != null) {
+            entry.frequency = previous.frequency;
+            previous.removed = true;
+        } else if (this.size.incrementAndGet() > this.maxSize) {
+            this.evict();
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        this.order.add(entry);
+
+        if (this.queued.incrementAndGet() > this.maxSize << 1)
+            this.compact();
+    }
+
+    /**
+     * Removes entries which were replaced, expired or invalidated from {@link #order}.
+     */
+    private void compact() {
+        if (!this.compaction.tryLock())
+            return;
+
+        try {
+            int live = 0;
+
+            for (Iterator<Entry> iterator = this.order.iterator(); iterator.hasNext(); ) {
+                if (iterator.next().removed)
+                    iterator.remove();
+                else
+                    live++;
+            }
+
+            this.queued.set(live);
+        } finally {
+            this.compaction.unlock();
+        }
+    }
+
+    private void evict() {
+        int secondChances = 0;
+        Entry victim;
+
+        while ((victim = this.order.poll()) != null) {
+            this.queued.decrementAndGet();
+
+            if (victim.removed)
+                continue;
+
+            if (victim.frequency > 0 && secondChances < MAX_SECOND_CHANCES) {
+                victim.frequency >>= 1;
+                secondChances++;
+                this.enqueue(victim);
+                continue;
+            }
+
+            if (this.remove(victim))
+                return;
+        }
+    }
+
+    private boolean remove(Entry entry) {
+        if (this.entries.remove(entry.key, entry)) {
+            entry.removed = true;
+            this.size.decrementAndGet();
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public List<Property> getAdditionalProperties() {
+        return Collections3.listOf(
+                new Property(new VariableRef(Memoization.class, "memoization"), null)
+        );
+    }
+
+    @Override
+    public List<Object> getValueForConstructorProperties() {
+        return Collections.singletonList(this);
+    }
+
+    @Override
+    public List<CustomHandlerGenerator> getCustomHandlerGenerators() {
+        return Collections.singletonList(this.gen);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getFilter());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Memoization))
+            return super.equals(obj);
+
+        return Objects.equals(this.getFilter(), ((Memoization) obj).getFilter());
+    }
+
+    static boolean argEquals(Object a, Object b) {
+        return Objects.deepEquals(a, b);
+    }
+
+    static int argHash(Object o) {
+        if (o == null)
+            return 0;
+
+        return o.getClass().isArray() ? Arrays.deepHashCode(new Object[]{o}) : o.hashCode();
+    }
+
+    static final class Entry {
+        final Object key;
+        final Object value;
+        final long writeTime = System.nanoTime();
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        // Invocation, kept to refresh the value
+        final WeakReference<Object> instance;
+        final MethodInfo methodInfo;
+        final Object[] args;
+        final ProxyData proxyData;
+        final InvocationHandler handler;
+
+        volatile int frequency;
+        volatile boolean removed;
+
+        Entry(Object key, Object value, WeakReference<Object> instance, MethodInfo methodInfo, Object[] args,
+              ProxyData proxyData, InvocationHandler handler) {
+            this.key = key;
+            this.value = value;
+            this.instance = instance;
+            this.methodInfo = methodInfo;
+            this.args = args;
+            this.proxyData = proxyData;
+            this.handler = handler;
+        }
+    }
+
+    static final class Key1 {
+        private final MethodInfo method;
+        private final Object arg0;
+
+        Key1(MethodInfo method, Object arg0) {
+            this.method = method;
+            this.arg0 = arg0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.method.hashCode() + argHash(this.arg0);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key1))
+                return false;
+
+            Key1 other = (Key1) obj;
+            return this.method == other.method && argEquals(this.arg0, other.arg0);
+        }
+    }
+
+    static final class Key2 {
+        private final MethodInfo method;
+        private final Object arg0;
+        private final Object arg1;
+
+        Key2(MethodInfo method, Object arg0, Object arg1) {
+            this.method = method;
+            this.arg0 = arg0;
+            this.arg1 = arg1;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * this.method.hashCode() + argHash(this.arg0)) * 31 + argHash(this.arg1);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key2))
+                return false;
+
+            Key2 other = (Key2) obj;
+            return this.method == other.method
+                    && argEquals(this.arg0, other.arg0)
+                    && argEquals(this.arg1, other.arg1);
+        }
+    }
+
+    static final class Key3 {
+        private final MethodInfo method;
+        private final Object arg0;
+        private final Object arg1;
+        private final Object arg2;
+
+        Key3(MethodInfo method, Object arg0, Object arg1, Object arg2) {
+            this.method = method;
+            this.arg0 = arg0;
+            this.arg1 = arg1;
+            this.arg2 = arg2;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((31 * this.method.hashCode() + argHash(this.arg0)) * 31 + argHash(this.arg1)) * 31
+                    + argHash(this.arg2);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key3))
+                return false;
+
+            Key3 other = (Key3) obj;
+            return this.method == other.method
+                    && argEquals(this.arg0, other.arg0)
+                    && argEquals(this.arg1, other.arg1)
+                    && argEquals(this.arg2, other.arg2);
+        }
+    }
+
+    static final class KeyN {
+        private final MethodInfo method;
+        private final Object[] args;
+
+        KeyN(MethodInfo method, Object[] args) {
+            this.method = method;
+            this.args = args;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.method.hashCode() + Arrays.deepHashCode(this.args);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof KeyN))
+                return false;
+
+            KeyN other = (KeyN) obj;
+            return this.method == other.method && Arrays.deepEquals(this.args, other.args);
+        }
+    }
+
+    public class Gen implements CustomHandlerGenerator {
+
+        @NotNull
+        @Override
+        public Instructions handle(@NotNull Method target, @NotNull MethodDeclaration methodDeclaration, @NotNull GenEnv env) {
+            if (!Memoization.this.isMemoized(target)
+                    || !HandlerSupport.hasMethodInfo(env))
+                return Instructions.empty();
+
+            Property memoization = Memoization.this.getAdditionalProperties().get(0);
+            List<KoresParameter> parameters = methodDeclaration.getParameters();
+
+            List<Instruction> castArguments = HandlerSupport.boxedArguments(methodDeclaration);
+            Instruction arguments = HandlerSupport.argumentsArray(castArguments);
+
+            Instruction key;
+
+            if (parameters.size() <= 3) {
+                List<Instruction> keyArguments = new ArrayList<>(parameters.size() + 1);
+                Class<?>[] keyTypes = new Class<?>[parameters.size() + 1];
+
+                keyArguments.add(env.getMethodInfoAccess());
+                keyTypes[0] = MethodInfo.class;
+
+                for (int i = 0; i < parameters.size(); i++) {
+                    keyArguments.add(castArguments.get(i));
+                    keyTypes[i + 1] = Object.class;
+                }
+
+                key = InvocationFactory.invokeStatic(Memoization.class, "key",
+                        Factories.typeSpec(Object.class, keyTypes), keyArguments);
+            } else {
+                key = InvocationFactory.invokeStatic(Memoization.class, "key",
+                        Factories.typeSpec(Object.class, MethodInfo.class, Object[].class),
+                        Collections3.listOf(env.getMethodInfoAccess(), arguments));
+            }
+
+            env.setMayProceed(false);
+            env.setInvokeHandler(false);
+
+            MutableInstructions source = MutableInstructions.create();
+
+            VariableDeclaration keyVar = VariableFactory.variable(Object.class, "memo$key", key);
+            VariableDeclaration valueVar = VariableFactory.variable(Object.class, "memo$value",
+                    InvocationFactory.invokeVirtual(Memoization.class, memoization.getAccess(), "lookup",
+                            Factories.typeSpec(Object.class, Object.class),
+                            Collections.singletonList(Factories.accessVariable(keyVar))));
+
+            source.add(keyVar);
+            source.add(valueVar);
+
+            source.add(Factories.ifStatement(
+                    Factories.check(Factories.accessVariable(valueVar), Operators.EQUAL_TO,
+                            Factories.accessStaticField(Memoization.class, Object.class, "MISS")),
+                    Instructions.fromPart(Factories.setVariableValue(Object.class, valueVar.getName(),
+                            InvocationFactory.invokeVirtual(Memoization.class, memoization.getAccess(), "compute",
+                                    Factories.typeSpec(Object.class,
+                                            Object.class, Object.class, MethodInfo.class, Object[].class,
+                                            ProxyData.class, InvocationHandler.class),
+                                    Collections3.listOf(
+                                            Factories.accessVariable(keyVar),
+                                            Access.THIS,
+                                            env.getMethodInfoAccess(),
+                                            // With more than 3 parameters, the array was already created for the key
+                                            parameters.size() <= 3
+                                                    ? arguments
+                                                    : InvocationFactory.invokeStatic(Memoization.class, "args",
+                                                    Factories.typeSpec(Object[].class, Object.class),
+                                                    Collections.singletonList(Factories.accessVariable(keyVar))),
+                                            env.getProxyDataAccess(),
+                                            env.getInvocationHandlerAccess()
+                                    ))))));
+
+            source.add(Factories.returnValue(target.getReturnType(),
+                    Factories.cast(Object.class, target.getReturnType(), Factories.accessVariable(valueVar))));
+
+            return source;
+        }
+    }
+}
@@ -0,0 +1,474 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.gen.direct;
+
+import com.github.jonathanxd.iutils.collection.Collections3;
+import com.github.jonathanxd.iutils.exception.RethrowException;
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.Instructions;
+import com.github.jonathanxd.kores.MutableInstructions;
+import com.github.jonathanxd.kores.Types;
+import com.github.jonathanxd.kores.base.InvokeType;
+import com.github.jonathanxd.kores.base.KoresParameter;
+import com.github.jonathanxd.kores.base.MethodDeclaration;
+import com.github.jonathanxd.kores.base.VariableDeclaration;
+import com.github.jonathanxd.kores.common.VariableRef;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.factory.InvocationFactory;
+import com.github.jonathanxd.kores.factory.VariableFactory;
+import com.github.jonathanxd.kores.literal.Literals;
+import com.github.jonathanxd.kores.util.conversion.ConversionsKt;
+import com.github.jonathanxd.koresproxy.gen.CustomHandlerGenerator;
+import com.github.jonathanxd.koresproxy.gen.DirectInvocationCustom;
+import com.github.jonathanxd.koresproxy.gen.GenEnv;
+import com.github.jonathanxd.koresproxy.info.AttachmentKey;
+import com.github.jonathanxd.koresproxy.info.MethodInfo;
+import com.github.jonathanxd.koresproxy.internals.Util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+
+/**
+ * Dispatches each call of the methods of {@link #getType() type} to every delegate, in order, and
+ * reduces the returned values with a {@link Reducer}.
+ *
+ * In {@link Mode#SEQUENTIAL sequential mode}, the generated method invokes each delegate directly
+ * from its own typed field (the loop is unrolled in the proxy method), and {@link Reducer#FIRST} and
+ * {@link Reducer#LAST} reductions are resolved in the generated code without collecting the values.
+ * In {@link Mode#PARALLEL parallel} and {@link Mode#VIRTUAL_THREADS virtual threads} modes, all
+ * delegates except the last are invoked in the executor of the mode and the last delegate is
+ * invoked in the caller thread, then the caller waits all invocations to complete. If a delegate
+ * throws an exception, the exception is rethrown to the caller after all invocations completes (in
+ * sequential mode, the remaining delegates are not invoked).
+ *
+ * Two instances with same type, same delegate field types, same mode and same {@link Reducer#FIRST
+ * first}/{@link Reducer#LAST last}/custom reduction are equal, this means that the same proxy class
+ * is reused for different delegates.
+ *
+ * @since 2.6.1
+ */
+public class Multicast implements DirectInvocationCustom {
+
+    /**
+     * Handles of methods, adapted to {@link #INVOKER_TYPE}.
+     */
+    private static final AttachmentKey<MethodHandle> HANDLE =
+            AttachmentKey.register("multicastHandle", MethodHandle.class);
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final Class<?> type;
+    private final List<Object> delegates;
+    private final List<Class<?>> fieldTypes;
+    private final Mode mode;
+    private final Reducer reducer;
+    private final Gen gen = new Gen();
+
+    /**
+     * Creates a sequential multicast which returns the value returned by first delegate.
+     *
+     * @param type      Type of delegates.
+     * @param delegates Delegates to invoke.
+     */
+    public Multicast(Class<?> type, List<?> delegates) {
+        this(type, delegates, Mode.SEQUENTIAL, Reducer.FIRST);
+    }
+
+    /**
+     * Creates a multicast.
+     *
+     * @param type      Type of delegates.
+     * @param delegates Delegates to invoke.
+     * @param mode      Dispatch mode.
+     * @param reducer   Reducer of values returned by delegates.
+     */
+    public Multicast(Class<?> type, List<?> delegates, Mode mode, Reducer reducer) {
+        this.type = Objects.requireNonNull(type);
+        this.delegates = Collections.unmodifiableList(new ArrayList<>(delegates));
+        this.mode = Objects.requireNonNull(mode);
+        this.reducer = Objects.requireNonNull(reducer);
+
+        if (this.delegates.isEmpty())
+            throw new IllegalArgumentException("At least one delegate is required!");
+
+        List<Class<?>> fieldTypes = new ArrayList<>(this.delegates.size());
+
+        for (Object delegate : this.delegates) {
+            if (!type.isInstance(delegate))
+                throw new IllegalArgumentException("Delegate '" + delegate + "' is not an instance of '" + type.getName() + "'!");
+
+            fieldTypes.add(Util.getFieldType(type, delegate));
+        }
+
+        this.fieldTypes = Collections.unmodifiableList(fieldTypes);
+    }
+
+    /**
+     * Gets the type of delegates.
+     *
+     * @return Type of delegates.
+     */
+    public Class<?> getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the delegates.
+     *
+     * @return Delegates.
+     */
+    public List<Object> getDelegates() {
+        return this.delegates;
+    }
+
+    /**
+     * Gets the dispatch mode.
+     *
+     * @return Dispatch mode.
+     */
+    public Mode getMode() {
+        return this.mode;
+    }
+
+    /**
+     * Gets the reducer of values returned by delegates.
+     *
+     * @return Reducer of values returned by delegates.
+     */
+    public Reducer getReducer() {
+        return this.reducer;
+    }
+
+    /**
+     * Returns whether calls to {@code m} are dispatched to delegates.
+     *
+     * @param m Method to check.
+     * @return Whether calls to {@code m} are dispatched to delegates.
+     */
+    public boolean isMulticast(Method m) {
+        return m.getDeclaringClass() != Object.class
+                && m.getDeclaringClass().isAssignableFrom(this.getType())
+                && Modifier.isPublic(m.getDeclaringClass().getModifiers());
+    }
+
+    /**
+     * Reduces the {@code values} returned by delegates. Called by generated proxy methods.
+     *
+     * @param methodInfo Information of called method.
+     * @param values     Values returned by delegates, in delegate order.
+     * @return Reduced value.
+     */
+    public Object reduce(MethodInfo methodInfo, Object[] values) {
+        return this.reducer.reduce(methodInfo, values);
+    }
+
+    /**
+     * Invokes the method described by {@code methodInfo} in all delegates in the executor of {@link
+     * #getMode() mode}, and reduces the values. Called by generated proxy methods.
+     *
+     * @param methodInfo Information of called method.
+     * @param args       Arguments passed to method.
+     * @return Reduced value.
+     */
+    public Object fanOut(MethodInfo methodInfo, Object[] args) {
+        MethodHandle handle = methodInfo.computeAttachmentIfAbsent(Multicast.HANDLE,
+                info -> info.resolveOrFail(info.getDeclaringClass())
+                        .asSpreader(Object[].class, info.getParameterTypes().size())
+                        .asType(Multicast.INVOKER_TYPE));
+
+        Executor executor = this.mode == Mode.VIRTUAL_THREADS
+                ? AsyncDispatch.defaultExecutor()
+                : ForkJoinPool.commonPool();
+
+        int last = this.delegates.size() - 1;
+        List<CompletableFuture<Object>> futures = new ArrayList<>(last);
+
+        for (int i = 0; i < last; i++) {
+            Object delegate = this.delegates.get(i);
+
+            futures.add(CompletableFuture.supplyAsync(() -> Multicast.invoke(handle, delegate, args), executor));
+        }
+
+        Object[] values = new Object[last + 1];
+        Throwable failure = null;
+
+        try {
+            values[last] = Multicast.invoke(handle, this.delegates.get(last), args);
+        } catch (Throwable t) {
+            failure = t;
+        }
+
+        for (int i = 0; i < last; i++) {
+            try {
+                values[i] = futures.get(i).join();
+            } catch (CompletionException e) {
+                if (failure == null)
+                    failure = e.getCause();
+            }
+        }
+
+        if (failure != null)
+            throw RethrowException.rethrow(failure);
+
+        return this.reduce(methodInfo, values);
+    }
+
+    private static Object invoke(MethodHandle handle, Object delegate, Object[] args) {
+        try {
+            return (Object) handle.invokeExact(delegate, args);
+        } catch (Throwable t) {
+            throw RethrowException.rethrow(t);
+        }
+    }
+
+    @Override
+    public List<Property> getAdditionalProperties() {
+        List<Property> properties = new ArrayList<>(this.fieldTypes.size() + 1);
+
+        properties.add(new Property(new VariableRef(Multicast.class, "multicast"), null));
+
+        for (int i = 0; i < this.fieldTypes.size(); i++) {
+            properties.add(new Property(new VariableRef(this.fieldTypes.get(i), "delegate$" + i), null));
+        }
+
+        return properties;
+    }
+
+    @Override
+    public List<Object> getValueForConstructorProperties() {
+        List<Object> values = new ArrayList<>(this.delegates.size() + 1);
+
+        values.add(this);
+        values.addAll(this.delegates);
+
+        return values;
+    }
+
+    @Override
+    public List<CustomHandlerGenerator> getCustomHandlerGenerators() {
+        return Collections.singletonList(this.gen);
+    }
+
+    private Object reducerShape() {
+        return this.reducer == Reducer.FIRST || this.reducer == Reducer.LAST ? this.reducer : Reducer.class;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getType(), this.fieldTypes, this.getMode(), this.reducerShape());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Multicast))
+            return super.equals(obj);
+
+        Multicast other = (Multicast) obj;
+
+        return this.getType().equals(other.getType())
+                && this.fieldTypes.equals(other.fieldTypes)
+                && this.getMode() == other.getMode()
+                && this.reducerShape() == other.reducerShape();
+    }
+
+    /**
+     * Dispatch mode.
+     */
+    public enum Mode {
+        /**
+         * Invokes delegates one after another in caller thread.
+         */
+        SEQUENTIAL,
+
+        /**
+         * Invokes delegates in parallel in {@link ForkJoinPool#commonPool() common pool}.
+         */
+        PARALLEL,
+
+        /**
+         * Invokes delegates in parallel in {@link AsyncDispatch#defaultExecutor() default async
+         * executor}, which uses virtual threads when the runtime supports them.
+         */
+        VIRTUAL_THREADS
+    }
+
+    /**
+     * Reduces the values returned by delegates to the value returned by proxy method.
+     */
+    @FunctionalInterface
+    public interface Reducer {
+
+        /**
+         * Returns the value returned by first delegate.
+         */
+        Reducer FIRST = (methodInfo, values) -> values[0];
+
+        /**
+         * Returns the value returned by last delegate.
+         */
+        Reducer LAST = (methodInfo, values) -> values[values.length - 1];
+
+        /**
+         * Returns a {@link List} with values returned by all delegates, in delegate order. Only
+         * suitable for methods that returns a supertype of {@link List}.
+         */
+        Reducer ALL = (methodInfo, values) -> Collections.unmodifiableList(Arrays.asList(values));
+
+        /**
+         * Creates a reducer which combines values from the first to the last delegate with {@code
+         * combiner}.
+         *
+         * @param combiner Combiner of values.
+         * @return Reducer which combines values with {@code combiner}.
+         */
+        static Reducer combining(BinaryOperator<Object> combiner) {
+            Objects.requireNonNull(combiner);
+
+            return (methodInfo, values) -> {
+                Object result = values[0];
+
+                for (int i = 1; i < values.length; i++) {
+                    result = combiner.apply(result, values[i]);
+                }
+
+                return result;
+            };
+        }
+
+        /**
+         * Reduces {@code values}.
+         *
+         * @param methodInfo Information of called method.
+         * @param values     Values returned by delegates, in delegate order ({@code null} for
+         *                   {@code void} methods).
+         * @return Value to return in proxy method.
+         */
+        Object reduce(MethodInfo methodInfo, Object[] values);
+    }
+
+    public class Gen implements CustomHandlerGenerator {
+
+        @NotNull
+        @Override
+        public Instructions handle(@NotNull Method target, @NotNull MethodDeclaration methodDeclaration, @NotNull GenEnv env) {
+            if (!Multicast.this.isMulticast(target)
+                    || !HandlerSupport.hasMethodInfo(env))
+                return Instructions.empty();
+
+            List<Property> properties = Multicast.this.getAdditionalProperties();
+            Property multicast = properties.get(0);
+            List<KoresParameter> parameters = methodDeclaration.getParameters();
+            Class<?> returnType = target.getReturnType();
+            boolean isVoid = returnType == Void.TYPE;
+
+            env.setMayProceed(false);
+            env.setInvokeHandler(false);
+
+            if (Multicast.this.getMode() != Mode.SEQUENTIAL) {
+                Instruction arguments = HandlerSupport.argumentsArray(methodDeclaration);
+
+                Instruction fanOut = InvocationFactory.invokeVirtual(Multicast.class, multicast.getAccess(), "fanOut",
+                        Factories.typeSpec(Object.class, MethodInfo.class, Object[].class),
+                        Collections3.listOf(env.getMethodInfoAccess(), arguments));
+
+                if (isVoid)
+                    return Instructions.fromVarArgs(fanOut, Factories.returnVoid());
+
+                return Instructions.fromPart(Factories.returnValue(returnType,
+                        Factories.cast(Object.class, returnType, fanOut)));
+            }
+
+            Class<?> declaringClass = target.getDeclaringClass();
+            InvokeType invokeType = declaringClass.isInterface() ? InvokeType.INVOKE_INTERFACE : InvokeType.INVOKE_VIRTUAL;
+            List<Instruction> arguments = new ArrayList<>(ConversionsKt.getAccess(parameters));
+            Reducer reducer = Multicast.this.getReducer();
+            int count = Multicast.this.delegates.size();
+            int returnedIndex = reducer == Reducer.FIRST ? 0 : reducer == Reducer.LAST ? count - 1 : -1;
+
+            MutableInstructions source = MutableInstructions.create();
+            List<Instruction> values = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                Property delegate = properties.get(i + 1);
+                Class<?> fieldType = Multicast.this.fieldTypes.get(i);
+
+                Instruction access = delegate.getAccess();
+
+                if (fieldType != declaringClass)
+                    access = Factories.cast(fieldType, declaringClass, access);
+
+                Instruction invoke = InvocationFactory.invoke(invokeType,
+                        declaringClass,
+                        access,
+                        target.getName(),
+                        ConversionsKt.getTypeSpec(target),
+                        arguments);
+
+                if (isVoid || (returnedIndex != -1 && returnedIndex != i)) {
+                    source.add(invoke);
+                } else {
+                    VariableDeclaration value = VariableFactory.variable(returnType, "value$" + i, invoke);
+                    source.add(value);
+                    values.add(Factories.cast(returnType, Types.OBJECT, Factories.accessVariable(value)));
+                }
+            }
+
+            if (isVoid) {
+                source.add(Factories.returnVoid());
+            } else if (returnedIndex != -1) {
+                source.add(Factories.returnValue(returnType,
+                        Factories.accessVariable(returnType, "value$" + returnedIndex)));
+            } else {
+                Instruction reduce = InvocationFactory.invokeVirtual(Multicast.class, multicast.getAccess(), "reduce",
+                        Factories.typeSpec(Object.class, MethodInfo.class, Object[].class),
+                        Collections3.listOf(env.getMethodInfoAccess(),
+                                Factories.createArray(Object[].class,
+                                        Collections.singletonList(Literals.INT(count)),
+                                        values)));
+
+                source.add(Factories.returnValue(returnType, Factories.cast(Object.class, returnType, reduce)));
+            }
+
+            return source;
+        }
+    }
+}
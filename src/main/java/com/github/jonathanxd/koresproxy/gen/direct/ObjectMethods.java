@@ -0,0 +1,419 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.gen.direct;
+
+import com.github.jonathanxd.iutils.collection.Collections3;
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.Instructions;
+import com.github.jonathanxd.kores.MutableInstructions;
+import com.github.jonathanxd.kores.base.Access;
+import com.github.jonathanxd.kores.base.Alias;
+import com.github.jonathanxd.kores.base.KoresParameter;
+import com.github.jonathanxd.kores.base.MethodDeclaration;
+import com.github.jonathanxd.kores.base.VariableAccess;
+import com.github.jonathanxd.kores.base.VariableDeclaration;
+import com.github.jonathanxd.kores.common.Commons;
+import com.github.jonathanxd.kores.common.Nothing;
+import com.github.jonathanxd.kores.common.VariableRef;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.factory.InvocationFactory;
+import com.github.jonathanxd.kores.factory.VariableFactory;
+import com.github.jonathanxd.kores.literal.Literals;
+import com.github.jonathanxd.kores.operator.Operators;
+import com.github.jonathanxd.koresproxy.gen.Custom;
+import com.github.jonathanxd.koresproxy.gen.CustomHandlerGenerator;
+import com.github.jonathanxd.koresproxy.gen.GenEnv;
+import com.github.jonathanxd.koresproxy.internals.Util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Generates {@link Object#equals(Object)}, {@link Object#hashCode()} and {@link Object#toString()}
+ * of the proxy directly, without calling the {@link com.github.jonathanxd.koresproxy.handler.InvocationHandler},
+ * following a {@link Policy}.
+ *
+ * Custom handler generators of customs are called in the order that customs are registered, so
+ * this custom should be added before customs that also generates these methods, such as {@link
+ * WrappedInstance}.
+ *
+ * @see #identity()
+ * @see #delegate(Object)
+ * @see #value(String...)
+ */
+public class ObjectMethods implements Custom {
+
+    private static final ObjectMethods IDENTITY = new ObjectMethods(Policy.IDENTITY, null, Collections.emptyList());
+
+    private final Policy policy;
+    private final Object target;
+    private final List<String> properties;
+    private final Gen gen = new Gen();
+
+    private ObjectMethods(Policy policy, Object target, List<String> properties) {
+        this.policy = policy;
+        this.target = target;
+        this.properties = properties;
+    }
+
+    /**
+     * Creates a custom that generates Object methods based on identity of the proxy instance:
+     * {@code equals} is {@code ==}, {@code hashCode} is {@link System#identityHashCode(Object)}
+     * and {@code toString} is the super implementation.
+     *
+     * @return Identity Object methods custom.
+     */
+    public static ObjectMethods identity() {
+        return ObjectMethods.IDENTITY;
+    }
+
+    /**
+     * Creates a custom that generates Object methods which delegates to {@code target}.
+     *
+     * @param target Target to delegate Object methods.
+     * @return Delegate Object methods custom.
+     */
+    public static ObjectMethods delegate(Object target) {
+        return new ObjectMethods(Policy.DELEGATE, Objects.requireNonNull(target), Collections.emptyList());
+    }
+
+    /**
+     * Creates a custom that generates Object methods based on the values of {@link
+     * Custom.Property additional properties} of other customs. Two proxies are equal if they are
+     * instances of the same proxy class and all properties are {@link Objects#deepEquals(Object,
+     * Object) deeply equal}. The hash code is computed once and cached in the proxy instance, so
+     * the properties should not be {@link Custom.Property#isMutable() mutable}. {@link
+     * Custom.Property#isStatic() Static} properties are never considered, as they have the same
+     * value for all instances of a proxy class.
+     *
+     * @param properties Names of properties to consider, or none to consider all non-mutable
+     *                   properties of other customs.
+     * @return Value-based Object methods custom.
+     */
+    public static ObjectMethods value(String... properties) {
+        return new ObjectMethods(Policy.VALUE, null, Collections3.listOf(properties));
+    }
+
+    /**
+     * Helper used by generated {@code toString} of {@link Policy#VALUE} policy.
+     *
+     * @param name   Simple name of the proxy class.
+     * @param names  Names of properties.
+     * @param values Values of properties.
+     * @return String representation of proxy.
+     */
+    public static String valueToString(String name, String[] names, Object[] values) {
+        StringBuilder sb = new StringBuilder(name).append('[');
+
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0)
+                sb.append(", ");
+
+            Object value = values[i];
+
+            sb.append(names[i]).append('=');
+
+            if (value != null && value.getClass().isArray()) {
+                String array = Arrays.deepToString(new Object[]{value});
+                sb.append(array, 1, array.length() - 1);
+            } else {
+                sb.append(value);
+            }
+        }
+
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Gets the policy.
+     *
+     * @return Policy.
+     */
+    public Policy getPolicy() {
+        return this.policy;
+    }
+
+    @Override
+    public List<Property> getAdditionalProperties() {
+        if (this.policy == Policy.DELEGATE)
+            return Collections.singletonList(new Property(new VariableRef(Object.class, "objectMethodsTarget"), null));
+
+        if (this.policy == Policy.VALUE)
+            return Collections.singletonList(new Property(new VariableRef(Integer.TYPE, "valueHash"), Nothing.INSTANCE, true));
+
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<Object> getValueForConstructorProperties() {
+        if (this.policy == Policy.DELEGATE)
+            return Collections.singletonList(this.target);
+
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean generateSpecCache(Method m) {
+        return !(Util.isEquals(m) || Util.isHashCode(m) || Util.isToString(m));
+    }
+
+    @Override
+    public List<CustomHandlerGenerator> getCustomHandlerGenerators() {
+        return Collections.singletonList(this.gen);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof ObjectMethods
+                && ((ObjectMethods) obj).policy == this.policy
+                && ((ObjectMethods) obj).properties.equals(this.properties);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.policy, this.properties);
+    }
+
+    /**
+     * Policy of generated Object methods.
+     */
+    public enum Policy {
+        /**
+         * Based on identity of proxy instance.
+         */
+        IDENTITY,
+
+        /**
+         * Delegates to a target instance.
+         */
+        DELEGATE,
+
+        /**
+         * Based on values of additional properties.
+         */
+        VALUE
+    }
+
+    class Gen implements CustomHandlerGenerator {
+
+        @NotNull
+        @Override
+        public Instructions handle(@NotNull Method target, @NotNull MethodDeclaration methodDeclaration, @NotNull GenEnv env) {
+            boolean equals = Util.isEquals(target);
+            boolean hashCode = Util.isHashCode(target);
+            boolean toString = Util.isToString(target);
+
+            if (!equals && !hashCode && !toString)
+                return Instructions.empty();
+
+            env.setMayProceed(false);
+            env.setInvokeHandler(false);
+
+            switch (ObjectMethods.this.policy) {
+                case DELEGATE:
+                    return this.delegate(equals, hashCode, methodDeclaration);
+                case VALUE:
+                    return this.value(equals, hashCode, methodDeclaration, env);
+                default:
+                    return this.identity(equals, hashCode, methodDeclaration);
+            }
+        }
+
+        private Instructions identity(boolean equals, boolean hashCode, MethodDeclaration methodDeclaration) {
+            if (equals) {
+                VariableAccess other = this.param0(methodDeclaration);
+                return Instructions.fromVarArgs(
+                        Factories.ifStatement(Factories.check(Access.THIS, Operators.EQUAL_TO, other),
+                                Instructions.fromPart(Factories.returnValue(Boolean.TYPE, Literals.TRUE))),
+                        Factories.returnValue(Boolean.TYPE, Literals.FALSE)
+                );
+            } else if (hashCode) {
+                return Instructions.fromPart(Factories.returnValue(Integer.TYPE,
+                        InvocationFactory.invokeStatic(System.class, "identityHashCode",
+                                Factories.typeSpec(Integer.TYPE, Object.class),
+                                Collections.singletonList(Access.THIS))));
+            } else {
+                return Instructions.fromPart(Factories.returnValue(String.class,
+                        InvocationFactory.invokeSpecial(Object.class,
+                                Factories.accessSuper(), "toString", Factories.typeSpec(String.class),
+                                Collections.emptyList())));
+            }
+        }
+
+        private Instructions delegate(boolean equals, boolean hashCode, MethodDeclaration methodDeclaration) {
+            Instruction access = Factories.accessThisField(Object.class,
+                    ObjectMethods.this.getAdditionalProperties().get(0).getFieldName());
+
+            if (equals) {
+                return Instructions.fromPart(Factories.returnValue(Boolean.TYPE,
+                        Commons.invokeObjectsEquals(access, this.param0(methodDeclaration))));
+            } else if (hashCode) {
+                return Instructions.fromPart(Factories.returnValue(Integer.TYPE,
+                        Commons.invokeHashCode(access)));
+            } else {
+                return Instructions.fromPart(Factories.returnValue(String.class,
+                        Commons.invokeObjectsToString(access)));
+            }
+        }
+
+        private Instructions value(boolean equals, boolean hashCode, MethodDeclaration methodDeclaration, GenEnv env) {
+            List<VariableRef> properties = this.resolveProperties(env);
+
+            if (equals) {
+                MutableInstructions source = MutableInstructions.create();
+                VariableAccess param = this.param0(methodDeclaration);
+
+                source.add(Factories.ifStatement(Factories.check(Access.THIS, Operators.EQUAL_TO, param),
+                        Instructions.fromPart(Factories.returnValue(Boolean.TYPE, Literals.TRUE))));
+                source.add(Factories.ifStatement(Factories.checkFalse(Factories.isInstanceOf(param, Alias.THIS.INSTANCE)),
+                        Instructions.fromPart(Factories.returnValue(Boolean.TYPE, Literals.FALSE))));
+
+                VariableDeclaration other = VariableFactory.variable(Alias.THIS.INSTANCE, "other$o",
+                        Factories.cast(param.getType(), Alias.THIS.INSTANCE, param));
+
+                source.add(other);
+
+                for (VariableRef property : properties) {
+                    String name = Util.getAdditionalPropertyFieldName(property);
+                    Instruction self = Factories.accessThisField(property.getType(), name);
+                    Instruction otherValue = Factories.accessField(Alias.THIS.INSTANCE,
+                            Factories.accessVariable(other), property.getType(), name);
+
+                    source.add(Factories.ifStatement(Factories.checkFalse(this.deepEquals(property.getType(), self, otherValue)),
+                            Instructions.fromPart(Factories.returnValue(Boolean.TYPE, Literals.FALSE))));
+                }
+
+                source.add(Factories.returnValue(Boolean.TYPE, Literals.TRUE));
+
+                return source;
+            } else if (hashCode) {
+                String hashName = ObjectMethods.this.getAdditionalProperties().get(0).getFieldName();
+                MutableInstructions source = MutableInstructions.create();
+
+                VariableDeclaration hash = VariableFactory.variable(Integer.TYPE, "hash$h",
+                        Factories.accessThisField(Integer.TYPE, hashName));
+
+                source.add(hash);
+                source.add(Factories.ifStatement(Factories.check(Factories.accessVariable(hash), Operators.EQUAL_TO, Literals.INT(0)),
+                        Instructions.fromVarArgs(
+                                Factories.setVariableValue(Integer.TYPE, hash.getName(),
+                                        InvocationFactory.invokeStatic(Arrays.class, "deepHashCode",
+                                                Factories.typeSpec(Integer.TYPE, Object[].class),
+                                                Collections.singletonList(this.values(properties)))),
+                                Factories.setThisFieldValue(Integer.TYPE, hashName, Factories.accessVariable(hash))
+                        )));
+                source.add(Factories.returnValue(Integer.TYPE, Factories.accessVariable(hash)));
+
+                return source;
+            } else {
+                List<Instruction> names = properties.stream()
+                        .map(it -> Literals.STRING(it.getName()))
+                        .collect(Collectors.toList());
+
+                return Instructions.fromPart(Factories.returnValue(String.class,
+                        InvocationFactory.invokeStatic(ObjectMethods.class, "valueToString",
+                                Factories.typeSpec(String.class, String.class, String[].class, Object[].class),
+                                Collections3.listOf(
+                                        Literals.STRING(this.typeName(env)),
+                                        Factories.createArray(String[].class,
+                                                Collections.singletonList(Literals.INT(names.size())),
+                                                names),
+                                        this.values(properties)
+                                ))));
+            }
+        }
+
+        private String typeName(GenEnv env) {
+            if (env.getProxyData().getSuperClass() != Object.class)
+                return env.getProxyData().getSuperClass().getSimpleName();
+
+            if (!env.getProxyData().getInterfaceList().isEmpty())
+                return env.getProxyData().getInterfaceList().get(0).getSimpleName();
+
+            return "Proxy";
+        }
+
+        private Instruction deepEquals(Type type, Instruction a, Instruction b) {
+            return InvocationFactory.invokeStatic(Objects.class, "deepEquals",
+                    Factories.typeSpec(Boolean.TYPE, Object.class, Object.class),
+                    Collections3.listOf(Factories.cast(type, Object.class, a), Factories.cast(type, Object.class, b)));
+        }
+
+        private Instruction values(List<VariableRef> properties) {
+            List<Instruction> values = properties.stream()
+                    .map(it -> Factories.cast(it.getType(), Object.class,
+                            Factories.accessThisField(it.getType(), Util.getAdditionalPropertyFieldName(it))))
+                    .collect(Collectors.toList());
+
+            return Factories.createArray(Object[].class,
+                    Collections.singletonList(Literals.INT(values.size())),
+                    values);
+        }
+
+        private List<VariableRef> resolveProperties(GenEnv env) {
+            List<Property> all = env.getProxyData().getCustomView().stream()
+                    .filter(it -> it != ObjectMethods.this)
+                    .map(Custom::getAdditionalProperties)
+                    .flatMap(List::stream)
+                    .filter(it -> !it.isStatic())
+                    .collect(Collectors.toList());
+
+            if (ObjectMethods.this.properties.isEmpty()) {
+                return all.stream()
+                        .filter(it -> !it.isMutable())
+                        .map(Property::getSpec)
+                        .collect(Collectors.toList());
+            }
+
+            List<VariableRef> resolved = new ArrayList<>();
+
+            for (String name : ObjectMethods.this.properties) {
+                resolved.add(all.stream()
+                        .map(Property::getSpec)
+                        .filter(it -> it.getName().equals(name))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Property '" + name + "' is not defined by any custom!")));
+            }
+
+            return resolved;
+        }
+
+        private VariableAccess param0(MethodDeclaration methodDeclaration) {
+            KoresParameter param0 = methodDeclaration.getParameters().get(0);
+            return Factories.accessVariable(param0.getType(), param0.getName());
+        }
+    }
+}
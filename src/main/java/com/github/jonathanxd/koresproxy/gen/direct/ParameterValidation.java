@@ -0,0 +1,210 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.gen.direct;
+
+import com.github.jonathanxd.iutils.collection.Collections3;
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.Instructions;
+import com.github.jonathanxd.kores.MutableInstructions;
+import com.github.jonathanxd.kores.base.KoresParameter;
+import com.github.jonathanxd.kores.base.MethodDeclaration;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.factory.InvocationFactory;
+import com.github.jonathanxd.kores.literal.Literals;
+import com.github.jonathanxd.koresproxy.gen.Custom;
+import com.github.jonathanxd.koresproxy.gen.CustomHandlerGenerator;
+import com.github.jonathanxd.koresproxy.gen.GenEnv;
+import com.github.jonathanxd.koresproxy.validation.Checks;
+import com.github.jonathanxd.koresproxy.validation.Matches;
+import com.github.jonathanxd.koresproxy.validation.NonNull;
+import com.github.jonathanxd.koresproxy.validation.Range;
+import com.github.jonathanxd.koresproxy.validation.Size;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles validation annotations ({@link NonNull}, {@link Range}, {@link Size} and {@link
+ * Matches}) of proxied method parameters into guards placed at the start of the proxy method. The
+ * guards call the {@link Checks} which matches the static type of the parameter, patterns are
+ * compiled once and stored in constants of the proxy class. Invalid arguments throw an exception
+ * before the invocation is delegated.
+ *
+ * Custom handler generators are called in the order that customs are registered, so this custom
+ * should be added before customs that replace the method body (such as {@link WrappedInstance}).
+ *
+ * Annotations applied to unsupported parameter types are reported during proxy class generation
+ * with an {@link IllegalArgumentException}.
+ */
+public class ParameterValidation implements Custom {
+
+    private static final ParameterValidation INSTANCE = new ParameterValidation();
+    private final Gen gen = new Gen();
+
+    private ParameterValidation() {
+    }
+
+    /**
+     * Gets the validation custom instance.
+     *
+     * @return Validation custom instance.
+     */
+    public static ParameterValidation getInstance() {
+        return ParameterValidation.INSTANCE;
+    }
+
+    @Override
+    public List<CustomHandlerGenerator> getCustomHandlerGenerators() {
+        return Collections.singletonList(this.gen);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof ParameterValidation;
+    }
+
+    @Override
+    public int hashCode() {
+        return ParameterValidation.class.hashCode();
+    }
+
+    static class Gen implements CustomHandlerGenerator {
+
+        @NotNull
+        @Override
+        public Instructions handle(@NotNull Method target, @NotNull MethodDeclaration methodDeclaration, @NotNull GenEnv env) {
+            Parameter[] parameters = target.getParameters();
+            MutableInstructions source = MutableInstructions.create();
+
+            for (int i = 0; i < parameters.length; i++) {
+                Parameter parameter = parameters[i];
+                Class<?> type = parameter.getType();
+                KoresParameter koresParameter = methodDeclaration.getParameters().get(i);
+                Instruction access = Factories.accessVariable(koresParameter.getType(), koresParameter.getName());
+                String name = "Parameter '" + parameter.getName() + "' of '"
+                        + target.getDeclaringClass().getName() + "." + target.getName() + "'";
+
+                if (parameter.isAnnotationPresent(NonNull.class) && !type.isPrimitive()) {
+                    source.add(Gen.check("notNull", Object.class, access, name, Object.class));
+                }
+
+                Range range = parameter.getAnnotation(Range.class);
+
+                if (range != null) {
+                    source.add(Gen.check("range", Gen.rangeType(type, target), access, name, Long.TYPE,
+                            Literals.LONG(range.min()), Literals.LONG(range.max())));
+                }
+
+                Size size = parameter.getAnnotation(Size.class);
+
+                if (size != null) {
+                    source.add(Gen.check("size", Gen.sizeType(type, target), access, name, Integer.TYPE,
+                            Literals.INT(size.min()), Literals.INT(size.max())));
+                }
+
+                Matches matches = parameter.getAnnotation(Matches.class);
+
+                if (matches != null) {
+                    if (!CharSequence.class.isAssignableFrom(type))
+                        throw Gen.unsupported(Matches.class, type, target);
+
+                    source.add(InvocationFactory.invokeStatic(Checks.class, "matches",
+                            Factories.typeSpec(Void.TYPE, CharSequence.class, Pattern.class, String.class),
+                            Collections3.listOf(access,
+                                    env.defineConstant(Pattern.class, Pattern.compile(matches.value())),
+                                    Literals.STRING(name))));
+                }
+            }
+
+            return source;
+        }
+
+        private static Instruction check(String check, Class<?> type, Instruction value, String name,
+                                         Class<?> boundType, Instruction... bounds) {
+            Class<?>[] parameterTypes = new Class<?>[bounds.length + 2];
+            List<Instruction> arguments = new ArrayList<>();
+
+            parameterTypes[0] = type;
+            arguments.add(value);
+
+            for (int i = 0; i < bounds.length; i++) {
+                parameterTypes[i + 1] = boundType;
+                arguments.add(bounds[i]);
+            }
+
+            parameterTypes[parameterTypes.length - 1] = String.class;
+            arguments.add(Literals.STRING(name));
+
+            return InvocationFactory.invokeStatic(Checks.class, check,
+                    Factories.typeSpec(Void.TYPE, parameterTypes),
+                    arguments);
+        }
+
+        private static Class<?> rangeType(Class<?> type, Method target) {
+            if (type == Integer.TYPE || type == Short.TYPE || type == Byte.TYPE || type == Character.TYPE)
+                return Integer.TYPE;
+
+            if (type == Long.TYPE || type == Float.TYPE || type == Double.TYPE)
+                return type;
+
+            if (Number.class.isAssignableFrom(type))
+                return Number.class;
+
+            throw Gen.unsupported(Range.class, type, target);
+        }
+
+        private static Class<?> sizeType(Class<?> type, Method target) {
+            if (CharSequence.class.isAssignableFrom(type))
+                return CharSequence.class;
+
+            if (Collection.class.isAssignableFrom(type))
+                return Collection.class;
+
+            if (Map.class.isAssignableFrom(type))
+                return Map.class;
+
+            if (type.isArray())
+                return type.getComponentType().isPrimitive() ? type : Object[].class;
+
+            throw Gen.unsupported(Size.class, type, target);
+        }
+
+        private static IllegalArgumentException unsupported(Class<?> annotation, Class<?> type, Method target) {
+            return new IllegalArgumentException("Annotation '@" + annotation.getSimpleName() + "' is not supported on parameter of type '"
+                    + type.getName() + "' of method '" + target + "'.");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.gen.direct;
+
+import com.github.jonathanxd.koresproxy.MethodMatcher;
+import com.github.jonathanxd.koresproxy.gen.Custom;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+
+/**
+ * Restricts the methods overridden by the proxy class to the methods matched by a {@link
+ * MethodMatcher}. Matched methods are delegated to the {@link com.github.jonathanxd.koresproxy.handler.InvocationHandler}
+ * (or to other customs), unmatched methods with an implementation (including default methods) are
+ * not overridden, so invocations reach the implementation directly. Unmatched abstract methods have
+ * no implementation to reach, so they are still delegated to the handler.
+ *
+ * @see com.github.jonathanxd.koresproxy.ProxyData.Builder#intercept(MethodMatcher)
+ */
+public class SelectiveInterception implements Custom {
+
+    private final MethodMatcher matcher;
+
+    public SelectiveInterception(MethodMatcher matcher) {
+        this.matcher = Objects.requireNonNull(matcher);
+    }
+
+    /**
+     * Gets the matcher of intercepted methods.
+     *
+     * @return Matcher of intercepted methods.
+     */
+    public MethodMatcher getMatcher() {
+        return this.matcher;
+    }
+
+    @Override
+    public boolean generateMethod(Method m) {
+        return Modifier.isAbstract(m.getModifiers()) || this.matcher.test(m);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof SelectiveInterception && ((SelectiveInterception) obj).matcher.equals(this.matcher);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.matcher.hashCode();
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.gen.direct;
+
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.Instructions;
+import com.github.jonathanxd.kores.MutableInstructions;
+import com.github.jonathanxd.kores.Types;
+import com.github.jonathanxd.kores.base.Case;
+import com.github.jonathanxd.kores.base.InvokeType;
+import com.github.jonathanxd.kores.base.KoresParameter;
+import com.github.jonathanxd.kores.base.MethodDeclaration;
+import com.github.jonathanxd.kores.base.SwitchType;
+import com.github.jonathanxd.kores.base.VariableDeclaration;
+import com.github.jonathanxd.kores.common.VariableRef;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.factory.InvocationFactory;
+import com.github.jonathanxd.kores.factory.VariableFactory;
+import com.github.jonathanxd.kores.literal.Literals;
+import com.github.jonathanxd.kores.util.conversion.ConversionsKt;
+import com.github.jonathanxd.koresproxy.gen.CustomHandlerGenerator;
+import com.github.jonathanxd.koresproxy.gen.DirectInvocationCustom;
+import com.github.jonathanxd.koresproxy.gen.GenEnv;
+import com.github.jonathanxd.koresproxy.internals.Util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * Routes each call of the methods of {@link #getType() type} to one of the delegates (shards),
+ * selected at invocation time from the value of a key argument of the call. This allows to stripe
+ * components which are not thread-safe (or which are guarded by a lock) across many instances
+ * behind a single proxy, calls with the same key always reaches the same shard.
+ *
+ * The {@link #getKeyIndex() key index function} selects the index of the key argument of each
+ * method ({@code -1} to not route the method, which is delegated to the {@link
+ * com.github.jonathanxd.koresproxy.handler.InvocationHandler}), and the {@link Sharding} computes
+ * the shard of the key. The generated method computes the shard and dispatches it with a {@code
+ * tableswitch}, invoking the shard directly from its own typed field.
+ *
+ * Two instances with same type, same delegate field types and same key index function are equal,
+ * this means that the same proxy class is reused for different delegates and sharding strategies.
+ *
+ * @since 2.6.1
+ */
+public class ShardedRouting implements DirectInvocationCustom {
+
+    /**
+     * Key index function which selects the first argument as key, methods without arguments are
+     * not routed.
+     */
+    public static final ToIntFunction<Method> FIRST_ARGUMENT = m -> m.getParameterCount() > 0 ? 0 : -1;
+
+    private final Class<?> type;
+    private final List<Object> shards;
+    private final List<Class<?>> fieldTypes;
+    private final ToIntFunction<Method> keyIndex;
+    private final Sharding sharding;
+    private final Gen gen = new Gen();
+
+    /**
+     * Creates sharded routing which routes by the first argument with {@link Sharding#MODULO}.
+     *
+     * @param type   Type of shards.
+     * @param shards Shards.
+     */
+    public ShardedRouting(Class<?> type, List<?> shards) {
+        this(type, shards, FIRST_ARGUMENT, Sharding.MODULO);
+    }
+
+    /**
+     * Creates sharded routing.
+     *
+     * @param type     Type of shards.
+     * @param shards   Shards.
+     * @param keyIndex Function which selects the index of the key argument of methods, or {@code
+     *                 -1} to not route the method.
+     * @param sharding Strategy which computes the shard of the keys.
+     */
+    public ShardedRouting(Class<?> type, List<?> shards, ToIntFunction<Method> keyIndex, Sharding sharding) {
+        this.type = Objects.requireNonNull(type);
+        this.shards = Collections.unmodifiableList(new ArrayList<>(shards));
+        this.keyIndex = Objects.requireNonNull(keyIndex);
+        this.sharding = Objects.requireNonNull(sharding);
+
+        if (this.shards.isEmpty())
+            throw new IllegalArgumentException("At least one shard is required!");
+
+        List<Class<?>> fieldTypes = new ArrayList<>(this.shards.size());
+
+        for (Object shard : this.shards) {
+            if (!type.isInstance(shard))
+                throw new IllegalArgumentException("Shard '" + shard + "' is not an instance of '" + type.getName() + "'!");
+
+            fieldTypes.add(Util.getFieldType(type, shard));
+        }
+
+        this.fieldTypes = Collections.unmodifiableList(fieldTypes);
+    }
+
+    /**
+     * Gets the type of shards.
+     *
+     * @return Type of shards.
+     */
+    public Class<?> getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the shards.
+     *
+     * @return Shards.
+     */
+    public List<Object> getShards() {
+        return this.shards;
+    }
+
+    /**
+     * Gets the function which selects the index of the key argument of methods.
+     *
+     * @return Function which selects the index of the key argument of methods.
+     */
+    public ToIntFunction<Method> getKeyIndex() {
+        return this.keyIndex;
+    }
+
+    /**
+     * Gets the strategy which computes the shard of the keys.
+     *
+     * @return Strategy which computes the shard of the keys.
+     */
+    public Sharding getSharding() {
+        return this.sharding;
+    }
+
+    /**
+     * Computes the shard index of {@code key}. Called by generated proxy methods.
+     *
+     * @param key Key of call.
+     * @return Shard index of {@code key}.
+     */
+    public int shardOf(Object key) {
+        int shard = this.sharding.shard(key, this.shards.size());
+
+        if (shard < 0 || shard >= this.shards.size())
+            throw new IllegalStateException("Sharding '" + this.sharding + "' returned shard " + shard
+                    + " for key '" + key + "', expected a shard between 0 and " + (this.shards.size() - 1) + ".");
+
+        return shard;
+    }
+
+    /**
+     * Gets the index of the key argument of {@code m}.
+     *
+     * @param m Method.
+     * @return Index of the key argument of {@code m}, or {@code -1} if {@code m} is not routed.
+     */
+    public int getKeyIndex(Method m) {
+        if (m.getDeclaringClass() == Object.class
+                || !m.getDeclaringClass().isAssignableFrom(this.getType())
+                || !Modifier.isPublic(m.getDeclaringClass().getModifiers()))
+            return -1;
+
+        int index = this.keyIndex.applyAsInt(m);
+
+        if (index >= m.getParameterCount())
+            throw new IllegalArgumentException("Key index " + index + " of method '" + m + "' is out of bounds!");
+
+        return index;
+    }
+
+    @Override
+    public List<Property> getAdditionalProperties() {
+        List<Property> properties = new ArrayList<>(this.fieldTypes.size() + 1);
+
+        properties.add(new Property(new VariableRef(ShardedRouting.class, "routing"), null));
+
+        for (int i = 0; i < this.fieldTypes.size(); i++) {
+            properties.add(new Property(new VariableRef(this.fieldTypes.get(i), "shard$" + i), null));
+        }
+
+        return properties;
+    }
+
+    @Override
+    public List<Object> getValueForConstructorProperties() {
+        List<Object> values = new ArrayList<>(this.shards.size() + 1);
+
+        values.add(this);
+        values.addAll(this.shards);
+
+        return values;
+    }
+
+    @Override
+    public List<CustomHandlerGenerator> getCustomHandlerGenerators() {
+        return Collections.singletonList(this.gen);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getType(), this.fieldTypes, this.getKeyIndex());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof ShardedRouting))
+            return super.equals(obj);
+
+        ShardedRouting other = (ShardedRouting) obj;
+
+        return this.getType().equals(other.getType())
+                && this.fieldTypes.equals(other.fieldTypes)
+                && Objects.equals(this.getKeyIndex(), other.getKeyIndex());
+    }
+
+    /**
+     * Strategy which computes the shard of a key.
+     */
+    @FunctionalInterface
+    public interface Sharding {
+
+        /**
+         * Selects the shard by the remainder of the division of the spread hash code of the key by
+         * the amount of shards.
+         */
+        Sharding MODULO = (key, shards) -> Math.floorMod(Sharding.spread(Objects.hashCode(key)), shards);
+
+        /**
+         * Selects the shard with jump consistent hash, changing the amount of shards from {@code n}
+         * to {@code n + 1} only moves {@code 1 / (n + 1)} of the keys to the new shard.
+         */
+        Sharding CONSISTENT = (key, shards) -> Sharding.jump(Objects.hashCode(key), shards);
+
+        /**
+         * Creates a sharding which selects the shard by the remainder of the division of the value
+         * computed by {@code function} by the amount of shards.
+         *
+         * @param function Function which computes the value of the key.
+         * @return Sharding which uses {@code function}.
+         */
+        static Sharding of(ToIntFunction<Object> function) {
+            Objects.requireNonNull(function);
+
+            return (key, shards) -> Math.floorMod(function.applyAsInt(key), shards);
+        }
+
+        /**
+         * Spreads the higher bits of {@code hash} to lower bits.
+         *
+         * @param hash Hash code.
+         * @return Spread hash code.
+         */
+        static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        /**
+         * Computes the bucket of {@code key} with jump consistent hash (Lamping and Veach).
+         *
+         * @param key     Key.
+         * @param buckets Amount of buckets.
+         * @return Bucket of key, between {@code 0} and {@code buckets - 1}.
+         */
+        static int jump(long key, int buckets) {
+            long b = -1L;
+            long j = 0L;
+
+            while (j < buckets) {
+                b = j;
+                key = key * 2862933555777941757L + 1L;
+                j = (long) ((b + 1L) * ((double) (1L << 31) / (double) ((key >>> 33) + 1L)));
+            }
+
+            return (int) b;
+        }
+
+        /**
+         * Computes the shard of {@code key}.
+         *
+         * @param key    Key of call.
+         * @param shards Amount of shards.
+         * @return Shard of {@code key}, between {@code 0} and {@code shards - 1}.
+         */
+        int shard(Object key, int shards);
+    }
+
+    public class Gen implements CustomHandlerGenerator {
+
+        @NotNull
+        @Override
+        public Instructions handle(@NotNull Method target, @NotNull MethodDeclaration methodDeclaration, @NotNull GenEnv env) {
+            int keyIndex = ShardedRouting.this.getKeyIndex(target);
+
+            if (keyIndex < 0)
+                return Instructions.empty();
+
+            List<Property> properties = ShardedRouting.this.getAdditionalProperties();
+            List<KoresParameter> parameters = methodDeclaration.getParameters();
+            KoresParameter keyParameter = parameters.get(keyIndex);
+            Class<?> declaringClass = target.getDeclaringClass();
+            Class<?> returnType = target.getReturnType();
+            InvokeType invokeType = declaringClass.isInterface() ? InvokeType.INVOKE_INTERFACE : InvokeType.INVOKE_VIRTUAL;
+            List<Instruction> arguments = new ArrayList<>(ConversionsKt.getAccess(parameters));
+            int count = ShardedRouting.this.shards.size();
+
+            env.setMayProceed(false);
+            env.setInvokeHandler(false);
+
+            MutableInstructions source = MutableInstructions.create();
+
+            VariableDeclaration shard = VariableFactory.variable(Integer.TYPE, "shard$r",
+                    InvocationFactory.invokeVirtual(ShardedRouting.class, properties.get(0).getAccess(), "shardOf",
+                            Factories.typeSpec(Integer.TYPE, Object.class),
+                            Collections.singletonList(Factories.cast(keyParameter.getType(), Types.OBJECT,
+                                    ConversionsKt.toVariableAccess(keyParameter)))));
+
+            source.add(shard);
+
+            List<Case> cases = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                Class<?> fieldType = ShardedRouting.this.fieldTypes.get(i);
+                Instruction access = properties.get(i + 1).getAccess();
+
+                if (fieldType != declaringClass)
+                    access = Factories.cast(fieldType, declaringClass, access);
+
+                Instruction invoke = InvocationFactory.invoke(invokeType,
+                        declaringClass,
+                        access,
+                        target.getName(),
+                        ConversionsKt.getTypeSpec(target),
+                        arguments);
+
+                Instructions call = returnType == Void.TYPE
+                        ? Instructions.fromVarArgs(invoke, Factories.returnVoid())
+                        : Instructions.fromPart(Factories.returnValue(returnType, invoke));
+
+                // shardOf is always in range, the last shard is the default case
+                cases.add(i == count - 1
+                        ? Factories.defaultCase(call)
+                        : Factories.caseStatement(Literals.INT(i), call));
+            }
+
+            source.add(Factories.switchStatement(Factories.accessVariable(shard), SwitchType.NUMERIC, cases));
+
+            return source;
+        }
+    }
+}
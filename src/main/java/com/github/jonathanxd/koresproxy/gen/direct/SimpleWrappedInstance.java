@@ -28,6 +28,7 @@
 package com.github.jonathanxd.koresproxy.gen.direct;
 
 import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.MutableInstructions;
 import com.github.jonathanxd.kores.common.VariableRef;
 import com.github.jonathanxd.koresproxy.gen.CustomHandlerGenerator;
 import com.github.jonathanxd.koresproxy.gen.DirectInvocationCustom;
@@ -52,6 +53,21 @@ public abstract class SimpleWrappedInstance implements DirectInvocationCustom {
      */
     protected abstract Instruction evaluate(Instruction wrapper);
 
+    /**
+     * Returns the instruction that resolves the instance to delegate method, instructions required
+     * to resolve the instance may be added to {@code source} (they are placed before the
+     * delegation). Default implementation returns the {@link #evaluate(Instruction) evaluation} of
+     * {@code wrapper}.
+     *
+     * @param wrapper Instruction that accesses the wrapper object.
+     * @param source  Source of the proxy method.
+     * @return Instruction that resolves the instance to delegate method.
+     * @since 2.6.1
+     */
+    protected Instruction resolve(Instruction wrapper, MutableInstructions source) {
+        return this.evaluate(wrapper);
+    }
+
     /**
      * Gets the type of the wrapper. This type is used to create a field for the wrapper.
      *
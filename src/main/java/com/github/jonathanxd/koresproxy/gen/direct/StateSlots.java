@@ -0,0 +1,399 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.gen.direct;
+
+import com.github.jonathanxd.kores.common.VariableRef;
+import com.github.jonathanxd.koresproxy.gen.Custom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.UnaryOperator;
+
+/**
+ * Declares per-instance mutable state slots in the proxy class. Each {@link Slot slot} is generated
+ * as a {@code public volatile} field of the proxy class, and is accessed by handlers through the
+ * slot instance, with atomic operations backed by field updaters which are resolved once per proxy
+ * class. This replaces side tables (such as {@code Map<Object, State>}) which handlers would
+ * otherwise use to associate state to proxy instances.
+ *
+ * Example:
+ *
+ * <pre>{@code
+ * static final StateSlots.IntSlot CALLS = StateSlots.intSlot("calls");
+ *
+ * Supplier<String> supplier = KoresProxy.newProxyInstance(builder -> builder
+ *         .classLoader(Supplier.class.getClassLoader())
+ *         .addInterface(Supplier.class)
+ *         .addCustom(StateSlots.of(CALLS))
+ *         .invocationHandler((instance, methodInfo, args, proxyData) ->
+ *                 "call " + CALLS.incrementAndGet(instance)));
+ * }</pre>
+ *
+ * @since 2.6.1
+ */
+public final class StateSlots implements Custom {
+
+    private final List<Slot> slots;
+
+    private StateSlots(List<Slot> slots) {
+        this.slots = slots;
+    }
+
+    /**
+     * Creates a custom which declares {@code slots} in proxy class.
+     *
+     * @param slots Slots to declare.
+     * @return Custom which declares {@code slots} in proxy class.
+     */
+    public static StateSlots of(Slot... slots) {
+        List<Slot> slotList = new ArrayList<>(slots.length);
+        Set<String> names = new HashSet<>();
+
+        for (Slot slot : slots) {
+            Objects.requireNonNull(slot, "Slot cannot be null!");
+
+            if (!names.add(slot.getName()))
+                throw new IllegalArgumentException("Duplicated slot name: '" + slot.getName() + "'!");
+
+            slotList.add(slot);
+        }
+
+        return new StateSlots(Collections.unmodifiableList(slotList));
+    }
+
+    /**
+     * Creates a {@code int} slot, which starts with {@code 0}.
+     *
+     * @param name Name of slot.
+     * @return {@code int} slot.
+     */
+    public static IntSlot intSlot(String name) {
+        return new IntSlot(name);
+    }
+
+    /**
+     * Creates a {@code long} slot, which starts with {@code 0}.
+     *
+     * @param name Name of slot.
+     * @return {@code long} slot.
+     */
+    public static LongSlot longSlot(String name) {
+        return new LongSlot(name);
+    }
+
+    /**
+     * Creates a reference slot, which starts with {@code null}.
+     *
+     * @param name Name of slot.
+     * @param <V>  Type of value.
+     * @return Reference slot.
+     */
+    public static <V> ReferenceSlot<V> referenceSlot(String name) {
+        return new ReferenceSlot<>(name);
+    }
+
+    /**
+     * Gets declared slots.
+     *
+     * @return Declared slots.
+     */
+    public List<Slot> getSlots() {
+        return this.slots;
+    }
+
+    @Override
+    public List<Property> getAdditionalProperties() {
+        List<Property> properties = new ArrayList<>(this.slots.size());
+
+        for (Slot slot : this.slots) {
+            properties.add(slot.getProperty());
+        }
+
+        return properties;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.slots.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof StateSlots && ((StateSlots) obj).slots.equals(this.slots);
+    }
+
+    /**
+     * State slot of proxy instances.
+     */
+    public static abstract class Slot {
+        private final String name;
+        private final Class<?> type;
+
+        Slot(String name, Class<?> type) {
+            Objects.requireNonNull(name, "Slot name cannot be null!");
+
+            if (name.isEmpty() || !name.chars().allMatch(Character::isJavaIdentifierPart))
+                throw new IllegalArgumentException("Invalid slot name: '" + name + "'!");
+
+            this.name = name;
+            this.type = type;
+        }
+
+        /**
+         * Gets the name of slot.
+         *
+         * @return Name of slot.
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Gets the type of field of slot.
+         *
+         * @return Type of field of slot.
+         */
+        public Class<?> getType() {
+            return this.type;
+        }
+
+        Property getProperty() {
+            return Property.slot(new VariableRef(this.type, "slot$" + this.name));
+        }
+
+        String getFieldName() {
+            return this.getProperty().getFieldName();
+        }
+
+        IllegalArgumentException noSlot(Class<?> proxyClass, Throwable cause) {
+            return new IllegalArgumentException("Class '" + proxyClass.getName() + "' does not declare "
+                    + this.getType().getName() + " slot '" + this.getName() + "'!", cause);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.getClass(), this.name);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj != null && obj.getClass() == this.getClass() && ((Slot) obj).name.equals(this.name);
+        }
+
+        @Override
+        public String toString() {
+            return "Slot[type=" + this.type.getName() + ", name=" + this.name + "]";
+        }
+    }
+
+    /**
+     * {@code int} state slot.
+     */
+    public static final class IntSlot extends Slot {
+        private final ClassValue<AtomicIntegerFieldUpdater<Object>> updaters =
+                new ClassValue<AtomicIntegerFieldUpdater<Object>>() {
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    protected AtomicIntegerFieldUpdater<Object> computeValue(Class<?> type) {
+                        try {
+                            return AtomicIntegerFieldUpdater.newUpdater((Class<Object>) type, IntSlot.this.getFieldName());
+                        } catch (RuntimeException e) {
+                            throw IntSlot.this.noSlot(type, e);
+                        }
+                    }
+                };
+
+        IntSlot(String name) {
+            super(name, Integer.TYPE);
+        }
+
+        private AtomicIntegerFieldUpdater<Object> updater(Object proxy) {
+            return this.updaters.get(proxy.getClass());
+        }
+
+        public int get(Object proxy) {
+            return this.updater(proxy).get(proxy);
+        }
+
+        public void set(Object proxy, int value) {
+            this.updater(proxy).set(proxy, value);
+        }
+
+        public void lazySet(Object proxy, int value) {
+            this.updater(proxy).lazySet(proxy, value);
+        }
+
+        public int getAndSet(Object proxy, int value) {
+            return this.updater(proxy).getAndSet(proxy, value);
+        }
+
+        public boolean compareAndSet(Object proxy, int expect, int update) {
+            return this.updater(proxy).compareAndSet(proxy, expect, update);
+        }
+
+        public int getAndAdd(Object proxy, int delta) {
+            return this.updater(proxy).getAndAdd(proxy, delta);
+        }
+
+        public int addAndGet(Object proxy, int delta) {
+            return this.updater(proxy).addAndGet(proxy, delta);
+        }
+
+        public int incrementAndGet(Object proxy) {
+            return this.updater(proxy).incrementAndGet(proxy);
+        }
+
+        public int decrementAndGet(Object proxy) {
+            return this.updater(proxy).decrementAndGet(proxy);
+        }
+    }
+
+    /**
+     * {@code long} state slot.
+     */
+    public static final class LongSlot extends Slot {
+        private final ClassValue<AtomicLongFieldUpdater<Object>> updaters =
+                new ClassValue<AtomicLongFieldUpdater<Object>>() {
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    protected AtomicLongFieldUpdater<Object> computeValue(Class<?> type) {
+                        try {
+                            return AtomicLongFieldUpdater.newUpdater((Class<Object>) type, LongSlot.this.getFieldName());
+                        } catch (RuntimeException e) {
+                            throw LongSlot.this.noSlot(type, e);
+                        }
+                    }
+                };
+
+        LongSlot(String name) {
+            super(name, Long.TYPE);
+        }
+
+        private AtomicLongFieldUpdater<Object> updater(Object proxy) {
+            return this.updaters.get(proxy.getClass());
+        }
+
+        public long get(Object proxy) {
+            return this.updater(proxy).get(proxy);
+        }
+
+        public void set(Object proxy, long value) {
+            this.updater(proxy).set(proxy, value);
+        }
+
+        public void lazySet(Object proxy, long value) {
+            this.updater(proxy).lazySet(proxy, value);
+        }
+
+        public long getAndSet(Object proxy, long value) {
+            return this.updater(proxy).getAndSet(proxy, value);
+        }
+
+        public boolean compareAndSet(Object proxy, long expect, long update) {
+            return this.updater(proxy).compareAndSet(proxy, expect, update);
+        }
+
+        public long getAndAdd(Object proxy, long delta) {
+            return this.updater(proxy).getAndAdd(proxy, delta);
+        }
+
+        public long addAndGet(Object proxy, long delta) {
+            return this.updater(proxy).addAndGet(proxy, delta);
+        }
+
+        public long incrementAndGet(Object proxy) {
+            return this.updater(proxy).incrementAndGet(proxy);
+        }
+
+        public long decrementAndGet(Object proxy) {
+            return this.updater(proxy).decrementAndGet(proxy);
+        }
+    }
+
+    /**
+     * Reference state slot.
+     *
+     * @param <V> Type of value.
+     */
+    public static final class ReferenceSlot<V> extends Slot {
+        private final ClassValue<AtomicReferenceFieldUpdater<Object, Object>> updaters =
+                new ClassValue<AtomicReferenceFieldUpdater<Object, Object>>() {
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    protected AtomicReferenceFieldUpdater<Object, Object> computeValue(Class<?> type) {
+                        try {
+                            return AtomicReferenceFieldUpdater.newUpdater((Class<Object>) type, Object.class, ReferenceSlot.this.getFieldName());
+                        } catch (RuntimeException e) {
+                            throw ReferenceSlot.this.noSlot(type, e);
+                        }
+                    }
+                };
+
+        ReferenceSlot(String name) {
+            super(name, Object.class);
+        }
+
+        private AtomicReferenceFieldUpdater<Object, Object> updater(Object proxy) {
+            return this.updaters.get(proxy.getClass());
+        }
+
+        @SuppressWarnings("unchecked")
+        public V get(Object proxy) {
+            return (V) this.updater(proxy).get(proxy);
+        }
+
+        public void set(Object proxy, V value) {
+            this.updater(proxy).set(proxy, value);
+        }
+
+        public void lazySet(Object proxy, V value) {
+            this.updater(proxy).lazySet(proxy, value);
+        }
+
+        @SuppressWarnings("unchecked")
+        public V getAndSet(Object proxy, V value) {
+            return (V) this.updater(proxy).getAndSet(proxy, value);
+        }
+
+        public boolean compareAndSet(Object proxy, V expect, V update) {
+            return this.updater(proxy).compareAndSet(proxy, expect, update);
+        }
+
+        @SuppressWarnings("unchecked")
+        public V updateAndGet(Object proxy, UnaryOperator<V> operator) {
+            return (V) this.updater(proxy).updateAndGet(proxy, value -> operator.apply((V) value));
+        }
+    }
+}
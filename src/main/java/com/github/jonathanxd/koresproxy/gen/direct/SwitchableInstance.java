@@ -0,0 +1,116 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.gen.direct;
+
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.common.DynamicMethodSpec;
+import com.github.jonathanxd.kores.factory.DynamicInvocationFactory;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.koresproxy.bootstrap.SwitchableTarget;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Delegates all methods that are present in {@link #getTargetClass() target class} to a instance
+ * which can be swapped at runtime, like {@link MutableInstance}, but the instance is read through
+ * an {@code invokedynamic} bound to the {@link SwitchableTarget} call site instead of {@link
+ * com.github.jonathanxd.iutils.box.IMutableBox#getValue()}, so the JIT treats the instance as a
+ * constant until it is {@link #set(Object) swapped}.
+ *
+ * Every {@link SwitchableInstance} generates its own proxy class (the call sites are bound to the
+ * class), and all proxies created with the same {@link SwitchableInstance} share the instance, so
+ * create one {@link SwitchableInstance} per delegate slot and reuse it. The instance is only read
+ * through the call site, so proxy instances do not hold a field for the {@link SwitchableTarget}.
+ */
+public class SwitchableInstance extends WrappedInstance {
+
+    private final SwitchableTarget switchableTarget;
+
+    /**
+     * Creates switchable instance direct invocation.
+     *
+     * @param initial     Initial instance to delegate to.
+     * @param targetClass Type of the wrapped object. All methods of this type that appears in proxy
+     *                    class will be overwritten with delegation.
+     */
+    public SwitchableInstance(Object initial, Class<?> targetClass) {
+        super(targetClass);
+        this.switchableTarget = new SwitchableTarget(targetClass.cast(initial));
+    }
+
+    /**
+     * Gets current instance.
+     *
+     * @return Current instance.
+     */
+    public Object get() {
+        return this.switchableTarget.get();
+    }
+
+    /**
+     * Swaps the instance to delegate to. Invocations started before the swap finish with the old
+     * instance.
+     *
+     * @param instance New instance to delegate to.
+     */
+    public void set(Object instance) {
+        this.switchableTarget.set(this.getTargetClass().cast(instance));
+    }
+
+    @Override
+    protected Instruction evaluate(Instruction wrapper) {
+        return DynamicInvocationFactory.invokeDynamic(
+                SwitchableTarget.BOOTSTRAP_IVK_SPEC,
+                new DynamicMethodSpec("target",
+                        Factories.typeSpec(Object.class),
+                        Collections.emptyList()),
+                Collections.singletonList(this.switchableTarget.getKey())
+        );
+    }
+
+    @Override
+    public List<Property> getAdditionalProperties() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<Object> getValueForConstructorProperties() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected Class<?> getWrapperType() {
+        return SwitchableTarget.class;
+    }
+
+    @Override
+    protected Object getWrapper() {
+        return this.switchableTarget;
+    }
+}
@@ -27,7 +27,9 @@
  */
 package com.github.jonathanxd.koresproxy.gen.direct;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
+import java.util.Objects;
 
 /**
  * Target element to be invoked.
@@ -44,6 +46,13 @@ public final class Target {
      */
     public static final int SELF = -2;
 
+    /**
+     * Invokes the {@link #getHandle() method handle}, not every custom supports it.
+     *
+     * @since 2.6.1
+     */
+    public static final int HANDLE = -3;
+
     /**
      * The target instance, this instance is extracted from {@link DirectToResolveMethod#instances}
      * by index. To invoke self instance, use {@link Target#SELF}.
@@ -56,9 +65,29 @@ public final class Target {
      */
     private final Method method;
 
+    /**
+     * Target method handle to invoke, only present when {@link #instance} is {@link #HANDLE}.
+     */
+    private final MethodHandle handle;
+
     public Target(int instance, Method method) {
         this.instance = instance;
         this.method = method;
+        this.handle = null;
+    }
+
+    /**
+     * Creates a target that invokes {@code handle}. The handle must receive the same amount of
+     * arguments of the proxy method, or one more argument, in this case the proxy instance is
+     * passed as first argument.
+     *
+     * @param handle Method handle to invoke.
+     * @since 2.6.1
+     */
+    public Target(MethodHandle handle) {
+        this.instance = HANDLE;
+        this.method = null;
+        this.handle = Objects.requireNonNull(handle);
     }
 
     /**
@@ -78,4 +107,15 @@ public final class Target {
     public Method getMethod() {
         return this.method;
     }
+
+    /**
+     * Gets method handle to invoke.
+     *
+     * @return Method handle to invoke, or {@code null} if this target is not a {@link #HANDLE}
+     * target.
+     * @since 2.6.1
+     */
+    public MethodHandle getHandle() {
+        return this.handle;
+    }
 }
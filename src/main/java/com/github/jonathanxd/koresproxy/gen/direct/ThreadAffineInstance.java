@@ -0,0 +1,119 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.gen.direct;
+
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.factory.InvocationFactory;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Delegates all methods that are present in {@link #getTargetClass() target class} to an instance
+ * owned by the calling thread. The instance of each thread is created by the {@link Supplier} in the
+ * first delegated invocation of the thread, and is held by a {@link ThreadLocal}, so instances which
+ * are not thread-safe (such as formatters, parsers and buffers) can be shared behind a single proxy
+ * without synchronization.
+ *
+ * Instances of threads that are reused (such as threads of a pool) are retained until the thread
+ * terminates or {@link #remove()} is called in the thread.
+ *
+ * Two instances with same target class are equal, this means that the same proxy class is reused
+ * for different suppliers.
+ *
+ * @since 2.6.1
+ */
+public class ThreadAffineInstance extends WrappedInstance {
+
+    /**
+     * Holder of the instance of each thread.
+     */
+    private final ThreadLocal<?> threadLocal;
+
+    /**
+     * Creates thread affine instance direct invocation.
+     *
+     * @param supplier    Supplier of the instance of each thread.
+     * @param targetClass Type of object that will be created by {@code supplier}.
+     */
+    public ThreadAffineInstance(Supplier<?> supplier, Class<?> targetClass) {
+        super(targetClass);
+        this.threadLocal = ThreadLocal.withInitial(Objects.requireNonNull(supplier));
+    }
+
+    /**
+     * Gets the instance of the current thread, creating it if absent.
+     *
+     * @return Instance of the current thread.
+     */
+    public Object get() {
+        return this.threadLocal.get();
+    }
+
+    /**
+     * Removes the instance of the current thread, the next delegated invocation in this thread
+     * creates a new instance.
+     */
+    public void remove() {
+        this.threadLocal.remove();
+    }
+
+    @Override
+    protected Instruction evaluate(Instruction wrapper) {
+        return InvocationFactory.invokeVirtual(ThreadLocal.class,
+                wrapper,
+                "get",
+                Factories.typeSpec(Object.class),
+                Collections.emptyList());
+    }
+
+    @Override
+    protected Class<?> getWrapperType() {
+        return ThreadLocal.class;
+    }
+
+    @Override
+    protected Object getWrapper() {
+        return this.threadLocal;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getTargetClass());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof ThreadAffineInstance))
+            return super.equals(obj);
+
+        return Objects.equals(this.getTargetClass(), ((ThreadAffineInstance) obj).getTargetClass());
+    }
+}
@@ -30,6 +30,7 @@ package com.github.jonathanxd.koresproxy.gen.direct;
 import com.github.jonathanxd.kores.Instruction;
 import com.github.jonathanxd.kores.Instructions;
 import com.github.jonathanxd.kores.KoresPartKt;
+import com.github.jonathanxd.kores.MutableInstructions;
 import com.github.jonathanxd.kores.base.Access;
 import com.github.jonathanxd.kores.base.InvokeType;
 import com.github.jonathanxd.kores.base.KoresParameter;
@@ -40,6 +41,7 @@ import com.github.jonathanxd.kores.common.VariableRef;
 import com.github.jonathanxd.kores.factory.Factories;
 import com.github.jonathanxd.kores.factory.InvocationFactory;
 import com.github.jonathanxd.kores.helper.Predefined;
+import com.github.jonathanxd.kores.literal.Literals;
 import com.github.jonathanxd.kores.util.conversion.ConversionsKt;
 import com.github.jonathanxd.koresproxy.gen.CustomHandlerGenerator;
 import com.github.jonathanxd.koresproxy.gen.GenEnv;
@@ -105,11 +107,17 @@ public abstract class WrappedInstance extends SimpleWrappedInstance {
 
     class Gen implements CustomHandlerGenerator {
 
-        private Instruction access() {
-            VariableRef fprop1 = WrappedInstance.this.getAdditionalProperties().get(0).getSpec();
+        private Instruction access(MutableInstructions source) {
+            List<Property> properties = WrappedInstance.this.getAdditionalProperties();
 
-            return WrappedInstance.this.evaluate(Factories.accessThisField(fprop1.getType(),
-                    Util.getAdditionalPropertyFieldName(fprop1)));
+            // Subclasses which do not read the wrapper from the proxy instance define no property
+            if (properties.isEmpty())
+                return WrappedInstance.this.resolve(Literals.NULL, source);
+
+            VariableRef fprop1 = properties.get(0).getSpec();
+
+            return WrappedInstance.this.resolve(Factories.accessThisField(fprop1.getType(),
+                    Util.getAdditionalPropertyFieldName(fprop1)), source);
         }
 
         @NotNull
@@ -137,41 +145,51 @@ public abstract class WrappedInstance extends SimpleWrappedInstance {
                     invokeType = InvokeType.INVOKE_VIRTUAL;
                 }
 
-                return Instructions.fromPart(Factories.returnValue(target.getReturnType(),
+                MutableInstructions source = MutableInstructions.create();
+
+                source.add(Factories.returnValue(target.getReturnType(),
                         InvocationFactory.invoke(invokeType,
                                 type,
                                 invokeType.isStatic()
                                         ? Access.STATIC
                                         : Factories.cast(Object.class, type,
-                                        this.access()),
+                                        this.access(source)),
                                 method.getName(),
                                 ConversionsKt.getTypeSpec(method),
                                 ConversionsKt.getAccess(methodDeclaration.getParameters())
                         )
                 ));
 
+                return source;
+
 
             } catch (NoSuchMethodException ignored) {
                 if (Util.isEquals(target)) {
                     env.setMayProceed(false);
                     env.setInvokeHandler(false);
 
+                    MutableInstructions source = MutableInstructions.create();
                     KoresParameter p1 = methodDeclaration.getParameters().get(0);
                     VariableAccess access = Factories.accessVariable(p1.getType(), p1.getName());
-                    return Instructions.fromPart(Factories.returnValue(Boolean.TYPE,
-                            Commons.invokeObjectsEquals(this.access(), access)));
+                    source.add(Factories.returnValue(Boolean.TYPE,
+                            Commons.invokeObjectsEquals(this.access(source), access)));
+                    return source;
                 } else if (Util.isToString(target)) {
                     env.setMayProceed(false);
                     env.setInvokeHandler(false);
 
-                    return Instructions.fromPart(Factories.returnValue(String.class,
-                            Commons.invokeObjectsToString(this.access())));
+                    MutableInstructions source = MutableInstructions.create();
+                    source.add(Factories.returnValue(String.class,
+                            Commons.invokeObjectsToString(this.access(source))));
+                    return source;
                 } else if (Util.isHashCode(target)) {
                     env.setMayProceed(false);
                     env.setInvokeHandler(false);
 
-                    return Instructions.fromPart(Factories.returnValue(Integer.TYPE,
-                            Commons.invokeHashCode(this.access())));
+                    MutableInstructions source = MutableInstructions.create();
+                    source.add(Factories.returnValue(Integer.TYPE,
+                            Commons.invokeHashCode(this.access(source))));
+                    return source;
                 }
 
             }
@@ -0,0 +1,64 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.handler;
+
+import java.util.List;
+
+/**
+ * Receives batches of buffered proxy method calls.
+ *
+ * @see com.github.jonathanxd.koresproxy.gen.direct.CallBatching
+ * @since 2.6.1
+ */
+@FunctionalInterface
+public interface BatchHandler {
+
+    /**
+     * Creates a batch handler which replays each call of the batch on {@code delegate}, in order.
+     *
+     * @param delegate Object to replay calls.
+     * @return Batch handler which replays each call of the batch on {@code delegate}.
+     */
+    static BatchHandler toDelegate(Object delegate) {
+        return calls -> {
+            for (BatchedCall call : calls) {
+                call.invoke(delegate);
+            }
+        };
+    }
+
+    /**
+     * Handles a batch of calls. The calls of a same caller thread are delivered in invocation
+     * order.
+     *
+     * @param calls Calls in the batch.
+     * @throws Throwable If the batch cannot be delivered.
+     */
+    void handle(List<BatchedCall> calls) throws Throwable;
+
+}
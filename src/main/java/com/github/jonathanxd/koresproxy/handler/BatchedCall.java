@@ -0,0 +1,100 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.handler;
+
+import com.github.jonathanxd.koresproxy.info.AttachmentKey;
+import com.github.jonathanxd.koresproxy.info.MethodInfo;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+
+/**
+ * Call of a proxy method which was buffered to be delivered in a batch.
+ *
+ * @see BatchHandler
+ * @since 2.6.1
+ */
+public final class BatchedCall {
+
+    /**
+     * Handles of methods, adapted to {@link #INVOKER_TYPE}.
+     */
+    private static final AttachmentKey<MethodHandle> HANDLE =
+            AttachmentKey.register("batchedCallHandle", MethodHandle.class);
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Void.TYPE, Object.class, Object[].class);
+
+    private final MethodInfo methodInfo;
+    private final Object[] args;
+
+    public BatchedCall(MethodInfo methodInfo, Object[] args) {
+        this.methodInfo = methodInfo;
+        this.args = args;
+    }
+
+    /**
+     * Gets the information of called method.
+     *
+     * @return Information of called method.
+     */
+    public MethodInfo getMethodInfo() {
+        return this.methodInfo;
+    }
+
+    /**
+     * Gets the arguments passed to method.
+     *
+     * @return Arguments passed to method.
+     */
+    public Object[] getArgs() {
+        return this.args;
+    }
+
+    /**
+     * Invokes the called method on {@code target} with the same arguments. The resolved method
+     * handle, adapted to receive the arguments array, is attached to the {@link MethodInfo}, so it
+     * is resolved once per method.
+     *
+     * @param target Target of invocation.
+     * @throws Throwable Exception thrown by the method.
+     */
+    public void invoke(Object target) throws Throwable {
+        MethodHandle handle = this.methodInfo.computeAttachmentIfAbsent(BatchedCall.HANDLE,
+                methodInfo -> methodInfo.resolveOrFail(methodInfo.getDeclaringClass())
+                        .asSpreader(Object[].class, methodInfo.getParameterTypes().size())
+                        .asType(BatchedCall.INVOKER_TYPE));
+
+        handle.invokeExact(target, this.args);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchedCall[method=" + this.methodInfo.getName() + ", args=" + Arrays.toString(this.args) + "]";
+    }
+}
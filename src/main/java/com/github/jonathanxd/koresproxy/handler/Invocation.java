@@ -0,0 +1,190 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.handler;
+
+import com.github.jonathanxd.koresproxy.ProxyData;
+import com.github.jonathanxd.koresproxy.info.MethodInfo;
+
+/**
+ * Invocation context passed through an {@link Interceptor} chain.
+ *
+ * The chain is compiled into the proxy class: each position of the chain has its own generated
+ * method which invokes the interceptor of that position, and a {@link Continuation} of the next
+ * position is stored in a {@code static final} field of the proxy class. The last position invokes
+ * the super implementation of the method (through {@code invokespecial}) or the {@link
+ * InvocationHandler} of the proxy directly.
+ *
+ * The context is created once per proxy method invocation and only holds the current position
+ * and the continuation of the next position.
+ */
+public final class Invocation {
+
+    private final Object instance;
+    private final MethodInfo methodInfo;
+    private final ProxyData proxyData;
+    private Object[] arguments;
+    private Continuation next;
+    private int position;
+
+    /**
+     * Creates the context of an invocation of the first interceptor. This constructor is called by
+     * generated proxy methods.
+     *
+     * @param instance   Proxy instance.
+     * @param methodInfo Information of invoked method.
+     * @param arguments  Arguments passed to method.
+     * @param proxyData  Information about proxy.
+     * @param next       Continuation of the second position of the chain.
+     */
+    public Invocation(Object instance,
+                      MethodInfo methodInfo,
+                      Object[] arguments,
+                      ProxyData proxyData,
+                      Continuation next) {
+        this.instance = instance;
+        this.methodInfo = methodInfo;
+        this.arguments = arguments;
+        this.proxyData = proxyData;
+        this.next = next;
+    }
+
+    /**
+     * Moves this context to {@code position}. This method is called by generated chain methods
+     * before invoking the interceptor of {@code position}.
+     *
+     * @param position Position of the interceptor.
+     * @param next     Continuation of the next position.
+     * @return This context.
+     */
+    public Invocation enter(int position, Continuation next) {
+        this.position = position;
+        this.next = next;
+        return this;
+    }
+
+    /**
+     * Proceeds to the next interceptor of the chain, or to the end of the chain if there is no more
+     * interceptors. This method may be called more than once by the same interceptor.
+     *
+     * @return Result of the rest of the chain.
+     * @throws Throwable Exception thrown by the rest of the chain.
+     */
+    public Object proceed() throws Throwable {
+        Continuation next = this.next;
+        int position = this.position;
+
+        try {
+            return next.proceed(this.instance, this);
+        } finally {
+            this.next = next;
+            this.position = position;
+        }
+    }
+
+    /**
+     * Replaces the {@link #getArguments() arguments} and proceeds to the next interceptor of the
+     * chain.
+     *
+     * @param arguments New arguments.
+     * @return Result of the rest of the chain.
+     * @throws Throwable Exception thrown by the rest of the chain.
+     * @see #proceed()
+     */
+    public Object proceed(Object... arguments) throws Throwable {
+        if (arguments.length != this.methodInfo.getParameterTypes().size())
+            throw new IllegalArgumentException("Expected " + this.methodInfo.getParameterTypes().size()
+                    + " arguments but found " + arguments.length + ".");
+
+        this.arguments = arguments;
+        return this.proceed();
+    }
+
+    /**
+     * Gets the proxy instance.
+     *
+     * @return Proxy instance.
+     */
+    public Object getInstance() {
+        return this.instance;
+    }
+
+    /**
+     * Gets the information of invoked method.
+     *
+     * @return Information of invoked method.
+     */
+    public MethodInfo getMethodInfo() {
+        return this.methodInfo;
+    }
+
+    /**
+     * Gets the arguments passed to method. Modifications to the array are seen by the rest of the
+     * chain.
+     *
+     * @return Arguments passed to method.
+     */
+    public Object[] getArguments() {
+        return this.arguments;
+    }
+
+    /**
+     * Gets the information about proxy.
+     *
+     * @return Information about proxy.
+     */
+    public ProxyData getProxyData() {
+        return this.proxyData;
+    }
+
+    /**
+     * Gets the position of the current interceptor in the chain.
+     *
+     * @return Position of the current interceptor in the chain.
+     */
+    public int getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Continuation of a position of the chain, implemented by a generated method of the proxy
+     * class.
+     */
+    @FunctionalInterface
+    public interface Continuation {
+
+        /**
+         * Invokes the position of the chain.
+         *
+         * @param instance   Proxy instance.
+         * @param invocation Invocation context.
+         * @return Result of the rest of the chain.
+         * @throws Throwable Exception thrown by the rest of the chain.
+         */
+        Object proceed(Object instance, Invocation invocation) throws Throwable;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.info;
+
+import java.lang.invoke.MethodType;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Key of a typed attachment slot of {@link MethodInfo}. Each registered key owns a slot index, so
+ * keys should be registered once and stored in {@code static final} fields:
+ *
+ * <pre>{@code
+ * static final AttachmentKey<Endpoint> ENDPOINT = AttachmentKey.register("endpoint", Endpoint.class);
+ *
+ * Endpoint endpoint = methodInfo.computeAttachmentIfAbsent(ENDPOINT, Endpoint::resolve);
+ * }</pre>
+ *
+ * @param <T> Type of attached value.
+ * @see MethodInfo#getAttachment(AttachmentKey)
+ * @see MethodInfo#computeAttachmentIfAbsent(AttachmentKey, java.util.function.Function)
+ * @since 2.6.1
+ */
+public final class AttachmentKey<T> {
+
+    /**
+     * Max amount of keys that can be registered.
+     */
+    public static final int MAX_KEYS = 256;
+
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+    private final String name;
+    private final Class<T> type;
+    private final int index;
+
+    private AttachmentKey(String name, Class<T> type, int index) {
+        this.name = name;
+        this.type = type;
+        this.index = index;
+    }
+
+    /**
+     * Registers a new attachment key.
+     *
+     * @param name Name of the key (used for debugging).
+     * @param type Type of attached values, primitive types are replaced by their wrapper types,
+     *             as attached values are stored boxed.
+     * @param <T>  Type of attached values.
+     * @return New attachment key.
+     * @throws IllegalStateException If {@link #MAX_KEYS} keys are already registered.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> AttachmentKey<T> register(String name, Class<T> type) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(type);
+
+        if (type.isPrimitive())
+            type = (Class<T>) MethodType.methodType(type).wrap().returnType();
+
+        int index = AttachmentKey.NEXT_INDEX.getAndIncrement();
+
+        if (index >= AttachmentKey.MAX_KEYS) {
+            AttachmentKey.NEXT_INDEX.set(AttachmentKey.MAX_KEYS);
+            throw new IllegalStateException("Cannot register attachment key '" + name + "', max of " + AttachmentKey.MAX_KEYS + " keys reached.");
+        }
+
+        return new AttachmentKey<>(name, type, index);
+    }
+
+    /**
+     * Gets the name of the key.
+     *
+     * @return Name of the key.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the type of attached values.
+     *
+     * @return Type of attached values.
+     */
+    public Class<T> getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the slot index of the key.
+     *
+     * @return Slot index of the key.
+     */
+    int getIndex() {
+        return this.index;
+    }
+
+    @Override
+    public String toString() {
+        return "AttachmentKey[" + this.name + ": " + this.type.getName() + "]";
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.info;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interned description of a method: declaring class, name, return type, parameter types and whether
+ * the method has a default implementation.
+ *
+ * Descriptors are interned in a concurrent table of the declaring class which holds them weakly,
+ * so all {@link MethodInfo} instances of the same method share the same descriptor instance (even
+ * across different proxy classes) while the descriptor is reachable. The identity of the descriptor
+ * is stable and may be used as key of caches in {@link com.github.jonathanxd.koresproxy.handler.InvocationHandler
+ * handlers}. Looking up an interned descriptor does not lock nor copy the parameter types.
+ *
+ * @since 2.6.1
+ */
+public final class MethodDescriptor {
+
+    /**
+     * Intern table.
+     */
+    private static final ClassValue<Map<Key, WeakReference<MethodDescriptor>>> INTERN =
+            new ClassValue<Map<Key, WeakReference<MethodDescriptor>>>() {
+                @Override
+                protected Map<Key, WeakReference<MethodDescriptor>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private final Class<?> declaringClass;
+    private final String name;
+    private final Class<?> returnType;
+    private final Class<?>[] parameterTypes;
+    private final List<Class<?>> parameterTypeList;
+    private final boolean hasDefaultImplementation;
+    private final int hash;
+
+    /**
+     * Global id of the method signature.
+     */
+    private final int id;
+
+    private MethodDescriptor(Class<?> declaringClass,
+                             String name,
+                             Class<?> returnType,
+                             Class<?>[] parameterTypes,
+                             boolean hasDefaultImplementation) {
+        this.declaringClass = declaringClass;
+        this.name = name;
+        this.returnType = returnType;
+        this.parameterTypes = parameterTypes;
+        this.parameterTypeList = new ParameterList(parameterTypes);
+        this.hasDefaultImplementation = hasDefaultImplementation;
+        this.hash = Objects.hash(declaringClass, name, returnType, Arrays.hashCode(parameterTypes), hasDefaultImplementation);
+        this.id = MethodInfo.idOf(name, returnType, parameterTypes);
+    }
+
+    /**
+     * Gets the interned descriptor of the method.
+     *
+     * @param declaringClass           Class which declares the method.
+     * @param name                     Name of the method.
+     * @param returnType               Return type of the method.
+     * @param parameterTypes           Parameter types of the method.
+     * @param hasDefaultImplementation Whether the method has default implementation or not.
+     * @return Interned descriptor of the method.
+     */
+    public static MethodDescriptor of(Class<?> declaringClass,
+                                      String name,
+                                      Class<?> returnType,
+                                      Class<?>[] parameterTypes,
+                                      boolean hasDefaultImplementation) {
+        Map<Key, WeakReference<MethodDescriptor>> table = MethodDescriptor.INTERN.get(declaringClass);
+        WeakReference<MethodDescriptor> ref = table.get(new Key(name, returnType, parameterTypes, hasDefaultImplementation));
+        MethodDescriptor interned = ref != null ? ref.get() : null;
+
+        if (interned != null)
+            return interned;
+
+        Class<?>[] types = parameterTypes.clone();
+        MethodDescriptor descriptor = new MethodDescriptor(declaringClass, name, returnType, types,
+                hasDefaultImplementation);
+        Key key = new Key(name, returnType, types, hasDefaultImplementation);
+        WeakReference<MethodDescriptor> created = new WeakReference<>(descriptor);
+
+        while (true) {
+            ref = table.putIfAbsent(key, created);
+
+            if (ref == null)
+                return descriptor;
+
+            interned = ref.get();
+
+            if (interned != null)
+                return interned;
+
+            // Previous descriptor was collected
+            if (table.replace(key, ref, created))
+                return descriptor;
+        }
+    }
+
+    /**
+     * Gets the interned descriptor of {@code method}.
+     *
+     * @param method Method to describe.
+     * @return Interned descriptor of {@code method}.
+     */
+    public static MethodDescriptor of(Method method) {
+        return MethodDescriptor.of(method.getDeclaringClass(), method.getName(), method.getReturnType(),
+                method.getParameterTypes(), method.isDefault());
+    }
+
+    /**
+     * Gets the class which declares the method.
+     *
+     * @return Class which declares the method.
+     */
+    public Class<?> getDeclaringClass() {
+        return this.declaringClass;
+    }
+
+    /**
+     * Gets the name of the method.
+     *
+     * @return Name of the method.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the return type of the method.
+     *
+     * @return Return type of the method.
+     */
+    public Class<?> getReturnType() {
+        return this.returnType;
+    }
+
+    /**
+     * Gets the unmodifiable list of parameter types of the method.
+     *
+     * @return Unmodifiable list of parameter types of the method.
+     */
+    public List<Class<?>> getParameterTypes() {
+        return this.parameterTypeList;
+    }
+
+    /**
+     * Gets the amount of parameters of the method.
+     *
+     * @return Amount of parameters of the method.
+     */
+    public int getParameterCount() {
+        return this.parameterTypes.length;
+    }
+
+    /**
+     * Returns whether method has default implementation or not.
+     *
+     * @return Whether method has default implementation or not.
+     */
+    public boolean hasDefaultImplementation() {
+        return this.hasDefaultImplementation;
+    }
+
+    /**
+     * Gets the global id of the method signature.
+     *
+     * @return Global id of the method signature.
+     * @see MethodInfo#idOf(String, Class, Class[])
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Gets the parameter types array, this array is shared and must not be modified.
+     */
+    Class<?>[] parameterTypes() {
+        return this.parameterTypes;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this)
+            return true;
+
+        if (!(obj instanceof MethodDescriptor))
+            return false;
+
+        MethodDescriptor other = (MethodDescriptor) obj;
+
+        return this.hash == other.hash
+                && this.declaringClass == other.declaringClass
+                && this.returnType == other.returnType
+                && this.hasDefaultImplementation == other.hasDefaultImplementation
+                && this.name.equals(other.name)
+                && Arrays.equals(this.parameterTypes, other.parameterTypes);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    @Override
+    public String toString() {
+        return this.returnType.getName() + " " + this.declaringClass.getName() + "." + this.name + this.parameterTypeList;
+    }
+
+    /**
+     * Key of intern table, the declaring class is implied by the table.
+     */
+    private static final class Key {
+        private final String name;
+        private final Class<?> returnType;
+        private final Class<?>[] parameterTypes;
+        private final boolean hasDefaultImplementation;
+        private final int hash;
+
+        Key(String name, Class<?> returnType, Class<?>[] parameterTypes, boolean hasDefaultImplementation) {
+            this.name = name;
+            this.returnType = returnType;
+            this.parameterTypes = parameterTypes;
+            this.hasDefaultImplementation = hasDefaultImplementation;
+            this.hash = (name.hashCode() * 31 + returnType.hashCode()) * 31 + Arrays.hashCode(parameterTypes);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key))
+                return false;
+
+            Key other = (Key) obj;
+
+            return this.hash == other.hash
+                    && this.returnType == other.returnType
+                    && this.hasDefaultImplementation == other.hasDefaultImplementation
+                    && this.name.equals(other.name)
+                    && Arrays.equals(this.parameterTypes, other.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    /**
+     * Unmodifiable view of parameter types array.
+     */
+    private static final class ParameterList extends AbstractList<Class<?>> implements RandomAccess {
+        private final Class<?>[] types;
+
+        ParameterList(Class<?>[] types) {
+            this.types = types;
+        }
+
+        @Override
+        public Class<?> get(int index) {
+            return this.types[index];
+        }
+
+        @Override
+        public int size() {
+            return this.types.length;
+        }
+    }
+}
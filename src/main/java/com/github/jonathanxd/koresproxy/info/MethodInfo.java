@@ -39,64 +39,85 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * Method specification holder.
  *
  * This class holds {@link MethodHandles.Lookup} which is defined in proxy class, name, return type
  * and parameter types of method.
+ *
+ * Every {@link MethodInfo} created by the proxy generator also carries the {@link #getIndex() index}
+ * of the method in the {@code method table} of the proxy class and a {@link #getId() global id} of
+ * the method signature, both can be used to dispatch invocations with a {@code switch} instead of
+ * comparing names and parameter types.
+ *
+ * The method details are held by an interned {@link MethodDescriptor} shared by all {@link
+ * MethodInfo} instances of the same method, the {@link MethodInfo} only holds the proxy class
+ * specific data (the lookup and the index).
  */
 public final class MethodInfo {
 
     /**
-     * Specification of constructor.
+     * Index used by {@link MethodInfo} instances which are not part of a {@code method table}.
+     *
+     * @since 2.6.1
      */
-    public static TypeSpec CONSTRUCTOR_SPEC = new TypeSpec(Void.TYPE,
-            Collections3.listOf(MethodHandles.Lookup.class,
-                    Class.class,
-                    String.class,
-                    Class.class,
-                    Class[].class,
-                    Boolean.TYPE));
+    public static final int NO_INDEX = -1;
 
     /**
-     * Lookup created in proxy context.
+     * Global ids of method signatures.
      */
-    private final MethodHandles.Lookup lookup;
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
 
     /**
-     * Class which declares the method.
+     * Next global id.
      */
-    private final Class<?> declaringClass;
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private static final Object[] NO_ATTACHMENTS = new Object[0];
 
     /**
-     * Name of the method.
+     * Specification of constructor.
      */
-    private final String name;
+    public static TypeSpec CONSTRUCTOR_SPEC = new TypeSpec(Void.TYPE,
+            Collections3.listOf(MethodHandles.Lookup.class,
+                    Class.class,
+                    String.class,
+                    Class.class,
+                    Class[].class,
+                    Boolean.TYPE,
+                    Integer.TYPE));
 
     /**
-     * Method return type.
+     * Lookup created in proxy context.
      */
-    private final Class<?> returnType;
+    private final MethodHandles.Lookup lookup;
 
     /**
-     * Method parameters.
+     * Interned descriptor of the method.
+     *
+     * @since 2.6.1
      */
-    private final List<Class<?>> parameterTypes;
+    private final MethodDescriptor descriptor;
 
     /**
-     * Whether the method has default implementation or not.
+     * Index of the method in the {@code method table} of the proxy class, or {@link #NO_INDEX}.
      *
-     * @since 2.5.5
+     * @since 2.6.1
      */
-    private final boolean hasDefaultImplementation;
+    private final int index;
 
     /**
-     * Method parameters (cached array).
+     * Attachment slots, indexed by {@link AttachmentKey#getIndex()}. The array is never modified
+     * after publication, a new array is published when an attachment is added.
      */
-    private final Class<?>[] parameterTypesArray;
+    private volatile Object[] attachments = MethodInfo.NO_ATTACHMENTS;
 
     public MethodInfo(MethodHandles.Lookup lookup,
                       Class<?> declaringClass,
@@ -104,14 +125,58 @@ public final class MethodInfo {
                       Class<?> returnType,
                       Class<?>[] parameterTypes,
                       boolean hasDefaultImplementation) {
+        this(lookup, declaringClass, name, returnType, parameterTypes, hasDefaultImplementation, NO_INDEX);
+    }
 
+    public MethodInfo(MethodHandles.Lookup lookup,
+                      Class<?> declaringClass,
+                      String name,
+                      Class<?> returnType,
+                      Class<?>[] parameterTypes,
+                      boolean hasDefaultImplementation,
+                      int index) {
+        this(lookup, MethodDescriptor.of(declaringClass, name, returnType, parameterTypes, hasDefaultImplementation), index);
+    }
+
+    public MethodInfo(MethodHandles.Lookup lookup,
+                      MethodDescriptor descriptor,
+                      int index) {
         this.lookup = lookup;
-        this.declaringClass = declaringClass;
-        this.name = name;
-        this.returnType = returnType;
-        this.parameterTypes = Collections.unmodifiableList(Arrays.asList(parameterTypes));
-        this.parameterTypesArray = parameterTypes.clone();
-        this.hasDefaultImplementation = hasDefaultImplementation;
+        this.descriptor = descriptor;
+        this.index = index;
+    }
+
+    /**
+     * Gets the global id of the method signature composed of {@code name}, {@code returnType} and
+     * {@code parameterTypes}. Ids are assigned in first-request order and never change during the
+     * life of the JVM, two methods with same name and descriptor always share the same id.
+     *
+     * @param name           Name of the method.
+     * @param returnType     Return type of the method.
+     * @param parameterTypes Parameter types of the method.
+     * @return Global id of the method signature.
+     * @since 2.6.1
+     */
+    public static int idOf(String name, Class<?> returnType, Class<?>... parameterTypes) {
+        String key = name + MethodType.methodType(returnType, parameterTypes).toMethodDescriptorString();
+        Integer id = MethodInfo.IDS.get(key);
+
+        if (id != null)
+            return id;
+
+        return MethodInfo.IDS.computeIfAbsent(key, k -> MethodInfo.NEXT_ID.getAndIncrement());
+    }
+
+    /**
+     * Gets the global id of the signature of {@code method}.
+     *
+     * @param method Method to get id.
+     * @return Global id of the signature of {@code method}.
+     * @see #idOf(String, Class, Class[])
+     * @since 2.6.1
+     */
+    public static int idOf(Method method) {
+        return MethodInfo.idOf(method.getName(), method.getReturnType(), method.getParameterTypes());
     }
 
     /**
@@ -124,39 +189,43 @@ public final class MethodInfo {
     }
 
     /**
-     * Gets {@link #declaringClass}.
+     * Gets the class which declares the method.
      *
-     * @return {@link #declaringClass}.
+     * @return Class which declares the method.
+     * @see MethodDescriptor#getDeclaringClass()
      */
     public Class<?> getDeclaringClass() {
-        return this.declaringClass;
+        return this.descriptor.getDeclaringClass();
     }
 
     /**
-     * Gets {@link #name}.
+     * Gets the name of the method.
      *
-     * @return {@link #name}.
+     * @return Name of the method.
+     * @see MethodDescriptor#getName()
      */
     public String getName() {
-        return this.name;
+        return this.descriptor.getName();
     }
 
     /**
-     * Gets {@link #returnType}.
+     * Gets the return type of the method.
      *
-     * @return {@link #returnType}.
+     * @return Return type of the method.
+     * @see MethodDescriptor#getReturnType()
      */
     public Class<?> getReturnType() {
-        return this.returnType;
+        return this.descriptor.getReturnType();
     }
 
     /**
-     * Gets {@link #parameterTypes}.
+     * Gets the unmodifiable list of parameter types of the method.
      *
-     * @return {@link #parameterTypes}.
+     * @return Unmodifiable list of parameter types of the method.
+     * @see MethodDescriptor#getParameterTypes()
      */
     public List<Class<?>> getParameterTypes() {
-        return this.parameterTypes;
+        return this.descriptor.getParameterTypes();
     }
 
     /**
@@ -166,7 +235,114 @@ public final class MethodInfo {
      * @since 2.5.5
      */
     public boolean hasDefaultImplementation() {
-        return this.hasDefaultImplementation;
+        return this.descriptor.hasDefaultImplementation();
+    }
+
+    /**
+     * Gets the index of the method in the {@code method table} of the proxy class. Indexes are
+     * dense (from {@code 0} to {@code table length - 1}) and deterministic for the same proxy
+     * shape.
+     *
+     * @return Index of the method in the {@code method table}, or {@link #NO_INDEX} if this
+     * instance is not part of a table.
+     * @since 2.6.1
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Gets the global id of the method signature.
+     *
+     * @return Global id of the method signature.
+     * @see #idOf(String, Class, Class[])
+     * @since 2.6.1
+     */
+    public int getId() {
+        return this.descriptor.getId();
+    }
+
+    /**
+     * Gets the interned {@link MethodDescriptor descriptor} of the method. All {@link MethodInfo}
+     * instances of the same method share the same descriptor, even across different proxy
+     * classes.
+     *
+     * @return Interned descriptor of the method.
+     * @since 2.6.1
+     */
+    public MethodDescriptor getDescriptor() {
+        return this.descriptor;
+    }
+
+    /**
+     * Gets the value attached to this method with {@code key}.
+     *
+     * @param key Attachment key.
+     * @param <T> Type of value.
+     * @return Value attached with {@code key}, or {@code null} if there is no value attached.
+     * @since 2.6.1
+     */
+    public @Nullable
+    <T> T getAttachment(@NotNull AttachmentKey<T> key) {
+        Object[] attachments = this.attachments;
+        int index = key.getIndex();
+
+        return index < attachments.length ? key.getType().cast(attachments[index]) : null;
+    }
+
+    /**
+     * Gets the value attached to this method with {@code key}, or computes, attaches and returns
+     * the value if there is no value attached. The {@code function} is called at most once per
+     * {@link MethodInfo} and key (unless it fails), concurrent callers wait for the computation.
+     *
+     * @param key      Attachment key.
+     * @param function Function which computes the value to attach, must not return {@code null}.
+     * @param <T>      Type of value.
+     * @return Value attached with {@code key}.
+     * @since 2.6.1
+     */
+    public @NotNull
+    <T> T computeAttachmentIfAbsent(@NotNull AttachmentKey<T> key,
+                                    @NotNull Function<? super MethodInfo, ? extends T> function) {
+        T value = this.getAttachment(key);
+
+        if (value != null)
+            return value;
+
+        synchronized (this) {
+            value = this.getAttachment(key);
+
+            if (value == null) {
+                value = Objects.requireNonNull(function.apply(this), "Computed attachment cannot be null!");
+                this.attach(key, value);
+            }
+
+            return value;
+        }
+    }
+
+    /**
+     * Attaches {@code value} to this method with {@code key}, replacing the previous value.
+     *
+     * @param key   Attachment key.
+     * @param value Value to attach, or {@code null} to remove the attached value.
+     * @param <T>   Type of value.
+     * @since 2.6.1
+     */
+    public <T> void setAttachment(@NotNull AttachmentKey<T> key, @Nullable T value) {
+        synchronized (this) {
+            this.attach(key, key.getType().cast(value));
+        }
+    }
+
+    private void attach(AttachmentKey<?> key, Object value) {
+        Object[] attachments = this.attachments;
+        int index = key.getIndex();
+
+        Object[] copy = Arrays.copyOf(attachments, Math.max(attachments.length, index + 1));
+        copy[index] = value;
+
+        this.attachments = copy;
     }
 
     /**
@@ -178,8 +354,8 @@ public final class MethodInfo {
     public @Nullable
     MethodHandle resolve(@NotNull Class<?> target) {
         try {
-            return this.lookup.findVirtual(target, this.name,
-                    MethodType.methodType(returnType, parameterTypesArray));
+            return this.lookup.findVirtual(target, this.getName(),
+                    this.methodType());
         } catch (NoSuchMethodException | IllegalAccessException e) {
             return null;
         }
@@ -194,8 +370,8 @@ public final class MethodInfo {
     public @NotNull
     MethodHandle resolveOrFail(@NotNull Class<?> target) {
         try {
-            return this.lookup.findVirtual(target, this.name,
-                    MethodType.methodType(returnType, parameterTypesArray));
+            return this.lookup.findVirtual(target, this.getName(),
+                    this.methodType());
         } catch (NoSuchMethodException | IllegalAccessException e) {
             throw RethrowException.rethrow(e);
         }
@@ -211,8 +387,8 @@ public final class MethodInfo {
     public @Nullable
     MethodHandle resolveSpecial(@NotNull Class<?> target, @NotNull Class<?> specialClass) {
         try {
-            return this.lookup.findSpecial(target, this.name,
-                    MethodType.methodType(returnType, parameterTypesArray),
+            return this.lookup.findSpecial(target, this.getName(),
+                    this.methodType(),
                     specialClass);
         } catch (NoSuchMethodException | IllegalAccessException e) {
             return null;
@@ -229,8 +405,8 @@ public final class MethodInfo {
     public @NotNull
     MethodHandle resolveSpecialOrFail(@NotNull Class<?> target, @NotNull Class<?> specialClass) {
         try {
-            return this.lookup.findSpecial(target, this.name,
-                    MethodType.methodType(returnType, parameterTypesArray),
+            return this.lookup.findSpecial(target, this.getName(),
+                    this.methodType(),
                     specialClass);
         } catch (NoSuchMethodException | IllegalAccessException e) {
             throw RethrowException.rethrow(e);
@@ -246,8 +422,8 @@ public final class MethodInfo {
     public @Nullable
     MethodHandle resolveStatic(@NotNull Class<?> target) {
         try {
-            return this.lookup.findStatic(target, this.name,
-                    MethodType.methodType(returnType, parameterTypesArray));
+            return this.lookup.findStatic(target, this.getName(),
+                    this.methodType());
         } catch (NoSuchMethodException | IllegalAccessException e) {
             return null;
         }
@@ -262,8 +438,8 @@ public final class MethodInfo {
     public @NotNull
     MethodHandle resolveStaticOrFail(@NotNull Class<?> target) {
         try {
-            return this.lookup.findStatic(target, this.name,
-                    MethodType.methodType(returnType, parameterTypesArray));
+            return this.lookup.findStatic(target, this.getName(),
+                    this.methodType());
         } catch (NoSuchMethodException | IllegalAccessException e) {
             throw RethrowException.rethrow(e);
         }
@@ -278,7 +454,7 @@ public final class MethodInfo {
     public @Nullable
     Method resolveToReflect(@NotNull Class<?> target) {
         try {
-            Method method = target.getMethod(this.getName(), this.parameterTypesArray);
+            Method method = target.getMethod(this.getName(), this.descriptor.parameterTypes());
 
             if (!method.isAccessible())
                 method.setAccessible(true);
@@ -298,7 +474,7 @@ public final class MethodInfo {
     public @NotNull
     Method resolveToReflectOrFail(@NotNull Class<?> target) {
         try {
-            Method method = target.getMethod(this.getName(), this.parameterTypesArray);
+            Method method = target.getMethod(this.getName(), this.descriptor.parameterTypes());
 
             if (!method.isAccessible())
                 method.setAccessible(true);
@@ -309,6 +485,10 @@ public final class MethodInfo {
         }
     }
 
+    private MethodType methodType() {
+        return MethodType.methodType(this.getReturnType(), this.descriptor.parameterTypes());
+    }
+
     /**
      * Invokes super method of {@code target}. This method resolves the {@code special} {@link
      * MethodHandle} of this method with {@code target} as declaring class and {@code specialClass}
@@ -0,0 +1,117 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.internals;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds values of constants defined by {@link com.github.jonathanxd.koresproxy.gen.GenEnv#defineConstant(Class,
+ * Object)} until the static initializer of the proxy class reads them into {@code static final}
+ * fields. Values are stored by the proxy generator before the proxy class is loaded and removed
+ * once every constant of the class was read, or when the class fails to load or initialize.
+ *
+ * Constants can only be taken by the owner class itself, which proves its identity with its own
+ * {@link MethodHandles.Lookup lookup}.
+ *
+ * This class is used by generated code and should not be used directly.
+ */
+public final class ClassConstants {
+
+    private static final Map<String, Entry> CONSTANTS = new ConcurrentHashMap<>();
+
+    private ClassConstants() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Stores {@code values} of constants of {@code owner} class.
+     *
+     * @param owner  Name of the class which owns the constants.
+     * @param values Values of constants.
+     */
+    static void define(String owner, Object[] values) {
+        if (values.length > 0)
+            CONSTANTS.put(owner, new Entry(values));
+    }
+
+    /**
+     * Removes constants of {@code owner} class, used when the class could not be loaded or
+     * initialized.
+     *
+     * @param owner Name of the class which owns the constants.
+     */
+    static void discard(String owner) {
+        CONSTANTS.remove(owner);
+    }
+
+    /**
+     * Takes the value of constant at {@code index} of the class of {@code caller}.
+     *
+     * @param caller Lookup of the class which owns the constant, must have private access.
+     * @param index  Index of the constant.
+     * @return Value of the constant.
+     * @throws IllegalArgumentException If {@code caller} does not have private access.
+     */
+    public static Object take(MethodHandles.Lookup caller, int index) {
+        if ((caller.lookupModes() & MethodHandles.Lookup.PRIVATE) == 0)
+            throw new IllegalArgumentException("Lookup '" + caller + "' does not have private access.");
+
+        String owner = caller.lookupClass().getName();
+        Entry entry = CONSTANTS.get(owner);
+
+        if (entry == null)
+            throw new IllegalStateException("No constants defined for class '" + owner + "'.");
+
+        Object value = entry.values[index];
+
+        synchronized (entry) {
+            if (!entry.taken[index]) {
+                entry.taken[index] = true;
+
+                if (--entry.remaining == 0)
+                    CONSTANTS.remove(owner, entry);
+            }
+        }
+
+        return value;
+    }
+
+    private static final class Entry {
+        private final Object[] values;
+        private final boolean[] taken;
+        private int remaining;
+
+        Entry(Object[] values) {
+            this.values = values.clone();
+            this.taken = new boolean[values.length];
+            this.remaining = values.length;
+        }
+    }
+}
@@ -33,6 +33,7 @@ import com.github.jonathanxd.iutils.exception.RethrowException;
 import com.github.jonathanxd.iutils.map.WeakValueHashMap;
 import com.github.jonathanxd.iutils.object.Pair;
 import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.Instructions;
 import com.github.jonathanxd.kores.MutableInstructions;
 import com.github.jonathanxd.kores.Types;
 import com.github.jonathanxd.kores.base.Access;
@@ -68,6 +69,8 @@ import com.github.jonathanxd.koresproxy.Debug;
 import com.github.jonathanxd.koresproxy.InvokeSuper;
 import com.github.jonathanxd.koresproxy.KoresProxy;
 import com.github.jonathanxd.koresproxy.ProxyData;
+import com.github.jonathanxd.koresproxy.ProxyInstance;
+import com.github.jonathanxd.koresproxy.SwappableProxy;
 import com.github.jonathanxd.koresproxy.gen.Custom;
 import com.github.jonathanxd.koresproxy.gen.CustomGen;
 import com.github.jonathanxd.koresproxy.gen.CustomHandlerGenerator;
@@ -96,6 +99,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.stream.Collectors;
 
 /**
@@ -107,10 +111,29 @@ import java.util.stream.Collectors;
  * InvocationHandler} and a {@link MethodHandles.Lookup lookup field} used to lookup and invoke
  * other methods from {@link InvocationHandler} context.
  *
- * Generated proxy class have also a {@code method table}, this is not a true table, is only a
- * mapping of method to {@link MethodInfo}. Each method has it own {@link MethodInfo}, which is a
- * constant and contains method details, the {@link MethodInfo} is provided to {@link
- * InvocationHandler}.
+ * Generated proxy class have also a {@code method table}, a static array of {@link MethodInfo}
+ * sorted in a deterministic order. Each method has it own {@link MethodInfo}, which is a constant
+ * and contains method details and the {@link MethodInfo#getIndex() index} of the method in the
+ * table, the {@link MethodInfo} is provided to {@link InvocationHandler}.
+ *
+ * Customs may also define {@code static final} constants through {@link GenEnv#defineConstant(Class,
+ * Object)}, the values are handed to the static initializer of the proxy class through {@link
+ * ClassConstants}.
+ *
+ * When {@link ProxyData#isConstantHandler()} is enabled, the {@link InvocationHandler} common field is
+ * a {@code static final} constant of the proxy class typed to the concrete handler class (when it is
+ * accessible), and the handler is invoked through {@code invokevirtual} instead of {@code
+ * invokeinterface}. In this mode the {@link ProxyData} common field is also a {@code static final}
+ * constant, the handler and the proxy data are still received by the constructors, but are not
+ * stored in the instance.
+ *
+ * When {@link ProxyData#isMutableHandler()} is enabled, the {@link InvocationHandler} common field is
+ * {@code volatile} instead of {@code final} and the proxy class implements {@link SwappableProxy}.
+ * The handler is compared and set through a {@code static final} {@link AtomicReferenceFieldUpdater}
+ * of this field, created by the static initializer of the proxy class.
+ *
+ * {@link Custom.Property#isStatic() Static properties} are also generated as {@code static final}
+ * fields, so only the state which is truly per-instance is stored in proxy instances.
  */
 public class ProxyGenerator {
 
@@ -120,8 +143,21 @@ public class ProxyGenerator {
     private static final String IH_NAME = "$InvocationHandler$KoresProxy";
     private static final Type IH_TYPE = InvocationHandler.class;
 
+    private static final String IH_UPDATER_NAME = "$InvocationHandler$Updater$KoresProxy";
+    private static final Type IH_UPDATER_TYPE = AtomicReferenceFieldUpdater.class;
+
+    private static final String MT_NAME = "$MethodTable$KoresProxy";
+    private static final Type MT_TYPE = MethodInfo[].class;
+
     private static final Map<ProxyData, Class<?>> CACHE = Collections.synchronizedMap(new WeakValueHashMap<>());
 
+    private static final ClassValue<Boolean> IS_PROXY = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return ProxyInstance.class.isAssignableFrom(type) && type.isAnnotationPresent(Proxy.class);
+        }
+    };
+
     private static long PROXY_COUNT = 0;
 
     /**
@@ -131,7 +167,7 @@ public class ProxyGenerator {
         Objects.requireNonNull(o, "Argument 'o' cannot be null!");
         Conditions.require(!Objects.equals(o.getClass(), Class.class), "Could not check if a class is a proxy instance. This check must only occur against objects.");
 
-        return o.getClass().isAnnotationPresent(Proxy.class);
+        return o instanceof ProxyInstance && ProxyGenerator.IS_PROXY.get(o.getClass());
     }
 
     /**
@@ -140,7 +176,7 @@ public class ProxyGenerator {
     public static boolean isProxy(Class<?> cl) {
         Objects.requireNonNull(cl, "Argument 'cl' cannot be null!");
 
-        return cl.isAnnotationPresent(Proxy.class);
+        return ProxyGenerator.IS_PROXY.get(cl);
     }
 
     /**
@@ -162,8 +198,8 @@ public class ProxyGenerator {
     }
 
     /**
-     * Returns the invocation handler of the proxy {@code o}. This method uses reflection to fetch
-     * the invocation handler from {@code common fields}.
+     * Returns the invocation handler of the proxy {@code o}. The invocation handler is read through
+     * {@link ProxyInstance#getInvocationHandler$KoresProxy()}.
      */
     public static InvocationHandler getInvocationHandler(Object o) {
 
@@ -172,25 +208,30 @@ public class ProxyGenerator {
         if (!ProxyGenerator.isProxy(o))
             throw new IllegalArgumentException("Object '" + o + "' isn't a Proxy!");
 
-        Class<?> aClass = o.getClass();
+        return ((ProxyInstance) o).getInvocationHandler$KoresProxy();
+    }
 
-        try {
-            Field declaredField = aClass.getDeclaredField(IH_NAME);
+    /**
+     * Replaces the invocation handler of the proxy {@code o}, the proxy must have been created with
+     * {@link ProxyData#isMutableHandler() mutable handler}.
+     */
+    public static void setInvocationHandler(Object o, InvocationHandler handler) {
 
-            if (!declaredField.getType().equals(InvocationHandler.class))
-                throw new IllegalStateException("Illegal field type: '" + declaredField.getType() + "'!");
+        Objects.requireNonNull(o, "Argument 'o' cannot be null!");
+        Objects.requireNonNull(handler, "Argument 'handler' cannot be null!");
 
-            declaredField.setAccessible(true);
+        if (!ProxyGenerator.isProxy(o))
+            throw new IllegalArgumentException("Object '" + o + "' isn't a Proxy!");
 
-            return (InvocationHandler) declaredField.get(o);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        if (!(o instanceof SwappableProxy))
+            throw new IllegalArgumentException("Proxy '" + o.getClass() + "' has not a mutable handler!");
+
+        ((SwappableProxy) o).setInvocationHandler$KoresProxy(handler);
     }
 
     /**
-     * Returns the proxy data of the proxy {@code o}. This method uses reflection to fetch the proxy
-     * data from {@code common fields}.
+     * Returns the proxy data of the proxy {@code o}. The proxy data is read through {@link
+     * ProxyInstance#getProxyData$KoresProxy()}.
      */
     public static ProxyData getProxyData(Object o) {
 
@@ -199,17 +240,30 @@ public class ProxyGenerator {
         if (!ProxyGenerator.isProxy(o))
             throw new IllegalArgumentException("Object '" + o + "' isn't a Proxy!");
 
-        Class<?> aClass = o.getClass();
+        return ((ProxyInstance) o).getProxyData$KoresProxy();
+    }
+
+    /**
+     * Returns a copy of the {@code method table} of the proxy class {@code cl}. The element at
+     * position {@code i} is the {@link MethodInfo} with {@link MethodInfo#getIndex() index} {@code
+     * i}. This method uses reflection to fetch the table.
+     */
+    public static MethodInfo[] getMethodTable(Class<?> cl) {
+
+        Objects.requireNonNull(cl, "Argument 'cl' cannot be null!");
+
+        if (!ProxyGenerator.isProxy(cl))
+            throw new IllegalArgumentException("Class '" + cl + "' isn't a Proxy!");
 
         try {
-            Field declaredField = aClass.getDeclaredField(PD_NAME);
+            Field declaredField = cl.getDeclaredField(MT_NAME);
 
-            if (!declaredField.getType().equals(ProxyData.class))
+            if (!declaredField.getType().equals(MethodInfo[].class))
                 throw new IllegalStateException("Illegal field type: '" + declaredField.getType() + "'!");
 
             declaredField.setAccessible(true);
 
-            return (ProxyData) declaredField.get(o);
+            return ((MethodInfo[]) declaredField.get(null)).clone();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -222,8 +276,31 @@ public class ProxyGenerator {
      * @param args     Arguments to pass to constructor.
      */
     public static Object create(ProxyData proxyData, Class<?>[] argTypes, Object[] args) {
-        Class<?> construct = ProxyGenerator.construct(proxyData);
+        return ProxyGenerator.create(ProxyGenerator.construct(proxyData), proxyData, argTypes, args);
+    }
+
+    /**
+     * Gets the proxy class of proxy data, generating it if needed.
+     *
+     * @param proxyData Proxy data.
+     * @return Proxy class of {@code proxyData}.
+     * @since 2.6.1
+     */
+    public static Class<?> getProxyClass(ProxyData proxyData) {
+        return ProxyGenerator.construct(proxyData);
+    }
 
+    /**
+     * Creates the proxy instance of a proxy class previously {@link #getProxyClass(ProxyData)
+     * resolved} from {@code proxyData}.
+     *
+     * @param construct Proxy class of {@code proxyData}.
+     * @param proxyData Proxy data.
+     * @param argTypes  Types of argument of constructor to invoke to construct the proxy instance.
+     * @param args      Arguments to pass to constructor.
+     * @since 2.6.1
+     */
+    public static Object create(Class<?> construct, ProxyData proxyData, Class<?>[] argTypes, Object[] args) {
         try {
             List<Class<?>> types = new ArrayList<>();
             List<Object> arguments = new ArrayList<>();
@@ -270,7 +347,9 @@ public class ProxyGenerator {
         }
 
         Type superType = proxyData.getSuperClass();
-        List<Type> interfaces = Arrays.asList(proxyData.getInterfaces());
+        List<Type> interfaces = new ArrayList<>(Arrays.asList(proxyData.getInterfaces()));
+
+        interfaces.add(proxyData.isMutableHandler() ? SwappableProxy.class : ProxyInstance.class);
 
         boolean packagePrivate = false;
         String package_;
@@ -284,10 +363,12 @@ public class ProxyGenerator {
             packagePrivate = true;
         }
 
+        String qualifiedName = package_ + "." + ProxyGenerator.getProxyName();
+
         ClassDeclaration.Builder proxyClassBuilder = ClassDeclaration.Builder.builder()
                 .modifiers(KoresModifier.PUBLIC, KoresModifier.SYNTHETIC)
                 .annotations(Factories.runtimeAnnotation(Proxy.class))
-                .qualifiedName(package_ + "." + ProxyGenerator.getProxyName())
+                .qualifiedName(qualifiedName)
                 .superClass(superType)
                 .implementations(interfaces);
 
@@ -295,16 +376,20 @@ public class ProxyGenerator {
         List<ConstructorDeclaration> constructors = new ArrayList<>();
         List<MethodDeclaration> methods = new ArrayList<>();
 
-        fields.addAll(ProxyGenerator.generateProxyCommonFields());
+        ConstantPool constantPool = new ConstantPool();
+
+        fields.addAll(ProxyGenerator.generateProxyCommonFields(proxyData, constantPool));
         fields.addAll(ProxyGenerator.generateFields(proxyData));
 
         constructors.addAll(ProxyGenerator.generateConstructor(packagePrivate, proxyData));
 
         Pair<List<FieldDeclaration>, List<MethodDeclaration>> listListPair =
-                ProxyGenerator.generateMethods(packagePrivate, proxyData);
+                ProxyGenerator.generateMethods(packagePrivate, proxyData, constantPool);
 
         fields.addAll(listListPair.getFirst());
         methods.addAll(listListPair.getSecond());
+        methods.addAll(ProxyGenerator.generateProxyInstanceMethods(proxyData, constantPool));
+        fields.addAll(constantPool.getFields());
 
         proxyClassBuilder = proxyClassBuilder.fields(fields).constructors(constructors).methods(methods);
 
@@ -320,7 +405,19 @@ public class ProxyGenerator {
             ProxyGenerator.saveProxy(bytecodeClass);
         }
 
-        Class<?> aClass = Util.tryLoad(proxyData.getClassLoader(), gen.get(0));
+        ClassConstants.define(qualifiedName, constantPool.getValues());
+
+        Class<?> aClass;
+
+        try {
+            aClass = Util.tryLoad(proxyData.getClassLoader(), gen.get(0));
+            // Initializes the class now, so constants are taken (or discarded) before it is cached
+            Class.forName(aClass.getName(), true, aClass.getClassLoader());
+        } catch (Throwable t) {
+            throw RethrowException.rethrow(t);
+        } finally {
+            ClassConstants.discard(qualifiedName);
+        }
 
         ProxyGenerator.CACHE.put(proxyData, aClass);
 
@@ -328,15 +425,67 @@ public class ProxyGenerator {
     }
 
     /**
-     * Generates a list with {@code common fields}.
+     * Generates a list with {@code common fields}. If {@link ProxyData#isConstantHandler()} is
+     * enabled, the {@link InvocationHandler} and {@link ProxyData} fields are defined in {@code
+     * constantPool} instead, as all instances of the proxy class share the same handler and an
+     * equal {@link ProxyData}.
      */
-    private static List<FieldDeclaration> generateProxyCommonFields() {
+    private static List<FieldDeclaration> generateProxyCommonFields(ProxyData proxyData, ConstantPool constantPool) {
+        if (proxyData.isConstantHandler()) {
+            constantPool.define(IH_NAME, ProxyGenerator.getHandlerType(proxyData), proxyData.getHandler());
+            constantPool.define(PD_NAME, ProxyData.class, proxyData);
+
+            return Collections.emptyList();
+        }
+
+        if (proxyData.isMutableHandler()) {
+            // newUpdater is caller sensitive, so the updater is created by the proxy class itself.
+            Instruction proxyClass = InvocationFactory.invokeVirtual(MethodHandles.Lookup.class,
+                    InvocationFactory.invokeStatic(MethodHandles.class, "lookup",
+                            Factories.typeSpec(MethodHandles.Lookup.class), Collections.emptyList()),
+                    "lookupClass",
+                    Factories.typeSpec(Class.class),
+                    Collections.emptyList());
+
+            return Collections3.listOf(
+                    PartFactory.fieldDec().modifiers(KoresModifier.PRIVATE, KoresModifier.VOLATILE).type(IH_TYPE).name(IH_NAME).build(),
+                    PartFactory.fieldDec().modifiers(KoresModifier.PRIVATE, KoresModifier.FINAL).type(PD_TYPE).name(PD_NAME).build(),
+                    PartFactory.fieldDec().modifiers(KoresModifier.PRIVATE, KoresModifier.STATIC, KoresModifier.FINAL)
+                            .type(IH_UPDATER_TYPE)
+                            .name(IH_UPDATER_NAME)
+                            .value(InvocationFactory.invokeStatic(AtomicReferenceFieldUpdater.class, "newUpdater",
+                                    Factories.typeSpec(AtomicReferenceFieldUpdater.class, Class.class, Class.class, String.class),
+                                    Collections3.listOf(proxyClass, Literals.CLASS(IH_TYPE), Literals.STRING(IH_NAME))))
+                            .build()
+            );
+        }
+
         return Collections3.listOf(
                 PartFactory.fieldDec().modifiers(KoresModifier.PRIVATE, KoresModifier.FINAL).type(IH_TYPE).name(IH_NAME).build(),
                 PartFactory.fieldDec().modifiers(KoresModifier.PRIVATE, KoresModifier.FINAL).type(PD_TYPE).name(PD_NAME).build()
         );
     }
 
+    /**
+     * Gets the type of the {@link InvocationHandler} constant field. This is the concrete class of
+     * the handler if it is public and visible from the class loader of the proxy class, otherwise
+     * this is {@link InvocationHandler}.
+     */
+    private static Class<?> getHandlerType(ProxyData proxyData) {
+        Class<?> handlerClass = proxyData.getHandler().getClass();
+
+        if (!Modifier.isPublic(handlerClass.getModifiers()) || handlerClass.isSynthetic())
+            return InvocationHandler.class;
+
+        try {
+            if (Class.forName(handlerClass.getName(), false, proxyData.getClassLoader()) == handlerClass)
+                return handlerClass;
+        } catch (ClassNotFoundException | LinkageError ignored) {
+        }
+
+        return InvocationHandler.class;
+    }
+
     /**
      * Generates fields for properties.
      */
@@ -345,7 +494,13 @@ public class ProxyGenerator {
                 .map(Custom::getAdditionalProperties)
                 .flatMap(Collection::stream)
                 .map(variableRef -> FieldDeclaration.Builder.builder()
-                        .modifiers(KoresModifier.PRIVATE, KoresModifier.FINAL)
+                        .modifiers(variableRef.isStatic()
+                                ? new KoresModifier[]{KoresModifier.PRIVATE, KoresModifier.STATIC, KoresModifier.FINAL}
+                                : variableRef.isExposed()
+                                ? new KoresModifier[]{KoresModifier.PUBLIC, KoresModifier.VOLATILE}
+                                : variableRef.isMutable()
+                                ? new KoresModifier[]{KoresModifier.PRIVATE, KoresModifier.VOLATILE}
+                                : new KoresModifier[]{KoresModifier.PRIVATE, KoresModifier.FINAL})
                         .type(variableRef.getSpec().getType())
                         .name(Util.getAdditionalPropertyFieldName(variableRef.getSpec()))
                         .value(variableRef.getInitialize().orElse(Nothing.INSTANCE))
@@ -461,11 +616,13 @@ public class ProxyGenerator {
                 }
 
                 // Define common fields value
-                constructorSource.add(Factories.setThisFieldValue(IH_TYPE, IH_NAME,
-                        Factories.accessVariable(IH_TYPE, IH_NAME)));
+                if (!proxyData.isConstantHandler()) {
+                    constructorSource.add(Factories.setThisFieldValue(IH_TYPE, IH_NAME,
+                            Factories.accessVariable(IH_TYPE, IH_NAME)));
 
-                constructorSource.add(Factories.setThisFieldValue(PD_TYPE, PD_NAME,
-                        Factories.accessVariable(PD_TYPE, PD_NAME)));
+                    constructorSource.add(Factories.setThisFieldValue(PD_TYPE, PD_NAME,
+                            Factories.accessVariable(PD_TYPE, PD_NAME)));
+                }
 
 
                 for (VariableRef additionalProperty : additionalProperties) {
@@ -494,7 +651,7 @@ public class ProxyGenerator {
      * @see ProxyGenerator
      */
     private static Pair<List<FieldDeclaration>, List<MethodDeclaration>>
-    generateMethods(boolean packagePrivate, ProxyData proxyData) {
+    generateMethods(boolean packagePrivate, ProxyData proxyData, ConstantPool constantPool) {
 
         List<FieldDeclaration> fields = new ArrayList<>();
         List<MethodDeclaration> methods = new ArrayList<>();
@@ -524,6 +681,7 @@ public class ProxyGenerator {
         }
 
         methodSet.removeIf(method -> Util.contains(methodSet, method));
+        methodSet.removeIf(ProxyGenerator::isProxyInstanceMethod);
 
         List<Method> methodList = methodSet.stream().filter(
                 method -> !((!Modifier.isPublic(method.getModifiers())
@@ -532,8 +690,10 @@ public class ProxyGenerator {
                         || Modifier.isFinal(method.getModifiers())) && !(isPackagePrivate(method.getModifiers()) && !packagePrivate)).collect(Collectors.toList());
 
         methodList.removeIf(method -> proxyData.getCustomView().stream().anyMatch(it -> !it.generateMethod(method)));
+        methodList.sort(Util.METHOD_ORDER);
 
         List<FieldDeclaration> cacheList = new ArrayList<>(methodList.size());
+        List<Instruction> methodTable = new ArrayList<>(methodList.size());
 
         for (int i = 0; i < methodList.size(); i++) {
 
@@ -551,15 +711,28 @@ public class ProxyGenerator {
                     .modifiers(KoresModifier.PRIVATE, KoresModifier.STATIC, KoresModifier.FINAL)
                     .name("$Method$" + i)
                     .type(MethodInfo.class)
-                    .value(shouldCache ? Util.methodToReflectInvocation(m, lookupFieldRef) : Literals.NULL)
+                    .value(shouldCache ? Util.methodToReflectInvocation(m, lookupFieldRef, i) : Literals.NULL)
                     .build();
 
-            if (shouldCache)
+            if (shouldCache) {
                 fields.add(fieldDeclaration);
+                methodTable.add(Factories.accessStaticField(MethodInfo.class, fieldDeclaration.getName()));
+            } else {
+                methodTable.add(Util.methodToReflectInvocation(m, lookupFieldRef, i));
+            }
 
             cacheList.add(fieldDeclaration);
         }
 
+        fields.add(FieldDeclaration.Builder.builder()
+                .modifiers(KoresModifier.PRIVATE, KoresModifier.STATIC, KoresModifier.FINAL)
+                .name(MT_NAME)
+                .type(MT_TYPE)
+                .value(Factories.createArray(MT_TYPE,
+                        Collections.singletonList(Literals.INT(methodTable.size())),
+                        methodTable))
+                .build());
+
         for (int i = 0; i < methodList.size(); i++) {
             Method method = methodList.get(i);
 
@@ -567,7 +740,8 @@ public class ProxyGenerator {
 
             MutableInstructions methodSource = (MutableInstructions) methodDeclaration.getBody();
 
-            generateMethodBody(proxyData, i, method, cacheList.get(i), methodDeclaration, methodSource);
+            generateMethodBody(proxyData, i, method, cacheList.get(i), methodDeclaration, methodSource, constantPool,
+                    fields, methods);
 
             methods.add(methodDeclaration);
         }
@@ -586,18 +760,25 @@ public class ProxyGenerator {
      * @param cacheField        Field with cached specification of {@code m}.
      * @param methodDeclaration Declaration of the proxy method.
      * @param methodSource      Source of the method. Instruction will be added to this source.
+     * @param constantPool      Pool of constants of the proxy class.
+     * @param fields            Fields of the proxy class, additional fields are added to this list.
+     * @param methods           Methods of the proxy class, additional methods are added to this
+     *                          list.
      */
     private static void generateMethodBody(ProxyData proxyData,
                                            int i,
                                            Method m,
                                            FieldDeclaration cacheField,
                                            MethodDeclaration methodDeclaration,
-                                           MutableInstructions methodSource) {
+                                           MutableInstructions methodSource,
+                                           ConstantPool constantPool,
+                                           List<FieldDeclaration> fields,
+                                           List<MethodDeclaration> methods) {
         FieldAccess lookupAccess = Factories.accessStaticField(MethodHandles.Lookup.class, "lookup");
         FieldAccess methodInfoAccess = Factories.accessStaticField(MethodInfo.class, "$Method$" + i);
 
-        FieldAccess proxyDataAccess = Factories.accessThisField(PD_TYPE, PD_NAME);
-        FieldAccess invocationHandlerAccess = Factories.accessThisField(IH_TYPE, IH_NAME);
+        FieldAccess proxyDataAccess = ProxyGenerator.proxyDataAccess(proxyData, constantPool);
+        FieldAccess invocationHandlerAccess = ProxyGenerator.invocationHandlerAccess(proxyData, constantPool);
 
         boolean shouldGenInvk = true;
 
@@ -619,6 +800,21 @@ public class ProxyGenerator {
                         instructions.addAll(customGen.gen(this.getMethod(), this.getMethodDeclaration(), returnVariable));
                     }
                 }
+
+                @Override
+                public FieldAccess defineConstant(Class<?> type, Object value) {
+                    return constantPool.define(type, value);
+                }
+
+                @Override
+                public void addField(FieldDeclaration field) {
+                    fields.add(field);
+                }
+
+                @Override
+                public void addMethod(MethodDeclaration method) {
+                    methods.add(method);
+                }
             };
 
             methodSource.addAll(customHandler.handle(m, methodDeclaration, genEnv));
@@ -651,7 +847,7 @@ public class ProxyGenerator {
                         lookupAccess.getLocalization(),
                         lookupAccess.getTarget(),
                         lookupAccess.getType(),
-                        lookupAccess.getName()));
+                        lookupAccess.getName()), i);
 
             List<? extends Instruction> arguments = Collections3.listOf(
                     Access.THIS,
@@ -660,8 +856,17 @@ public class ProxyGenerator {
                     proxyDataAccess
             );
 
-            Instruction part = InvocationFactory.invokeInterface(
-                    IH_TYPE,
+            Type handlerType = invocationHandlerAccess.getType();
+
+            Instruction part = ImplicitKoresType.isInterface(handlerType)
+                    ? InvocationFactory.invokeInterface(
+                    handlerType,
+                    invocationHandlerAccess,
+                    InvocationHandler.Info.METHOD_NAME,
+                    InvocationHandler.Info.SPEC,
+                    arguments)
+                    : InvocationFactory.invokeVirtual(
+                    handlerType,
                     invocationHandlerAccess,
                     InvocationHandler.Info.METHOD_NAME,
                     InvocationHandler.Info.SPEC,
@@ -688,6 +893,118 @@ public class ProxyGenerator {
         }
     }
 
+    /**
+     * Gets the access to the {@link ProxyData} common field.
+     */
+    private static FieldAccess proxyDataAccess(ProxyData proxyData, ConstantPool constantPool) {
+        return proxyData.isConstantHandler()
+                ? constantPool.get(PD_NAME)
+                : Factories.accessThisField(PD_TYPE, PD_NAME);
+    }
+
+    /**
+     * Gets the access to the {@link InvocationHandler} common field.
+     */
+    private static FieldAccess invocationHandlerAccess(ProxyData proxyData, ConstantPool constantPool) {
+        return proxyData.isConstantHandler()
+                ? constantPool.get(IH_NAME)
+                : Factories.accessThisField(IH_TYPE, IH_NAME);
+    }
+
+    /**
+     * Returns true if {@code method} is implemented by {@link #generateProxyInstanceMethods(ProxyData,
+     * ConstantPool)}.
+     */
+    private static boolean isProxyInstanceMethod(Method method) {
+        for (Method m : SwappableProxy.class.getMethods()) {
+            if (m.getName().equals(method.getName())
+                    && Arrays.equals(m.getParameterTypes(), method.getParameterTypes()))
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Generates the implementation of {@link ProxyInstance} methods.
+     */
+    private static List<MethodDeclaration> generateProxyInstanceMethods(ProxyData proxyData, ConstantPool constantPool) {
+        try {
+            MethodDeclaration getHandler = Util.fromMethod(ProxyInstance.class.getMethod("getInvocationHandler$KoresProxy"));
+            MethodDeclaration getData = Util.fromMethod(ProxyInstance.class.getMethod("getProxyData$KoresProxy"));
+            MethodDeclaration getProperty = Util.fromMethod(ProxyInstance.class.getMethod("getProperty$KoresProxy", String.class));
+
+            FieldAccess invocationHandlerAccess = ProxyGenerator.invocationHandlerAccess(proxyData, constantPool);
+
+            ((MutableInstructions) getHandler.getBody()).add(Factories.returnValue(IH_TYPE,
+                    Factories.cast(invocationHandlerAccess.getType(), IH_TYPE, invocationHandlerAccess)));
+
+            ((MutableInstructions) getData.getBody()).add(Factories.returnValue(PD_TYPE,
+                    ProxyGenerator.proxyDataAccess(proxyData, constantPool)));
+
+            MutableInstructions propertySource = (MutableInstructions) getProperty.getBody();
+            KoresParameter name = getProperty.getParameters().get(0);
+            Set<String> names = new HashSet<>();
+
+            for (Custom custom : proxyData.getCustomView()) {
+                for (Custom.Property property : custom.getAdditionalProperties()) {
+                    String propertyName = property.getSpec().getName();
+
+                    if (!names.add(propertyName))
+                        continue;
+
+                    propertySource.add(Factories.ifStatement(Factories.checkTrue(
+                            InvocationFactory.invokeVirtual(String.class,
+                                    Literals.STRING(propertyName),
+                                    "equals",
+                                    Factories.typeSpec(Boolean.TYPE, Object.class),
+                                    Collections.singletonList(Factories.accessVariable(name.getType(), name.getName())))),
+                            Instructions.fromPart(Factories.returnValue(Object.class,
+                                    Factories.cast(property.getSpec().getType(), Object.class, property.getAccess())))));
+                }
+            }
+
+            propertySource.add(Factories.returnValue(Object.class, Literals.NULL));
+
+            if (proxyData.isMutableHandler()) {
+                MethodDeclaration setHandler = Util.fromMethod(SwappableProxy.class.getMethod("setInvocationHandler$KoresProxy", InvocationHandler.class));
+                KoresParameter handler = setHandler.getParameters().get(0);
+
+                ((MutableInstructions) setHandler.getBody()).addAll(Instructions.fromVarArgs(
+                        Factories.setThisFieldValue(IH_TYPE, IH_NAME, Factories.cast(Object.class, IH_TYPE,
+                                InvocationFactory.invokeStatic(Objects.class, "requireNonNull",
+                                        Factories.typeSpec(Object.class, Object.class),
+                                        Collections.singletonList(Factories.accessVariable(handler.getType(), handler.getName()))))),
+                        Factories.returnVoid()
+                ));
+
+                MethodDeclaration compareAndSetHandler = Util.fromMethod(SwappableProxy.class.getMethod("compareAndSetInvocationHandler$KoresProxy",
+                        InvocationHandler.class, InvocationHandler.class));
+                KoresParameter expected = compareAndSetHandler.getParameters().get(0);
+                KoresParameter newHandler = compareAndSetHandler.getParameters().get(1);
+
+                ((MutableInstructions) compareAndSetHandler.getBody()).add(Factories.returnValue(Boolean.TYPE,
+                        InvocationFactory.invokeVirtual(AtomicReferenceFieldUpdater.class,
+                                Factories.accessStaticField(IH_UPDATER_TYPE, IH_UPDATER_NAME),
+                                "compareAndSet",
+                                Factories.typeSpec(Boolean.TYPE, Object.class, Object.class, Object.class),
+                                Collections3.listOf(
+                                        Access.THIS,
+                                        Factories.accessVariable(expected.getType(), expected.getName()),
+                                        InvocationFactory.invokeStatic(Objects.class, "requireNonNull",
+                                                Factories.typeSpec(Object.class, Object.class),
+                                                Collections.singletonList(Factories.accessVariable(newHandler.getType(), newHandler.getName())))
+                                ))));
+
+                return Collections3.listOf(getHandler, getData, getProperty, setHandler, compareAndSetHandler);
+            }
+
+            return Collections3.listOf(getHandler, getData, getProperty);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Saves the proxy classes to save directory.
      */
@@ -739,4 +1056,67 @@ public class ProxyGenerator {
     public static boolean isPackagePrivate(int modifiers) {
         return !Modifier.isPublic(modifiers) && !Modifier.isProtected(modifiers) && !Modifier.isPrivate(modifiers);
     }
+
+    /**
+     * Constants of a proxy class.
+     *
+     * @see GenEnv#defineConstant(Class, Object)
+     */
+    private static final class ConstantPool {
+        private static final String CONSTANT_NAME = "$Constant$KoresProxy$";
+
+        private final List<FieldDeclaration> fields = new ArrayList<>();
+        private final List<Object> values = new ArrayList<>();
+
+        FieldAccess define(Class<?> type, Object value) {
+            for (int i = 0; i < this.values.size(); i++) {
+                FieldDeclaration field = this.fields.get(i);
+
+                if (this.values.get(i) == value && ImplicitKoresType.is(field.getType(), type))
+                    return Factories.accessStaticField(type, field.getName());
+            }
+
+            return this.define(CONSTANT_NAME + this.values.size(), type, value);
+        }
+
+        FieldAccess define(String name, Class<?> type, Object value) {
+            int index = this.values.size();
+
+            this.fields.add(FieldDeclaration.Builder.builder()
+                    .modifiers(KoresModifier.PRIVATE, KoresModifier.STATIC, KoresModifier.FINAL)
+                    .type(type)
+                    .name(name)
+                    .value(Factories.cast(Object.class, type,
+                            InvocationFactory.invokeStatic(ClassConstants.class,
+                                    "take",
+                                    Factories.typeSpec(Object.class, MethodHandles.Lookup.class, Integer.TYPE),
+                                    Collections3.listOf(
+                                            InvocationFactory.invokeStatic(MethodHandles.class,
+                                                    "lookup",
+                                                    new TypeSpec(MethodHandles.Lookup.class),
+                                                    Collections.emptyList()),
+                                            Literals.INT(index)))))
+                    .build());
+            this.values.add(value);
+
+            return Factories.accessStaticField(type, name);
+        }
+
+        FieldAccess get(String name) {
+            for (FieldDeclaration field : this.fields) {
+                if (field.getName().equals(name))
+                    return Factories.accessStaticField(field.getType(), field.getName());
+            }
+
+            throw new IllegalArgumentException("Constant '" + name + "' is not defined!");
+        }
+
+        List<FieldDeclaration> getFields() {
+            return this.fields;
+        }
+
+        Object[] getValues() {
+            return this.values.toArray();
+        }
+    }
 }
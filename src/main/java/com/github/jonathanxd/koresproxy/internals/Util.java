@@ -61,12 +61,15 @@ import com.github.jonathanxd.iutils.exception.RethrowException;
 import com.github.jonathanxd.iutils.object.Either;
 import com.github.jonathanxd.iutils.object.Try;
 
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -92,9 +95,18 @@ public class Util {
     static KoresType LIST_OF_CUSTOMS = Generic.type(List.class).of(
             Generic.wildcard().extends$(Custom.class));
 
-    static Instruction methodToReflectInvocation(Method m, FieldRef lookupFieldRef) {
+    /**
+     * Order of methods in the {@code method table} of proxy classes, methods are sorted by name,
+     * then by descriptor and then by declaring class name, so the table is deterministic for the
+     * same set of methods.
+     */
+    static final Comparator<Method> METHOD_ORDER = Comparator.comparing(Method::getName)
+            .thenComparing(m -> MethodType.methodType(m.getReturnType(), m.getParameterTypes()).toMethodDescriptorString())
+            .thenComparing(m -> m.getDeclaringClass().getName());
+
+    static Instruction methodToReflectInvocation(Method m, FieldRef lookupFieldRef, int index) {
         return InvocationFactory.invokeConstructor(MethodInfo.class,
-                MethodInfo.CONSTRUCTOR_SPEC, // Lookup, Class, String, Class, Class[]
+                MethodInfo.CONSTRUCTOR_SPEC, // Lookup, Class, String, Class, Class[], boolean, int
                 Collections3.listOf(
                         PartFactory.fieldAccess().base(lookupFieldRef).build(),
                         Literals.CLASS(m.getDeclaringClass()),
@@ -105,7 +117,8 @@ public class Util {
                                 Collections.singletonList(Literals.INT(m.getParameterCount())),
                                 Arrays.stream(m.getParameterTypes()).map(Literals::CLASS).collect(Collectors.toList())
                         ),
-                        Literals.BOOLEAN(m.isDefault())
+                        Literals.BOOLEAN(m.isDefault()),
+                        Literals.INT(index)
                 )
         );
     }
@@ -306,6 +319,85 @@ public class Util {
         }
     }
 
+    /**
+     * Gets the single abstract method of functional interface {@code itf}. Abstract methods which
+     * are public methods of {@link Object} are not considered.
+     *
+     * @param itf Interface to find the functional method.
+     * @return The functional method of {@code itf}, or {@code null} if {@code itf} is not a
+     * functional interface.
+     */
+    public static Method getFunctionalMethod(Class<?> itf) {
+        if (!itf.isInterface())
+            return null;
+
+        Method functional = null;
+
+        for (Method method : itf.getMethods()) {
+            if (!Modifier.isAbstract(method.getModifiers()) || Util.isObjectMethod(method))
+                continue;
+
+            if (functional != null && !Util.isEqual(functional, method))
+                return null;
+
+            functional = method;
+        }
+
+        return functional;
+    }
+
+    /**
+     * Gets the first public functional interface implemented by {@code type} or by its super
+     * types. Interfaces are searched in declaration order, and super types after.
+     *
+     * @param type Type to find functional interface.
+     * @return First public functional interface implemented by {@code type}, or {@code null} if
+     * there is no one.
+     */
+    public static Class<?> getFunctionalInterface(Class<?> type) {
+        if (type.isInterface() && Modifier.isPublic(type.getModifiers()) && Util.getFunctionalMethod(type) != null)
+            return type;
+
+        for (Class<?> itf : type.getInterfaces()) {
+            Class<?> functional = Util.getFunctionalInterface(itf);
+
+            if (functional != null)
+                return functional;
+        }
+
+        if (type.getSuperclass() != null)
+            return Util.getFunctionalInterface(type.getSuperclass());
+
+        return null;
+    }
+
+    /**
+     * Gets the type of a field which holds {@code value}. The type is {@code type} if it is public
+     * and {@code value} is an instance of it, otherwise the type is {@link Object}.
+     *
+     * @param type  Desired type of the field.
+     * @param value Value to store in the field.
+     * @return Type of the field.
+     */
+    public static Class<?> getFieldType(Class<?> type, Object value) {
+        if (type != null
+                && !type.isPrimitive()
+                && Modifier.isPublic(type.getModifiers())
+                && type.isInstance(value))
+            return type;
+
+        return Object.class;
+    }
+
+    private static boolean isObjectMethod(Method m) {
+        try {
+            Method method = Object.class.getMethod(m.getName(), m.getParameterTypes());
+            return Modifier.isPublic(method.getModifiers());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
     public static boolean isHashCode(Method m) {
         return m.getName().equals("hashCode") && m.getParameterCount() == 0 && m.getReturnType().equals(Integer.TYPE);
     }
@@ -0,0 +1,164 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.koresproxy.validation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Checks invoked by validation guards generated by {@link com.github.jonathanxd.koresproxy.gen.direct.ParameterValidation}.
+ * Each check throws {@link IllegalArgumentException} (or {@link NullPointerException} for {@link
+ * #notNull(Object, String)}) with {@code name} in the message if the value is invalid.
+ *
+ * @since 2.6.1
+ */
+public final class Checks {
+
+    private Checks() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void notNull(Object value, String name) {
+        if (value == null)
+            throw new NullPointerException(name + " must not be null.");
+    }
+
+    public static void range(int value, long min, long max, String name) {
+        if (value < min || value > max)
+            throw Checks.outOfRange(value, min, max, name);
+    }
+
+    public static void range(long value, long min, long max, String name) {
+        if (value < min || value > max)
+            throw Checks.outOfRange(value, min, max, name);
+    }
+
+    public static void range(float value, long min, long max, String name) {
+        if (!(value >= min && value <= max))
+            throw Checks.outOfRange(value, min, max, name);
+    }
+
+    public static void range(double value, long min, long max, String name) {
+        if (!(value >= min && value <= max))
+            throw Checks.outOfRange(value, min, max, name);
+    }
+
+    public static void range(Number value, long min, long max, String name) {
+        if (value == null)
+            return;
+
+        if (value instanceof BigDecimal || value instanceof BigInteger) {
+            BigDecimal decimal = value instanceof BigDecimal
+                    ? (BigDecimal) value
+                    : new BigDecimal((BigInteger) value);
+
+            if (decimal.compareTo(BigDecimal.valueOf(min)) < 0 || decimal.compareTo(BigDecimal.valueOf(max)) > 0)
+                throw Checks.outOfRange(value, min, max, name);
+        } else if (value instanceof Double || value instanceof Float)
+            Checks.range(value.doubleValue(), min, max, name);
+        else
+            Checks.range(value.longValue(), min, max, name);
+    }
+
+    public static void size(CharSequence value, int min, int max, String name) {
+        if (value != null)
+            Checks.checkSize(value.length(), min, max, name);
+    }
+
+    public static void size(Collection<?> value, int min, int max, String name) {
+        if (value != null)
+            Checks.checkSize(value.size(), min, max, name);
+    }
+
+    public static void size(Map<?, ?> value, int min, int max, String name) {
+        if (value != null)
+            Checks.checkSize(value.size(), min, max, name);
+    }
+
+    public static void size(Object[] array, int min, int max, String name) {
+        if (array != null)
+            Checks.checkSize(array.length, min, max, name);
+    }
+
+    public static void size(boolean[] array, int min, int max, String name) {
+        if (array != null)
+            Checks.checkSize(array.length, min, max, name);
+    }
+
+    public static void size(byte[] array, int min, int max, String name) {
+        if (array != null)
+            Checks.checkSize(array.length, min, max, name);
+    }
+
+    public static void size(short[] array, int min, int max, String name) {
+        if (array != null)
+            Checks.checkSize(array.length, min, max, name);
+    }
+
+    public static void size(char[] array, int min, int max, String name) {
+        if (array != null)
+            Checks.checkSize(array.length, min, max, name);
+    }
+
+    public static void size(int[] array, int min, int max, String name) {
+        if (array != null)
+            Checks.checkSize(array.length, min, max, name);
+    }
+
+    public static void size(long[] array, int min, int max, String name) {
+        if (array != null)
+            Checks.checkSize(array.length, min, max, name);
+    }
+
+    public static void size(float[] array, int min, int max, String name) {
+        if (array != null)
+            Checks.checkSize(array.length, min, max, name);
+    }
+
+    public static void size(double[] array, int min, int max, String name) {
+        if (array != null)
+            Checks.checkSize(array.length, min, max, name);
+    }
+
+    public static void matches(CharSequence value, Pattern pattern, String name) {
+        if (value != null && !pattern.matcher(value).matches())
+            throw new IllegalArgumentException(name + " must match '" + pattern.pattern() + "', value: '" + value + "'.");
+    }
+
+    private static void checkSize(int size, int min, int max, String name) {
+        if (size < min || size > max)
+            throw new IllegalArgumentException(name + " size must be between " + min + " and " + max + ", size: " + size + ".");
+    }
+
+    private static IllegalArgumentException outOfRange(Object value, long min, long max, String name) {
+        return new IllegalArgumentException(name + " must be between " + min + " and " + max + ", value: " + value + ".");
+    }
+}
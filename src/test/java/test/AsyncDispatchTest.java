@@ -0,0 +1,107 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package test;
+
+import com.github.jonathanxd.koresproxy.KoresProxy;
+import com.github.jonathanxd.koresproxy.gen.direct.AsyncDispatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncDispatchTest {
+
+    @Test
+    public void asyncTest() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "async-dispatch"));
+        CountDownLatch fired = new CountDownLatch(1);
+
+        try {
+            Service service = KoresProxy.newProxyInstance(builder ->
+                    builder.classLoader(this.getClass().getClassLoader())
+                            .addInterface(Service.class)
+                            .addCustom(new AsyncDispatch(executor, m -> m.getName().equals("log")))
+                            .invocationHandler((instance, methodInfo, args, proxyData) -> {
+                                switch (methodInfo.getName()) {
+                                    case "fetch":
+                                        return args[0] + " from " + Thread.currentThread().getName();
+                                    case "stage":
+                                        return CompletableFuture.completedFuture("stage");
+                                    case "future":
+                                        FutureTask<String> task = new FutureTask<>(() -> "future");
+                                        task.run();
+                                        return task;
+                                    case "fail":
+                                        throw new IllegalStateException("fail");
+                                    case "log":
+                                        fired.countDown();
+                                        return null;
+                                }
+                                return null;
+                            })
+            );
+
+            Assert.assertEquals("a from async-dispatch", service.fetch("a").get());
+            Assert.assertEquals("stage", service.stage().toCompletableFuture().get());
+            Assert.assertEquals("future", service.future().get());
+
+            try {
+                service.fail().get();
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+
+            service.log("message");
+            Assert.assertTrue(fired.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public interface Service {
+        CompletableFuture<String> fetch(String key);
+
+        CompletionStage<String> stage();
+
+        Future<String> future();
+
+        CompletableFuture<String> fail();
+
+        void log(String message);
+    }
+}
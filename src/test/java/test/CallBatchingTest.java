@@ -0,0 +1,110 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package test;
+
+import com.github.jonathanxd.koresproxy.KoresProxy;
+import com.github.jonathanxd.koresproxy.gen.direct.CallBatching;
+import com.github.jonathanxd.koresproxy.handler.BatchHandler;
+import com.github.jonathanxd.koresproxy.handler.BatchedCall;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CallBatchingTest {
+
+    @Test
+    public void batchTest() {
+        List<Integer> batchSizes = new ArrayList<>();
+        List<String> events = new ArrayList<>();
+
+        CallBatching batching = new CallBatching(calls -> {
+            batchSizes.add(calls.size());
+
+            for (BatchedCall call : calls) {
+                events.add((String) call.getArgs()[0]);
+            }
+        }, 3);
+
+        Sink sink = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Sink.class)
+                        .addCustom(batching)
+        );
+
+        sink.record("a");
+        sink.record("b");
+
+        Assert.assertEquals(2, batching.getPendingCount());
+        Assert.assertTrue(events.isEmpty());
+
+        sink.record("c");
+
+        Assert.assertEquals(0, batching.getPendingCount());
+        Assert.assertEquals(3, events.size());
+
+        sink.record("d");
+        batching.flush();
+
+        Assert.assertEquals(4, events.size());
+        Assert.assertEquals("a", events.get(0));
+        Assert.assertEquals("d", events.get(3));
+        Assert.assertEquals(2, batchSizes.size());
+    }
+
+    @Test
+    public void delegateTest() {
+        List<String> events = new ArrayList<>();
+        Sink target = events::add;
+
+        CallBatching batching = new CallBatching(BatchHandler.toDelegate(target), 10);
+
+        Sink sink = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Sink.class)
+                        .addCustom(batching)
+        );
+
+        sink.record("a");
+        sink.record("b");
+
+        Assert.assertTrue(events.isEmpty());
+
+        batching.flush();
+
+        Assert.assertEquals(2, events.size());
+        Assert.assertEquals("a", events.get(0));
+        Assert.assertEquals("b", events.get(1));
+    }
+
+    public interface Sink {
+        void record(String event);
+    }
+}
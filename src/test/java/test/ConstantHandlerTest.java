@@ -0,0 +1,100 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package test;
+
+import com.github.jonathanxd.koresproxy.KoresProxy;
+import com.github.jonathanxd.koresproxy.ProxyData;
+import com.github.jonathanxd.koresproxy.handler.InvocationHandler;
+import com.github.jonathanxd.koresproxy.info.MethodInfo;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+public class ConstantHandlerTest {
+
+    @Test
+    public void constantHandlerTest() throws Exception {
+        NameHandler foo = new NameHandler("foo");
+        NameHandler bar = new NameHandler("bar");
+
+        Named fooProxy = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Named.class)
+                        .constantHandler(true)
+                        .invocationHandler(foo)
+        );
+
+        Named fooProxy2 = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Named.class)
+                        .constantHandler(true)
+                        .invocationHandler(foo)
+        );
+
+        Named barProxy = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Named.class)
+                        .constantHandler(true)
+                        .invocationHandler(bar)
+        );
+
+        Assert.assertEquals("foo", fooProxy.name());
+        Assert.assertEquals("foo", fooProxy2.name());
+        Assert.assertEquals("bar", barProxy.name());
+
+        Assert.assertSame(fooProxy.getClass(), fooProxy2.getClass());
+        Assert.assertNotSame(fooProxy.getClass(), barProxy.getClass());
+
+        Assert.assertSame(foo, KoresProxy.getHandler(fooProxy));
+        Assert.assertSame(bar, KoresProxy.getHandler(barProxy));
+        Assert.assertSame(foo, KoresProxy.getProxyData(fooProxy).getHandler());
+
+        Assert.assertTrue(Arrays.stream(fooProxy.getClass().getDeclaredFields())
+                .allMatch(it -> Modifier.isStatic(it.getModifiers())));
+    }
+
+    public interface Named {
+        String name();
+    }
+
+    public static class NameHandler implements InvocationHandler {
+        private final String name;
+
+        public NameHandler(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object invoke(Object proxy, MethodInfo methodInfo, Object[] args, ProxyData proxyData) throws Throwable {
+            return this.name;
+        }
+    }
+}
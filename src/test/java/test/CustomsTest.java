@@ -46,6 +46,7 @@ import com.github.jonathanxd.koresproxy.gen.direct.DirectToFunction;
 import com.github.jonathanxd.koresproxy.gen.direct.DirectToResolveMethod;
 import com.github.jonathanxd.koresproxy.gen.direct.InvokeValidator;
 import com.github.jonathanxd.koresproxy.gen.direct.MutableInstance;
+import com.github.jonathanxd.koresproxy.gen.direct.SwitchableInstance;
 import com.github.jonathanxd.koresproxy.gen.direct.Target;
 import com.github.jonathanxd.koresproxy.handler.InvocationHandler;
 import com.github.jonathanxd.iutils.annotation.Named;
@@ -60,11 +61,17 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntBinaryOperator;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 import kotlin.collections.ArraysKt;
@@ -108,7 +115,7 @@ public class CustomsTest {
     }
 
     @org.junit.Test
-    public void testStatic() {
+    public void testStatic() throws Exception {
 
         InvocationHandler myHandler = (proxy, method, args, info) -> {
             return InvokeSuper.INVOKE_SUPER;
@@ -125,6 +132,7 @@ public class CustomsTest {
         wip.put("name", "WIP");
         Assert.assertEquals("wip.getString(\"name\")", "WIP", wip.getString("name"));
         Assert.assertEquals("wip.getInt(\"n\")", -1, wip.getInt("n"));
+        Assert.assertTrue(Modifier.isStatic(wip.getClass().getDeclaredField("additional$target").getModifiers()));
 
     }
 
@@ -202,6 +210,69 @@ public class CustomsTest {
 
     }
 
+    @Test
+    public void typedFunctions() throws Throwable {
+        MethodHandle concat = MethodHandles.publicLookup().findVirtual(String.class, "concat",
+                MethodType.methodType(String.class, String.class));
+
+        Compute compute = KoresProxy.newProxyInstance(new Class[0], new Object[0], builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Compute.class)
+                        .addCustom(DirectToFunction.typed(
+                                Collections3.listOf(
+                                        (IntBinaryOperator) (a, b) -> a + b,
+                                        (ToLongFunction<String>) String::length,
+                                        concat
+                                ),
+                                m -> m.getName().equals("add") ? 0
+                                        : m.getName().equals("len") ? 1
+                                        : m.getName().equals("concat") ? 2
+                                        : -1
+                        ))
+                        .invocationHandler(InvocationHandler.NULL));
+
+        Assert.assertEquals(5, compute.add(2, 3));
+        Assert.assertEquals(5L, compute.len("Hello"));
+        Assert.assertEquals("ab", compute.concat("a", "b"));
+    }
+
+    @Test
+    public void methodHandleTargets() throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        MethodHandle sum = lookup.findStatic(Integer.class, "sum",
+                MethodType.methodType(Integer.TYPE, Integer.TYPE, Integer.TYPE));
+        MethodHandle length = lookup.findVirtual(String.class, "length",
+                MethodType.methodType(Integer.TYPE));
+        MethodHandle concat = MethodHandles.filterArguments(
+                lookup.findVirtual(String.class, "concat", MethodType.methodType(String.class, String.class)),
+                1,
+                lookup.findVirtual(String.class, "toUpperCase", MethodType.methodType(String.class)));
+
+        Compute compute = KoresProxy.newProxyInstance(new Class[0], new Object[0], builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Compute.class)
+                        .addCustom(new DirectToResolveMethod(
+                                Collections.emptyList(),
+                                m -> m.getName().equals("add") ? new Target(sum)
+                                        : m.getName().equals("len") ? new Target(length)
+                                        : m.getName().equals("concat") ? new Target(concat)
+                                        : new Target(Target.DEFAULT_BEHAVIOR, m),
+                                i -> Object.class))
+                        .invocationHandler(InvocationHandler.NULL));
+
+        Assert.assertEquals(5, compute.add(2, 3));
+        Assert.assertEquals(5L, compute.len("Hello"));
+        Assert.assertEquals("aB", compute.concat("a", "b"));
+    }
+
+    public interface Compute {
+        int add(int a, int b);
+
+        long len(String s);
+
+        String concat(String a, String b);
+    }
+
     @org.junit.Test
     public void testDirectToResolveMethod() {
         InvocationHandler myInvocationHandler = (proxy, method, args, info) -> {
@@ -326,6 +397,37 @@ public class CustomsTest {
         Assert.assertEquals(bGreeter.toString(), greeter.toString());
     }
 
+    @Test
+    public void switchableInstance() {
+
+        class AGreeter extends Greeter {
+            @Override
+            String hello() {
+                return "A";
+            }
+        }
+        class BGreeter extends Greeter {
+            @Override
+            String hello() {
+                return "B";
+            }
+        }
+
+        SwitchableInstance myGreeter = new SwitchableInstance(new AGreeter(), Greeter.class);
+
+        Greeter greeter = KoresProxy.newProxyInstance(new Class[0], new Object[0], builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .invocationHandler(InvocationHandler.NULL)
+                        .superClass(Greeter.class)
+                        .addCustom(myGreeter)
+                        .addCustomGenerator(InvokeSuper.class));
+
+        Assert.assertEquals("A", greeter.hello());
+
+        myGreeter.set(new BGreeter());
+        Assert.assertEquals("B", greeter.hello());
+    }
+
     public interface A {
         int a();
     }
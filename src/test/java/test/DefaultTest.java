@@ -29,9 +29,17 @@ package test;
 
 import com.github.jonathanxd.koresproxy.KoresProxy;
 import com.github.jonathanxd.koresproxy.InvokeSuper;
+import com.github.jonathanxd.koresproxy.ProxyData;
+import com.github.jonathanxd.koresproxy.gen.direct.DirectToDefault;
+import com.github.jonathanxd.koresproxy.handler.ClaimingHandler;
+import com.github.jonathanxd.koresproxy.info.MethodInfo;
 
 import org.junit.Assert;
 
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Set;
+
 public class DefaultTest {
 
     @org.junit.Test
@@ -51,6 +59,52 @@ public class DefaultTest {
 
     }
 
+    @org.junit.Test
+    public void directDefaultTest() throws Exception {
+        Itf itf = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Itf.class)
+                        .addCustom(DirectToDefault.all())
+                        .invocationHandler((proxy, method, args, info) -> {
+                            if (method.getName().equals("h"))
+                                return 7;
+
+                            throw new AssertionError("Handler called for " + method);
+                        })
+        );
+
+        Assert.assertEquals("itf.h()", 7, itf.h());
+        Assert.assertEquals("itf.x()", "Hello", itf.x());
+
+        ClaimX handler = new ClaimX();
+
+        Itf claimed = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Itf.class)
+                        .addCustom(DirectToDefault.unclaimedBy(handler))
+                        .invocationHandler(handler)
+        );
+
+        Assert.assertEquals("claimed.x()", "Claimed", claimed.x());
+    }
+
+    public static class ClaimX implements ClaimingHandler {
+
+        @Override
+        public Set<Method> getClaimedMethods() {
+            try {
+                return Collections.singleton(Itf.class.getMethod("x"));
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public Object invoke(Object instance, MethodInfo methodInfo, Object[] args, ProxyData proxyData) throws Throwable {
+            return methodInfo.getName().equals("x") ? "Claimed" : 0;
+        }
+    }
+
     public class Hey extends Object {
         @Override
         protected void finalize() throws Throwable {
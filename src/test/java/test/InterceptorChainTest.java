@@ -0,0 +1,111 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package test;
+
+import com.github.jonathanxd.koresproxy.KoresProxy;
+import com.github.jonathanxd.koresproxy.gen.direct.InterceptorChain;
+import com.github.jonathanxd.koresproxy.handler.Interceptor;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class InterceptorChainTest {
+
+    @Test
+    public void interceptorChainTest() {
+        List<String> log = new ArrayList<>();
+        List<Interceptor> interceptors = new ArrayList<>();
+
+        interceptors.add(invocation -> {
+            log.add("trace:" + invocation.getMethodInfo().getName());
+            return invocation.proceed();
+        });
+
+        interceptors.add(invocation -> {
+            if (invocation.getMethodInfo().getName().equals("greet"))
+                return invocation.proceed("[" + invocation.getArguments()[0] + "]");
+
+            return invocation.proceed();
+        });
+
+        Greeter greeter = KoresProxy.newProxyInstance(builder -> builder
+                .classLoader(InterceptorChainTest.class.getClassLoader())
+                .addInterface(Greeter.class)
+                .addCustom(new InterceptorChain(interceptors))
+                .invocationHandler((instance, methodInfo, args, proxyData) -> args[0] + "!"));
+
+        Assert.assertEquals("Hello [World]", greeter.greet("World"));
+        Assert.assertEquals("Hey!", greeter.shout("Hey"));
+        Assert.assertEquals(2, log.size());
+        Assert.assertEquals("trace:greet", log.get(0));
+        Assert.assertEquals("trace:shout", log.get(1));
+    }
+
+    @Test
+    public void repeatedProceedTest() {
+        List<Integer> positions = new ArrayList<>();
+        List<Interceptor> interceptors = new ArrayList<>();
+
+        interceptors.add(invocation -> {
+            positions.add(invocation.getPosition());
+            return invocation.proceed() + "" + invocation.proceed();
+        });
+
+        interceptors.add(invocation -> {
+            positions.add(invocation.getPosition());
+            return invocation.proceed();
+        });
+
+        Greeter greeter = KoresProxy.newProxyInstance(builder -> builder
+                .classLoader(InterceptorChainTest.class.getClassLoader())
+                .addInterface(Greeter.class)
+                .addCustom(new InterceptorChain(interceptors))
+                .invocationHandler((instance, methodInfo, args, proxyData) -> args[0] + "!"));
+
+        Assert.assertEquals("Hello WorldHello World", greeter.greet("World"));
+        Assert.assertEquals(Arrays.asList(0, 1, 1), positions);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyChainTest() {
+        new InterceptorChain(Collections.emptyList());
+    }
+
+    public interface Greeter {
+        default String greet(String name) {
+            return "Hello " + name;
+        }
+
+        String shout(String text);
+    }
+}
@@ -37,6 +37,9 @@ import com.github.jonathanxd.iutils.object.Lazy;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
 import kotlin.text.Charsets;
 
 public class LazyInstanceTest {
@@ -110,6 +113,54 @@ public class LazyInstanceTest {
         Assert.assertTrue(expensive.isEvaluated());
     }
 
+    @Test
+    public void selfReplacingLazyInstanceTest() throws Exception {
+        InvocationHandler myInvocationHandler = (proxy, method, args, info) -> {
+            return InvokeSuper.INVOKE_SUPER;
+        };
+
+        int[] evaluations = new int[1];
+
+        Lazy<Expensive> expensive = Lazy.lazy(() -> {
+            ++evaluations[0];
+            return new Expensive(createInput("Hello"));
+        });
+
+        Entity entity = KoresProxy.newProxyInstance(new Class[0], new Object[0], builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Entity.class)
+                        .addCustom(new LazyInstance(expensive, Entity.class, true))
+                        .addCustomGenerator(InvokeSuper.class)
+                        .invocationHandler(myInvocationHandler)
+        );
+
+        Field resolved = entity.getClass().getDeclaredField("additional$resolved");
+        resolved.setAccessible(true);
+
+        Assert.assertTrue(Modifier.isVolatile(resolved.getModifiers()));
+        Assert.assertNull(resolved.get(entity));
+        Assert.assertFalse(expensive.isEvaluated());
+        Assert.assertEquals("Hello", entity.getName());
+        Assert.assertSame(expensive.get(), resolved.get(entity));
+        Assert.assertEquals("Hello", entity.getName());
+        Assert.assertTrue(expensive.isEvaluated());
+        Assert.assertEquals(1, evaluations[0]);
+
+        Entity plain = KoresProxy.newProxyInstance(new Class[0], new Object[0], builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Entity.class)
+                        .addCustom(new LazyInstance(expensive, Entity.class))
+                        .addCustomGenerator(InvokeSuper.class)
+                        .invocationHandler(myInvocationHandler)
+        );
+
+        Assert.assertEquals("Hello", plain.getName());
+
+        for (Field field : plain.getClass().getDeclaredFields()) {
+            Assert.assertNotEquals("additional$resolved", field.getName());
+        }
+    }
+
     public interface Entity {
         String getName();
     }
@@ -0,0 +1,141 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package test;
+
+import com.github.jonathanxd.koresproxy.KoresProxy;
+import com.github.jonathanxd.koresproxy.gen.direct.Memoization;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MemoizationTest {
+
+    @Test
+    public void memoizeTest() {
+        AtomicInteger computations = new AtomicInteger();
+        Memoization memoization = new Memoization(m -> !m.getName().equals("random"), 16);
+
+        Calc calc = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Calc.class)
+                        .addCustom(memoization)
+                        .invocationHandler((instance, methodInfo, args, proxyData) -> {
+                            computations.incrementAndGet();
+
+                            switch (methodInfo.getName()) {
+                                case "square":
+                                    return (Integer) args[0] * (Integer) args[0];
+                                case "concat":
+                                    return String.valueOf(args[0]) + args[1] + args[2] + args[3];
+                                case "nothing":
+                                    return null;
+                                default:
+                                    return 4;
+                            }
+                        })
+        );
+
+        Assert.assertEquals(9, calc.square(3));
+        Assert.assertEquals(9, calc.square(3));
+        Assert.assertEquals(1, computations.get());
+
+        Assert.assertEquals(16, calc.square(4));
+        Assert.assertEquals(2, computations.get());
+
+        Assert.assertEquals("abcd", calc.concat("a", "b", "c", "d"));
+        Assert.assertEquals("abcd", calc.concat("a", "b", "c", "d"));
+        Assert.assertEquals(3, computations.get());
+
+        Assert.assertNull(calc.nothing());
+        Assert.assertNull(calc.nothing());
+        Assert.assertEquals(4, computations.get());
+
+        calc.random();
+        calc.random();
+        Assert.assertEquals(6, computations.get());
+
+        memoization.invalidateAll();
+        Assert.assertEquals(0, memoization.getSize());
+
+        Assert.assertEquals(9, calc.square(3));
+        Assert.assertEquals(7, computations.get());
+    }
+
+    @Test
+    public void boundedTest() {
+        Memoization memoization = new Memoization(m -> true, 4);
+
+        Calc calc = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Calc.class)
+                        .addCustom(memoization)
+                        .invocationHandler((instance, methodInfo, args, proxyData) -> 0)
+        );
+
+        for (int i = 0; i < 100; i++) {
+            calc.square(i);
+        }
+
+        Assert.assertEquals(4, memoization.getSize());
+    }
+
+    @Test
+    public void refreshTest() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        Memoization memoization = new Memoization(m -> true, 4, 0L, 1L, TimeUnit.NANOSECONDS, Runnable::run);
+
+        Calc calc = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Calc.class)
+                        .addCustom(memoization)
+                        .invocationHandler((instance, methodInfo, args, proxyData) -> computations.incrementAndGet())
+        );
+
+        Assert.assertEquals(1, calc.random());
+
+        Thread.sleep(1L);
+
+        // Refreshed in caller thread, the read returns the previous value
+        Assert.assertEquals(1, calc.random());
+        Assert.assertEquals(2, computations.get());
+        Assert.assertEquals(1, memoization.getSize());
+    }
+
+    public interface Calc {
+        int square(int x);
+
+        String concat(String a, String b, String c, String d);
+
+        String nothing();
+
+        int random();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package test;
+
+import com.github.jonathanxd.koresproxy.KoresProxy;
+import com.github.jonathanxd.koresproxy.MethodMatcher;
+import com.github.jonathanxd.koresproxy.info.MethodInfo;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class MethodMatcherTest {
+
+    @Test
+    public void interceptTest() {
+        Greeter greeter = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .superClass(Greeter.class)
+                        .intercept(MethodMatcher.named("name").and(MethodMatcher.declaredBy(Greeter.class)))
+                        .invocationHandler((instance, methodInfo, args, proxyData) -> {
+                            if (methodInfo.getName().equals("name"))
+                                return "Proxy";
+
+                            if (methodInfo.getName().equals("id"))
+                                return 9;
+
+                            throw new AssertionError("Handler called for " + methodInfo);
+                        })
+        );
+
+        Assert.assertEquals("Hello Proxy", greeter.greet());
+        Assert.assertEquals(9, greeter.id());
+        Assert.assertNotNull(greeter.toString());
+
+        MethodInfo[] table = KoresProxy.getMethodTable(greeter.getClass());
+
+        Assert.assertEquals(2, table.length);
+        Assert.assertTrue(Arrays.stream(table).noneMatch(it -> it.getName().equals("greet")));
+    }
+
+    @Test
+    public void matcherEqualityTest() {
+        Assert.assertEquals(MethodMatcher.named("a", "b"), MethodMatcher.named("b", "a"));
+        Assert.assertEquals(MethodMatcher.named("a").or(MethodMatcher.abstractMethods()),
+                MethodMatcher.named("a").or(MethodMatcher.abstractMethods()));
+        Assert.assertNotEquals(MethodMatcher.named("a"), MethodMatcher.named("a").negate());
+    }
+
+    public static abstract class Greeter {
+
+        public String name() {
+            return "World";
+        }
+
+        public String greet() {
+            return "Hello " + this.name();
+        }
+
+        public abstract int id();
+    }
+}
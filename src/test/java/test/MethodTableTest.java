@@ -0,0 +1,155 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package test;
+
+import com.github.jonathanxd.koresproxy.KoresProxy;
+import com.github.jonathanxd.koresproxy.info.AttachmentKey;
+import com.github.jonathanxd.koresproxy.info.MethodDescriptor;
+import com.github.jonathanxd.koresproxy.info.MethodInfo;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MethodTableTest {
+
+    @Test
+    public void methodTableTest() throws Exception {
+        Calc calc = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Calc.class)
+                        .invocationHandler((instance, methodInfo, args, proxyData) -> {
+                            if (methodInfo.getId() == MethodInfo.idOf(Calc.class.getMethod("sum", int.class, int.class)))
+                                return (int) args[0] + (int) args[1];
+                            if (methodInfo.getId() == MethodInfo.idOf(Calc.class.getMethod("neg", int.class)))
+                                return -(int) args[0];
+                            return methodInfo.getIndex();
+                        })
+        );
+
+        MethodInfo[] table = KoresProxy.getMethodTable(calc.getClass());
+
+        for (int i = 0; i < table.length; i++) {
+            Assert.assertEquals(i, table[i].getIndex());
+        }
+
+        Assert.assertEquals(3, calc.sum(1, 2));
+        Assert.assertEquals(-5, calc.neg(5));
+        Assert.assertEquals("index", table[calc.index()].getName());
+        Assert.assertNotEquals(table[0].getId(), table[1].getId());
+    }
+
+    @Test
+    public void sharedDescriptorTest() throws Exception {
+        Calc a = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Calc.class)
+                        .invocationHandler((instance, methodInfo, args, proxyData) -> 0)
+        );
+
+        Calc b = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Calc.class)
+                        .addInterface(Runnable.class)
+                        .invocationHandler((instance, methodInfo, args, proxyData) -> null)
+        );
+
+        Assert.assertNotSame(a.getClass(), b.getClass());
+
+        MethodDescriptor sum = MethodDescriptor.of(Calc.class.getMethod("sum", int.class, int.class));
+
+        Assert.assertSame(sum, this.find(KoresProxy.getMethodTable(a.getClass()), "sum").getDescriptor());
+        Assert.assertSame(sum, this.find(KoresProxy.getMethodTable(b.getClass()), "sum").getDescriptor());
+        Assert.assertEquals(sum.getId(), MethodInfo.idOf(Calc.class.getMethod("sum", int.class, int.class)));
+    }
+
+    @Test
+    public void attachmentTest() {
+        AttachmentKey<String> plan = AttachmentKey.register("plan", String.class);
+        AtomicInteger computations = new AtomicInteger();
+
+        Calc calc = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Calc.class)
+                        .invocationHandler((instance, methodInfo, args, proxyData) ->
+                                methodInfo.computeAttachmentIfAbsent(plan, m -> {
+                                    computations.incrementAndGet();
+                                    return m.getName();
+                                }).length())
+        );
+
+        Assert.assertEquals(5, calc.index());
+        Assert.assertEquals(5, calc.index());
+        Assert.assertEquals(3, calc.neg(1));
+        Assert.assertEquals(2, computations.get());
+
+        MethodInfo index = this.find(KoresProxy.getMethodTable(calc.getClass()), "index");
+
+        Assert.assertEquals("index", index.getAttachment(plan));
+
+        index.setAttachment(plan, "replaced");
+
+        Assert.assertEquals(8, calc.index());
+    }
+
+    @Test
+    public void primitiveAttachmentTest() {
+        AttachmentKey<Integer> count = AttachmentKey.register("count", int.class);
+
+        Assert.assertEquals(Integer.class, count.getType());
+
+        MethodInfo[] table = KoresProxy.getMethodTable(((Calc) KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Calc.class)
+                        .invocationHandler((instance, methodInfo, args, proxyData) -> 0))).getClass());
+
+        MethodInfo index = this.find(table, "index");
+
+        index.setAttachment(count, 7);
+
+        Assert.assertEquals(Integer.valueOf(7), index.getAttachment(count));
+    }
+
+    private MethodInfo find(MethodInfo[] table, String name) {
+        for (MethodInfo methodInfo : table) {
+            if (methodInfo.getName().equals(name))
+                return methodInfo;
+        }
+
+        throw new AssertionError("Method '" + name + "' is not in the table.");
+    }
+
+    public interface Calc {
+        int sum(int a, int b);
+
+        int neg(int a);
+
+        int index();
+    }
+}
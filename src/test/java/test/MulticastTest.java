@@ -0,0 +1,127 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package test;
+
+import com.github.jonathanxd.koresproxy.KoresProxy;
+import com.github.jonathanxd.koresproxy.gen.direct.Multicast;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class MulticastTest {
+
+    @Test
+    public void sequentialTest() {
+        List<String> events = new ArrayList<>();
+
+        Listener listener = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Listener.class)
+                        .addCustom(new Multicast(Listener.class, Arrays.asList(
+                                new Recorder("a", 1, events),
+                                new Recorder("b", 2, events),
+                                new Recorder("c", 3, events)
+                        )))
+        );
+
+        listener.on("x");
+
+        Assert.assertEquals(Arrays.asList("a:x", "b:x", "c:x"), events);
+        Assert.assertEquals(1, listener.priority());
+    }
+
+    @Test
+    public void reducerTest() {
+        List<String> events = new ArrayList<>();
+
+        Listener listener = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Listener.class)
+                        .addCustom(new Multicast(Listener.class, Arrays.asList(
+                                new Recorder("a", 1, events),
+                                new Recorder("b", 2, events)
+                        ), Multicast.Mode.SEQUENTIAL, Multicast.Reducer.combining((a, b) -> (Integer) a + (Integer) b)))
+        );
+
+        Assert.assertEquals(3, listener.priority());
+    }
+
+    @Test
+    public void parallelTest() {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+        Listener listener = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Listener.class)
+                        .addCustom(new Multicast(Listener.class, Arrays.asList(
+                                new Recorder("a", 1, events),
+                                new Recorder("b", 2, events),
+                                new Recorder("c", 3, events)
+                        ), Multicast.Mode.PARALLEL, Multicast.Reducer.LAST))
+        );
+
+        listener.on("y");
+
+        Assert.assertEquals(3, events.size());
+        Assert.assertTrue(events.containsAll(Arrays.asList("a:y", "b:y", "c:y")));
+        Assert.assertEquals(3, listener.priority());
+    }
+
+    public interface Listener {
+        void on(String event);
+
+        int priority();
+    }
+
+    public static class Recorder implements Listener {
+        private final String name;
+        private final int priority;
+        private final List<String> events;
+
+        Recorder(String name, int priority, List<String> events) {
+            this.name = name;
+            this.priority = priority;
+            this.events = events;
+        }
+
+        @Override
+        public void on(String event) {
+            this.events.add(this.name + ":" + event);
+        }
+
+        @Override
+        public int priority() {
+            return this.priority;
+        }
+    }
+}
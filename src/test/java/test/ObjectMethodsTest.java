@@ -0,0 +1,132 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package test;
+
+import com.github.jonathanxd.kores.common.VariableRef;
+import com.github.jonathanxd.koresproxy.KoresProxy;
+import com.github.jonathanxd.koresproxy.gen.Custom;
+import com.github.jonathanxd.koresproxy.gen.direct.ObjectMethods;
+import com.github.jonathanxd.iutils.collection.Collections3;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ObjectMethodsTest {
+
+    private static Key key(ObjectMethods objectMethods, String name, int id) {
+        return KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(ObjectMethodsTest.class.getClassLoader())
+                        .addInterface(Key.class)
+                        .addCustom(objectMethods)
+                        .addCustom(new KeyValues(name, id))
+                        .invocationHandler((instance, methodInfo, args, proxyData) -> {
+                            throw new AssertionError("Handler called for " + methodInfo);
+                        })
+        );
+    }
+
+    @Test
+    public void valueTest() {
+        Key a = key(ObjectMethods.value(), "a", 1);
+        Key a2 = key(ObjectMethods.value(), "a", 1);
+        Key b = key(ObjectMethods.value(), "b", 1);
+
+        Assert.assertSame(a.getClass(), b.getClass());
+        Assert.assertEquals(a, a2);
+        Assert.assertNotEquals(a, b);
+        Assert.assertNotEquals(a, null);
+        Assert.assertEquals(a.hashCode(), a2.hashCode());
+        Assert.assertEquals("Key[name=a, id=1]", a.toString());
+
+        Map<Key, String> map = new HashMap<>();
+        map.put(a, "a");
+        map.put(b, "b");
+
+        Assert.assertEquals("a", map.get(a2));
+        Assert.assertEquals("b", map.get(b));
+    }
+
+    @Test
+    public void identityTest() {
+        Key a = key(ObjectMethods.identity(), "a", 1);
+        Key a2 = key(ObjectMethods.identity(), "a", 1);
+
+        Assert.assertEquals(a, a);
+        Assert.assertNotEquals(a, a2);
+        Assert.assertEquals(System.identityHashCode(a), a.hashCode());
+    }
+
+    @Test
+    public void delegateTest() {
+        Key a = key(ObjectMethods.delegate("target"), "a", 1);
+
+        Assert.assertEquals("target".hashCode(), a.hashCode());
+        Assert.assertEquals("target", a.toString());
+        Assert.assertTrue(a.equals("target"));
+    }
+
+    public interface Key {
+    }
+
+    public static class KeyValues implements Custom {
+        private final String name;
+        private final int id;
+
+        public KeyValues(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        @Override
+        public List<Property> getAdditionalProperties() {
+            return Collections3.listOf(
+                    new Property(new VariableRef(String.class, "name"), null),
+                    new Property(new VariableRef(Integer.TYPE, "id"), null)
+            );
+        }
+
+        @Override
+        public List<Object> getValueForConstructorProperties() {
+            return Collections3.listOf(this.name, this.id);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof KeyValues;
+        }
+
+        @Override
+        public int hashCode() {
+            return KeyValues.class.hashCode();
+        }
+    }
+}
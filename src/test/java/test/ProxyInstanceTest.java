@@ -0,0 +1,67 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package test;
+
+import com.github.jonathanxd.koresproxy.KoresProxy;
+import com.github.jonathanxd.koresproxy.ProxyInstance;
+import com.github.jonathanxd.koresproxy.gen.DirectInvocationCustom;
+import com.github.jonathanxd.koresproxy.gen.direct.ObjectMethods;
+import com.github.jonathanxd.koresproxy.handler.InvocationHandler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProxyInstanceTest {
+
+    @Test
+    public void proxyInstanceTest() {
+        InvocationHandler handler = (instance, methodInfo, args, proxyData) -> null;
+
+        Runnable runnable = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Runnable.class)
+                        .addCustom(ObjectMethods.delegate("delegate"))
+                        .addCustom(new DirectInvocationCustom.Static(ProxyInstanceTest.class))
+                        .invocationHandler(handler)
+        );
+
+        Assert.assertTrue(runnable instanceof ProxyInstance);
+        Assert.assertTrue(KoresProxy.isProxy(runnable));
+        Assert.assertTrue(KoresProxy.isProxy(runnable.getClass()));
+        Assert.assertFalse(KoresProxy.isProxy(new Object()));
+
+        ProxyInstance proxyInstance = (ProxyInstance) runnable;
+
+        Assert.assertSame(handler, proxyInstance.getInvocationHandler$KoresProxy());
+        Assert.assertSame(handler, KoresProxy.getHandler(runnable));
+        Assert.assertSame(proxyInstance.getProxyData$KoresProxy(), KoresProxy.getProxyData(runnable));
+        Assert.assertEquals("delegate", proxyInstance.getProperty$KoresProxy("objectMethodsTarget"));
+        Assert.assertEquals(ProxyInstanceTest.class, proxyInstance.getProperty$KoresProxy("target"));
+        Assert.assertNull(proxyInstance.getProperty$KoresProxy("missing"));
+    }
+}
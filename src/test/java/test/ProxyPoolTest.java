@@ -0,0 +1,109 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package test;
+
+import com.github.jonathanxd.koresproxy.KoresProxy;
+import com.github.jonathanxd.koresproxy.ProxyPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.function.Supplier;
+
+public class ProxyPoolTest {
+
+    @Test
+    public void swapTest() {
+        @SuppressWarnings("unchecked")
+        Supplier<String> supplier = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Supplier.class)
+                        .mutableHandler(true)
+                        .invocationHandler((instance, methodInfo, args, proxyData) -> "a")
+        );
+
+        Assert.assertEquals("a", supplier.get());
+
+        KoresProxy.setHandler(supplier, (instance, methodInfo, args, proxyData) -> "b");
+
+        Assert.assertEquals("b", supplier.get());
+    }
+
+    @Test
+    public void poolTest() {
+        ProxyPool<Supplier<String>> pool = KoresProxy.pool(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Supplier.class), 1);
+
+        Supplier<String> first = pool.acquire((instance, methodInfo, args, proxyData) -> "first");
+
+        Assert.assertEquals("first", first.get());
+
+        pool.release(first);
+
+        Assert.assertEquals(1, pool.getIdleCount());
+        Assert.assertNull(first.get());
+
+        Supplier<String> second = pool.acquire((instance, methodInfo, args, proxyData) -> "second");
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals("second", second.get());
+        Assert.assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void releaseTest() {
+        ProxyPool<Supplier<String>> pool = KoresProxy.pool(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Supplier.class), 2);
+
+        Supplier<String> proxy = pool.acquire((instance, methodInfo, args, proxyData) -> "a");
+
+        pool.release(proxy);
+        pool.release(proxy);
+
+        Assert.assertEquals(1, pool.getIdleCount());
+
+        @SuppressWarnings("unchecked")
+        Supplier<String> foreign = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Supplier.class)
+                        .addInterface(Runnable.class)
+                        .mutableHandler(true)
+                        .invocationHandler((instance, methodInfo, args, proxyData) -> "b")
+        );
+
+        try {
+            pool.release(foreign);
+            Assert.fail("Proxy of another class was accepted");
+        } catch (IllegalArgumentException ignored) {
+        }
+
+        Assert.assertEquals(1, pool.getIdleCount());
+    }
+}
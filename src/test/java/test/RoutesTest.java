@@ -0,0 +1,82 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package test;
+
+import com.github.jonathanxd.koresproxy.KoresProxy;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.function.BiFunction;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+
+public class RoutesTest {
+
+    @Test
+    public void routesTest() {
+        int[] sideEffect = new int[1];
+
+        Calc calc = KoresProxy.routes(Calc.class)
+                .on("sum", (IntBinaryOperator) (a, b) -> a + b)
+                .on("neg", (IntUnaryOperator) a -> -a)
+                .on("name", (BiFunction<Calc, String, String>) (self, prefix) -> prefix + self.sum(1, 2))
+                .on("touch", (Runnable) () -> sideEffect[0]++)
+                .fallback((instance, methodInfo, args, proxyData) -> "fallback:" + methodInfo.getName())
+                .newInstance();
+
+        Assert.assertEquals(7, calc.sum(3, 4));
+        Assert.assertEquals(-5, calc.neg(5));
+        Assert.assertEquals("calc3", calc.name("calc"));
+        calc.touch();
+        Assert.assertEquals(1, sideEffect[0]);
+        Assert.assertEquals("fallback:other", calc.other());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void arityMismatchTest() {
+        KoresProxy.routes(Calc.class).on("neg", (IntBinaryOperator) (a, b) -> a + b).toCustom();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void typeMismatchTest() {
+        KoresProxy.routes(Calc.class).on("name", (IntUnaryOperator) a -> -a);
+    }
+
+    public interface Calc {
+        int sum(int a, int b);
+
+        int neg(int a);
+
+        String name(String prefix);
+
+        void touch();
+
+        String other();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package test;
+
+import com.github.jonathanxd.koresproxy.KoresProxy;
+import com.github.jonathanxd.koresproxy.gen.direct.ShardedRouting;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ShardedRoutingTest {
+
+    @Test
+    public void routingTest() {
+        List<Counter> shards = Arrays.asList(new Counter(), new Counter(), new Counter());
+
+        Store store = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Store.class)
+                        .addCustom(new ShardedRouting(Store.class, shards, ShardedRouting.FIRST_ARGUMENT,
+                                ShardedRouting.Sharding.of(key -> (Integer) key)))
+        );
+
+        store.put(0, "a");
+        store.put(1, "b");
+        store.put(4, "c");
+
+        Assert.assertEquals(Arrays.asList("a"), shards.get(0).values);
+        Assert.assertEquals(Arrays.asList("b", "c"), shards.get(1).values);
+        Assert.assertTrue(shards.get(2).values.isEmpty());
+
+        Assert.assertEquals(2, store.size(7));
+    }
+
+    @Test
+    public void consistentTest() {
+        int moved = 0;
+
+        for (int key = 0; key < 10000; key++) {
+            int before = ShardedRouting.Sharding.CONSISTENT.shard(key, 10);
+            int after = ShardedRouting.Sharding.CONSISTENT.shard(key, 11);
+
+            Assert.assertTrue(after >= 0 && after < 11);
+
+            if (before != after) {
+                Assert.assertEquals(10, after);
+                moved++;
+            }
+        }
+
+        Assert.assertTrue(moved > 0 && moved < 2000);
+    }
+
+    public interface Store {
+        void put(int key, String value);
+
+        int size(int key);
+    }
+
+    public static class Counter implements Store {
+        final List<String> values = new ArrayList<>();
+
+        @Override
+        public void put(int key, String value) {
+            this.values.add(value);
+        }
+
+        @Override
+        public int size(int key) {
+            return this.values.size();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package test;
+
+import com.github.jonathanxd.koresproxy.KoresProxy;
+import com.github.jonathanxd.koresproxy.gen.direct.StateSlots;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.function.Supplier;
+
+public class StateSlotsTest {
+
+    private static final StateSlots.IntSlot CALLS = StateSlots.intSlot("calls");
+    private static final StateSlots.LongSlot TOTAL = StateSlots.longSlot("total");
+    private static final StateSlots.ReferenceSlot<String> LAST = StateSlots.referenceSlot("last");
+
+    @Test
+    public void slotsTest() {
+        @SuppressWarnings("unchecked")
+        Supplier<String> first = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Supplier.class)
+                        .addCustom(StateSlots.of(CALLS, TOTAL, LAST))
+                        .invocationHandler((instance, methodInfo, args, proxyData) -> {
+                            int calls = CALLS.incrementAndGet(instance);
+                            TOTAL.addAndGet(instance, 10L);
+                            return LAST.getAndSet(instance, "call " + calls);
+                        })
+        );
+
+        @SuppressWarnings("unchecked")
+        Supplier<String> second = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Supplier.class)
+                        .addCustom(StateSlots.of(CALLS, TOTAL, LAST))
+                        .invocationHandler((instance, methodInfo, args, proxyData) -> null)
+        );
+
+        Assert.assertNull(first.get());
+        Assert.assertEquals("call 1", first.get());
+        Assert.assertEquals(2, CALLS.get(first));
+        Assert.assertEquals(20L, TOTAL.get(first));
+        Assert.assertEquals("call 2", LAST.get(first));
+
+        Assert.assertEquals(0, CALLS.get(second));
+        Assert.assertTrue(CALLS.compareAndSet(second, 0, 5));
+        Assert.assertEquals(5, CALLS.get(second));
+        Assert.assertEquals(2, CALLS.get(first));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingSlotTest() {
+        CALLS.get(new Object());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicatedSlotTest() {
+        StateSlots.of(CALLS, StateSlots.longSlot("calls"));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package test;
+
+import com.github.jonathanxd.koresproxy.KoresProxy;
+import com.github.jonathanxd.koresproxy.gen.direct.ThreadAffineInstance;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ThreadAffineInstanceTest {
+
+    @Test
+    public void threadAffineTest() throws InterruptedException {
+        AtomicInteger created = new AtomicInteger();
+        ThreadAffineInstance affine = new ThreadAffineInstance(() -> {
+            created.incrementAndGet();
+            return new SimpleBuffer();
+        }, Buffer.class);
+
+        Buffer buffer = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Buffer.class)
+                        .addCustom(affine)
+        );
+
+        buffer.append("a");
+        buffer.append("b");
+
+        AtomicReference<String> other = new AtomicReference<>();
+
+        Thread thread = new Thread(() -> {
+            buffer.append("c");
+            other.set(buffer.content());
+        });
+
+        thread.start();
+        thread.join();
+
+        Assert.assertEquals("ab", buffer.content());
+        Assert.assertEquals("c", other.get());
+        Assert.assertEquals(2, created.get());
+
+        affine.remove();
+
+        Assert.assertEquals("", buffer.content());
+        Assert.assertEquals(3, created.get());
+    }
+
+    public interface Buffer {
+        void append(String value);
+
+        String content();
+    }
+
+    public static class SimpleBuffer implements Buffer {
+        private final StringBuilder builder = new StringBuilder();
+
+        @Override
+        public void append(String value) {
+            this.builder.append(value);
+        }
+
+        @Override
+        public String content() {
+            return this.builder.toString();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *      KoresProxy - Proxy Pattern written on top of Kores! <https://github.com/JonathanxD/KoresProxy>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/ & https://github.com/TheRealBuggy/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package test;
+
+import com.github.jonathanxd.koresproxy.KoresProxy;
+import com.github.jonathanxd.koresproxy.gen.direct.ParameterValidation;
+import com.github.jonathanxd.koresproxy.validation.Matches;
+import com.github.jonathanxd.koresproxy.validation.NonNull;
+import com.github.jonathanxd.koresproxy.validation.Range;
+import com.github.jonathanxd.koresproxy.validation.Size;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ValidationTest {
+
+    @Test
+    public void validationTest() {
+        Users users = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Users.class)
+                        .addCustom(ParameterValidation.getInstance())
+                        .invocationHandler((instance, methodInfo, args, proxyData) -> "ok")
+        );
+
+        Assert.assertEquals("ok", users.create("john", 20, Collections.singletonList("admin")));
+
+        this.assertFails(NullPointerException.class, () -> users.create(null, 20, Collections.emptyList()));
+        this.assertFails(IllegalArgumentException.class, () -> users.create("John", 20, Collections.emptyList()));
+        this.assertFails(IllegalArgumentException.class, () -> users.create("john", 200, Collections.emptyList()));
+        this.assertFails(IllegalArgumentException.class, () -> users.create("john", 20, Arrays.asList("a", "b", "c")));
+    }
+
+    @Test
+    public void bigNumberRangeTest() {
+        Amounts amounts = KoresProxy.newProxyInstance(builder ->
+                builder.classLoader(this.getClass().getClassLoader())
+                        .addInterface(Amounts.class)
+                        .addCustom(ParameterValidation.getInstance())
+                        .invocationHandler((instance, methodInfo, args, proxyData) -> "ok")
+        );
+
+        Assert.assertEquals("ok", amounts.decimal(new BigDecimal("2")));
+        Assert.assertEquals("ok", amounts.integer(BigInteger.ONE));
+
+        this.assertFails(IllegalArgumentException.class, () -> amounts.decimal(new BigDecimal("2.5")));
+        this.assertFails(IllegalArgumentException.class, () -> amounts.integer(BigInteger.ONE.shiftLeft(64)));
+    }
+
+    private void assertFails(Class<? extends Throwable> expected, Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (Throwable t) {
+            Assert.assertEquals(expected, t.getClass());
+            return;
+        }
+
+        Assert.fail("Expected " + expected.getSimpleName());
+    }
+
+    public interface Users {
+        String create(@NonNull @Matches("[a-z]+") String name,
+                      @Range(min = 0, max = 150) int age,
+                      @Size(max = 2) List<String> roles);
+    }
+
+    public interface Amounts {
+        String decimal(@Range(max = 2) BigDecimal amount);
+
+        String integer(@Range(max = 2) BigInteger amount);
+    }
+}